@@ -0,0 +1,91 @@
+package main.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the move search of the computer players on a mid-game board. The computer players do
+ * not wait for their minimum turn time.
+ * 
+ * @author sekeller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComputerPlayerBenchmark {
+
+  /**
+   * The size of the dictionary.
+   */
+  @Param({Fixtures.BUNDLED, "20000", "200000"})
+  public String dictionarySize;
+
+  /**
+   * The count of moves before the benchmarked move.
+   */
+  @Param({"10"})
+  public int moveCount;
+
+  /**
+   * The difficulty of the computer player.
+   */
+  @Param({"EASY", "HARD"})
+  public Difficulty difficulty;
+
+  /**
+   * The game in which the computer player chooses its move.
+   */
+  private Scrabble game;
+
+  /**
+   * The computer player which chooses the move.
+   */
+  private ComputerPlayer player;
+
+  /**
+   * Creates the game and the computer player.
+   * 
+   * @throws GameException if the game can not be created
+   */
+  @Setup
+  public void setUp() throws GameException {
+    this.game = Fixtures.createGame(Fixtures.createDictionary(this.dictionarySize), this.moveCount);
+    this.player = new ComputerPlayer(this.game.getCurrentPlayer().getName(), this.difficulty);
+    this.player.setMinTurnTime(0);
+  }
+
+  /**
+   * Chooses a move of the computer player.
+   * 
+   * @return the chosen move
+   */
+  @Benchmark
+  public Move chooseMove() {
+    return this.player.chooseMove(this.game);
+  }
+
+  /**
+   * Generates all placements of the current player.
+   * 
+   * @return the placements
+   */
+  @Benchmark
+  public List<Placement> generate() {
+    return new MoveGenerator(this.game).generate();
+  }
+
+}
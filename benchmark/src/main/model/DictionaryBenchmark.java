@@ -0,0 +1,145 @@
+package main.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the two ways {@link Dictionary#readFile(String)} opens a dictionary file, parsing the
+ * text file and mapping the compiled image, and the lookup of words. The files are written to a
+ * temporary directory, so the registry of the dictionaries is bypassed.
+ * 
+ * @author sekeller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryBenchmark {
+
+  /**
+   * The size of the dictionary.
+   */
+  @Param({Fixtures.BUNDLED, "1000", "20000", "200000"})
+  public String dictionarySize;
+
+  /**
+   * The temporary directory of the files.
+   */
+  private File directory;
+
+  /**
+   * The dictionary file.
+   */
+  private File textFile;
+
+  /**
+   * The compiled image of the dictionary file.
+   */
+  private File imageFile;
+
+  /**
+   * The dictionary which is opened from the image.
+   */
+  private Dictionary dictionary;
+
+  /**
+   * The words which are looked up.
+   */
+  private String[] words;
+
+  /**
+   * The index of the next word.
+   */
+  private int next;
+
+  /**
+   * Writes and compiles the dictionary file.
+   * 
+   * @throws IOException if a file can not be written
+   */
+  @Setup
+  public void setUp() throws IOException {
+    this.directory = Files.createTempDirectory("dictionary-benchmark").toFile();
+
+    if (Fixtures.BUNDLED.equals(this.dictionarySize)) {
+      this.textFile = new File(Dictionary.PATH + Fixtures.BUNDLED_FILENAME);
+    } else {
+      this.textFile =
+          Fixtures.writeDictionaryFile(this.directory, Integer.parseInt(this.dictionarySize));
+    }
+
+    this.imageFile = new File(this.directory, "dictionary" + DictionaryCompiler.IMAGE_EXTENSION);
+    DictionaryCompiler.compile(this.textFile, this.imageFile);
+    this.dictionary = Dictionary.mapImage(this.textFile.getName(), this.imageFile);
+
+    List<String> allWords = this.dictionary.getAllWords();
+    this.words = new String[allWords.size() * 2];
+
+    for (int i = 0; i < allWords.size(); i++) {
+      this.words[2 * i] = allWords.get(i);
+      this.words[2 * i + 1] = allWords.get(i) + "Q";
+    }
+  }
+
+  /**
+   * Deletes the temporary directory.
+   */
+  @TearDown
+  public void tearDown() {
+    for (File file : this.directory.listFiles()) {
+      file.delete();
+    }
+    this.directory.delete();
+  }
+
+  /**
+   * Opens the dictionary by parsing the dictionary file.
+   * 
+   * @return the dictionary
+   */
+  @Benchmark
+  public Dictionary readFileText() {
+    return Dictionary.parseFile(this.textFile.getName(), this.textFile);
+  }
+
+  /**
+   * Opens the dictionary by mapping its image.
+   * 
+   * @return the dictionary
+   * @throws IOException if the image can not be mapped
+   */
+  @Benchmark
+  public Dictionary readFileImage() throws IOException {
+    return Dictionary.mapImage(this.textFile.getName(), this.imageFile);
+  }
+
+  /**
+   * Looks up a word, every second word is not in the dictionary.
+   * 
+   * @return true if the dictionary contains the word
+   */
+  @Benchmark
+  public boolean contains() {
+    String word = this.words[this.next];
+    this.next = (this.next + 1 == this.words.length ? 0 : this.next + 1);
+    return this.dictionary.contains(word);
+  }
+
+}
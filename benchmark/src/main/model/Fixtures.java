@@ -0,0 +1,195 @@
+package main.model;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The Fixtures class creates the dictionaries and games of the benchmarks. Everything is created
+ * from fixed seeds, so every run of a benchmark works on the same words and the same board. The
+ * benchmarks of other packages use the public methods.
+ * 
+ * @author sekeller
+ */
+public final class Fixtures {
+
+  /**
+   * The dictionary size which stands for the bundled dictionary.
+   */
+  static final String BUNDLED = "bundled";
+
+  /**
+   * The filename of the bundled dictionary.
+   */
+  static final String BUNDLED_FILENAME = "java keywords.txt";
+
+  /**
+   * The seed of the synthetic words.
+   */
+  private static final long WORD_SEED = 2021;
+
+  /**
+   * The seed of the tile bag of the games.
+   */
+  private static final long BAG_SEED = 12;
+
+  /**
+   * The minimum length of a synthetic word.
+   */
+  private static final int MIN_WORD_LENGTH = 2;
+
+  /**
+   * The maximum length of a synthetic word.
+   */
+  private static final int MAX_WORD_LENGTH = 8;
+
+  /**
+   * The letters of the standard tile set, each letter as often as it is in the tile set.
+   */
+  private static final char[] LETTERS = createLetters();
+
+  /**
+   * Constructs fixtures. This class is not meant to be instantiated.
+   */
+  private Fixtures() {}
+
+  /**
+   * Returns the letters of the standard tile set, each letter as often as it is in the tile set.
+   * 
+   * @return the letters of the standard tile set
+   */
+  private static char[] createLetters() {
+    TileSet tileSet = TileSet.getStandard();
+    StringBuilder letters = new StringBuilder();
+
+    for (char letter = 'A'; letter <= 'Z'; letter++) {
+      for (int i = 0; i < tileSet.getCount(letter); i++) {
+        letters.append(letter);
+      }
+    }
+
+    return letters.toString().toCharArray();
+  }
+
+  /**
+   * Returns the specified count of distinct synthetic words. The letters of the words are as
+   * frequent as in the standard tile set, so the words can be played with the standard tiles.
+   * 
+   * @param count the specified count
+   * @return the specified count of synthetic words
+   */
+  static List<String> createWords(int count) {
+    Random random = new Random(WORD_SEED);
+    Set<String> words = new LinkedHashSet<>();
+
+    while (words.size() < count) {
+      int length = MIN_WORD_LENGTH + random.nextInt(MAX_WORD_LENGTH - MIN_WORD_LENGTH + 1);
+      char[] word = new char[length];
+
+      for (int i = 0; i < length; i++) {
+        word[i] = LETTERS[random.nextInt(LETTERS.length)];
+      }
+
+      words.add(new String(word));
+    }
+
+    return new ArrayList<>(words);
+  }
+
+  /**
+   * Writes a dictionary file with the specified count of synthetic words to the specified
+   * directory and returns the file.
+   * 
+   * @param directory the specified directory
+   * @param count the specified count
+   * @return the dictionary file
+   * @throws IOException if the file can not be written
+   */
+  static File writeDictionaryFile(File directory, int count) throws IOException {
+    File file = new File(directory, "synthetic-" + count + ".txt");
+
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+      writer.write("Synthetic dictionary\n");
+      writer.write(count + " words\n");
+
+      for (String word : createWords(count)) {
+        writer.write(word + "\tsynthetic word " + word.toLowerCase() + "\n");
+      }
+    }
+
+    return file;
+  }
+
+  /**
+   * Returns the dictionary of the specified size, which is either {@link #BUNDLED} or a count of
+   * synthetic words.
+   * 
+   * @param size the specified size
+   * @return the dictionary of the specified size
+   */
+  public static Dictionary createDictionary(String size) {
+    if (BUNDLED.equals(size)) {
+      return Dictionary.readFile(BUNDLED_FILENAME);
+    }
+
+    TreeMap<String, String> entries = new TreeMap<>();
+
+    for (String word : createWords(Integer.parseInt(size))) {
+      entries.put(word, "synthetic word");
+    }
+
+    return new Dictionary(entries);
+  }
+
+  /**
+   * Returns a game between two computer players with the specified dictionary after the specified
+   * count of moves. The tiles are drawn from a seeded bag and every move plays the placement with
+   * the highest score, so the same dictionary always leads to the same board.
+   * 
+   * @param dictionary the specified dictionary
+   * @param moveCount the specified count of moves
+   * @return a game after the specified count of moves
+   * @throws GameException if a move can not be executed
+   */
+  public static Scrabble createGame(Dictionary dictionary, int moveCount) throws GameException {
+    Scrabble game = new Scrabble(TileSet.getStandard().create(), dictionary, false);
+    game.getTileBag().setSeed(BAG_SEED);
+
+    for (int i = 1; i <= Scrabble.MIN_PLAYER_COUNT; i++) {
+      ComputerPlayer player = new ComputerPlayer("Bot " + i, Difficulty.HARD);
+      player.setMinTurnTime(0);
+      game.addPlayer(player);
+    }
+
+    game.startGame();
+
+    while (game.getMoveCount() < moveCount && game.getGameState() == GameState.PLAY) {
+      Placement best = null;
+
+      for (Placement placement : new MoveGenerator(game).generate()) {
+        if (best == null || placement.getScore() > best.getScore()) {
+          best = placement;
+        }
+      }
+
+      String player = game.getCurrentPlayer().getName();
+
+      if (best == null) {
+        game.executeMoveRequest(MoveRequest.pass(player));
+      } else {
+        game.executeMoveRequest(MoveRequest.playWord(player, best.getWord(),
+            best.getSquareId(), best.getDirection()));
+      }
+    }
+
+    return game;
+  }
+
+}
@@ -0,0 +1,123 @@
+package main.model;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the construction and validation of play word moves. The moves are the placements of
+ * the move generator on a mid-game board, once as they are (valid) and once with their word
+ * reversed (mostly invalid).
+ * 
+ * @author sekeller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayWordBenchmark {
+
+  /**
+   * The size of the dictionary. The bundled dictionary is too small to leave placements on the
+   * board after the moves of the fixture.
+   */
+  @Param({"20000", "200000"})
+  public String dictionarySize;
+
+  /**
+   * The count of moves before the benchmarked moves.
+   */
+  @Param({"10"})
+  public int moveCount;
+
+  /**
+   * The game in which the moves are constructed.
+   */
+  private Scrabble game;
+
+  /**
+   * The placements which are constructed as moves.
+   */
+  private Placement[] placements;
+
+  /**
+   * The reversed words of the placements.
+   */
+  private String[] reversedWords;
+
+  /**
+   * The index of the next placement.
+   */
+  private int next;
+
+  /**
+   * Creates the game and the placements.
+   * 
+   * @throws GameException if the game can not be created
+   */
+  @Setup
+  public void setUp() throws GameException {
+    this.game = Fixtures.createGame(Fixtures.createDictionary(this.dictionarySize), this.moveCount);
+    List<Placement> generated = new MoveGenerator(this.game).generate();
+
+    if (generated.isEmpty()) {
+      throw new IllegalStateException("There is no placement on the board of the fixture.");
+    }
+
+    this.placements = generated.toArray(new Placement[0]);
+    this.reversedWords = new String[this.placements.length];
+
+    for (int i = 0; i < this.placements.length; i++) {
+      this.reversedWords[i] = new StringBuilder(this.placements[i].getWord()).reverse().toString();
+    }
+  }
+
+  /**
+   * Constructs a valid play word move.
+   * 
+   * @return the move
+   */
+  @Benchmark
+  public PlayWord validPlayWord() {
+    Placement placement = this.placements[this.nextIndex()];
+    return new PlayWord(this.game, placement.getWord(), placement.getSquareId(),
+        placement.getDirection());
+  }
+
+  /**
+   * Constructs a play word move with a reversed word.
+   * 
+   * @return the move
+   */
+  @Benchmark
+  public PlayWord reversedPlayWord() {
+    int index = this.nextIndex();
+    Placement placement = this.placements[index];
+    return new PlayWord(this.game, this.reversedWords[index], placement.getSquareId(),
+        placement.getDirection());
+  }
+
+  /**
+   * Returns the index of the next placement.
+   * 
+   * @return the index of the next placement
+   */
+  private int nextIndex() {
+    int index = this.next;
+    this.next = (index + 1 == this.placements.length ? 0 : index + 1);
+    return index;
+  }
+
+}
@@ -0,0 +1,121 @@
+package main.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks copying a game and serializing its turn state, which happens for every game that is
+ * sent over the network.
+ * 
+ * @author sekeller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrabbleCopyBenchmark {
+
+  /**
+   * The size of the dictionary.
+   */
+  @Param({"200000"})
+  public String dictionarySize;
+
+  /**
+   * The count of moves of the game.
+   */
+  @Param({"0", "10", "20"})
+  public int moveCount;
+
+  /**
+   * The game which is copied.
+   */
+  private Scrabble game;
+
+  /**
+   * The serialized turn state of the game.
+   */
+  private byte[] serializedTurnState;
+
+  /**
+   * Creates the game and serializes its turn state.
+   * 
+   * @throws GameException if the game can not be created
+   * @throws IOException if the turn state can not be serialized
+   */
+  @Setup
+  public void setUp() throws GameException, IOException {
+    this.game = Fixtures.createGame(Fixtures.createDictionary(this.dictionarySize), this.moveCount);
+    this.serializedTurnState = this.serializeTurnState();
+  }
+
+  /**
+   * Copies the game.
+   * 
+   * @return the copy
+   */
+  @Benchmark
+  public Scrabble copyGame() {
+    return new Scrabble(this.game);
+  }
+
+  /**
+   * Creates the turn state of the game.
+   * 
+   * @return the turn state
+   */
+  @Benchmark
+  public TurnState createTurnState() {
+    return this.game.getTurnState();
+  }
+
+  /**
+   * Creates and serializes the turn state of the game.
+   * 
+   * @return the serialized turn state
+   * @throws IOException if the turn state can not be serialized
+   */
+  @Benchmark
+  public byte[] serializeTurnState() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(this.game.getTurnState());
+    }
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Deserializes the turn state of the game.
+   * 
+   * @return the turn state
+   * @throws IOException if the turn state can not be deserialized
+   * @throws ClassNotFoundException if a class of the turn state is not found
+   */
+  @Benchmark
+  public TurnState deserializeTurnState() throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(this.serializedTurnState))) {
+      return (TurnState) in.readObject();
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+package main.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import main.model.Fixtures;
+import main.model.GameException;
+import main.model.MoveDelta;
+import main.model.MoveGenerator;
+import main.model.MoveRequest;
+import main.model.Placement;
+import main.model.Scrabble;
+import main.network.message.ChatMessage;
+import main.network.message.LobbyDetailsMessage;
+import main.network.message.Message;
+import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
+import main.network.message.MoveRequestMessage;
+import main.network.message.UpdateGameMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the encoding and decoding of the frames of typical messages with the binary codec and
+ * with the Java serialization. The size of each frame is printed when the benchmark is set up.
+ * 
+ * @author frajwa
+ * 
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+  /**
+   * The size of the dictionary of the game.
+   */
+  private static final String DICTIONARY_SIZE = "20000";
+
+  /**
+   * The count of moves of the game before the messages are created.
+   */
+  private static final int MOVE_COUNT = 10;
+
+  /**
+   * The codec, either binary or serialized.
+   */
+  @Param({"binary", "serialized"})
+  public String codecName;
+
+  /**
+   * The message, which is a move request, a move delta, a chat message, lobby details or a game
+   * update.
+   */
+  @Param({"moveRequest", "moveDelta", "chat", "lobbyDetails", "updateGame"})
+  public String messageName;
+
+  /**
+   * The codec of the frames.
+   */
+  private MessageCodec codec;
+
+  /**
+   * The message which is encoded.
+   */
+  private Message message;
+
+  /**
+   * The content of the frame of the message which is decoded.
+   */
+  private byte[] content;
+
+  /**
+   * Creates the message and its frame.
+   * 
+   * @throws GameException if the game can not be created
+   * @throws IOException if the message can not be encoded
+   */
+  @Setup
+  public void setUp() throws GameException, IOException {
+    this.codec = ("binary".equals(this.codecName) ? new BinaryMessageCodec()
+        : new SerializedMessageCodec());
+    this.message = createMessage(this.messageName);
+    this.message.setLobbyId("lobby");
+
+    ByteBuffer frame = MessageFrames.encode(this.codec, this.message);
+    this.content = Arrays.copyOfRange(frame.array(), MessageFrames.HEADER_LENGTH, frame.limit());
+    System.out.println(this.messageName + " with " + this.codecName + " codec: "
+        + frame.remaining() + " bytes per frame");
+  }
+
+  /**
+   * Returns the message with the specified name.
+   * 
+   * @param name the specified name
+   * @return the message with the specified name
+   * @throws GameException if the game of the message can not be created
+   */
+  private static Message createMessage(String name) throws GameException {
+    switch (name) {
+      case "chat":
+        return new ChatMessage(MessageType.CHAT, "Alice", "Good luck and have fun!", "game");
+      case "lobbyDetails":
+        String[] names = {"Alice", "Bob", "Carol", "Dave"};
+        String[][] statistics = new String[names.length][];
+
+        for (int i = 0; i < names.length; i++) {
+          statistics[i] = new String[] {names[i], "12", "7", "415"};
+        }
+
+        return new LobbyDetailsMessage(MessageType.LOBBYDETAILS, "Server", names, "Lobby",
+            "192.168.0.12", statistics, new boolean[] {true, true, false, false}, names);
+      default:
+        break;
+    }
+
+    Scrabble game = Fixtures.createGame(Fixtures.createDictionary(DICTIONARY_SIZE), MOVE_COUNT);
+    String player = game.getCurrentPlayer().getName();
+    Placement best = null;
+
+    for (Placement placement : new MoveGenerator(game).generate()) {
+      if (best == null || placement.getScore() > best.getScore()) {
+        best = placement;
+      }
+    }
+
+    MoveRequest request = (best == null ? MoveRequest.pass(player) : MoveRequest.playWord(player,
+        best.getWord(), best.getSquareId(), best.getDirection()));
+
+    switch (name) {
+      case "moveRequest":
+        return new MoveRequestMessage(MessageType.SENDWORD, player, request);
+      case "moveDelta":
+        MoveDelta delta = game.executeMoveRequest(request);
+        return new MoveDeltaMessage(MessageType.MOVEDELTA, "Server", delta);
+      case "updateGame":
+        return new UpdateGameMessage(MessageType.UPDATEGAME, "Server", game.getTurnState());
+      default:
+        throw new IllegalArgumentException("Unknown message: " + name);
+    }
+  }
+
+  /**
+   * Encodes the message as a frame.
+   * 
+   * @return the frame
+   * @throws IOException if the message can not be encoded
+   */
+  @Benchmark
+  public ByteBuffer encode() throws IOException {
+    return MessageFrames.encode(this.codec, this.message);
+  }
+
+  /**
+   * Decodes the content of the frame of the message.
+   * 
+   * @return the message
+   * @throws IOException if the content can not be decoded
+   */
+  @Benchmark
+  public Message decode() throws IOException {
+    return MessageFrames.decode(this.codec, this.content);
+  }
+
+}
@@ -13,6 +13,8 @@ import main.gui.JoinGameLobby;
 import main.gui.MainMenu;
 import main.model.GameException;
 import main.model.GameState;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
 import main.model.Scrabble;
 import main.model.TurnState;
 import main.network.BroadcastSender;
@@ -22,7 +24,10 @@ import main.network.message.LeaveGameMessage;
 import main.network.message.LobbyDetailsMessage;
 import main.network.message.Message;
 import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
+import main.network.message.MoveRequestMessage;
 import main.network.message.ReadyMessage;
+import main.network.message.RequestGameMessage;
 import main.network.message.UpdateGameMessage;
 
 /**
@@ -99,7 +104,9 @@ public class ClientController extends NetworkGameController {
   public void connect(MainMenu mm) {
     this.menu = mm;
     try {
-      this.cp = new ClientProtocol(mm.getIp().getText(), this);
+      String lobbyId = mm.getLobbyId().getText().trim();
+      this.cp = new ClientProtocol(mm.getIp().getText(), lobbyId.isEmpty() ? null : lobbyId,
+          this);
       this.cp.start();
 
       Thread.sleep(500);
@@ -334,6 +341,64 @@ public class ClientController extends NetworkGameController {
     }
   }
 
+  /**
+   * Sends the last move to all players.
+   * 
+   * @param moveDelta move that was executed
+   */
+  public void sendMoveDelta(MoveDelta moveDelta) {
+    Message mgMove =
+        new MoveDeltaMessage(MessageType.MOVEDELTA, Profile.getOnlineName(), moveDelta);
+    try {
+      this.cp.sendMessage(mgMove);
+    } catch (IOException e) {
+      ErrorBox error = new ErrorBox();
+      error.displayError("Connection error!");
+    }
+  }
+
+  /**
+   * Sends a move of the client to the host, which executes it and confirms or rejects it.
+   * 
+   * @param moveRequest move of the client
+   */
+  public void sendMoveRequest(MoveRequest moveRequest) {
+    MessageType type;
+    switch (moveRequest.getMoveType()) {
+      case PLAY_WORD:
+        type = MessageType.SENDWORD;
+        break;
+      case CHANGE_TILES:
+        type = MessageType.CHANGETILES;
+        break;
+      case FINISH_GAME:
+        type = MessageType.ENDGAME;
+        break;
+      default:
+        type = MessageType.PASSMOVE;
+    }
+
+    Message mgMove = new MoveRequestMessage(type, Profile.getOnlineName(), moveRequest);
+    try {
+      this.cp.sendMessage(mgMove);
+    } catch (IOException e) {
+      this.gameControl.moveRejected("Connection error!");
+    }
+  }
+
+  /**
+   * Requests the whole game from the host because the game of the client is out of sync.
+   */
+  public void requestGame() {
+    Message mgRequest = new RequestGameMessage(MessageType.REQUESTGAME, Profile.getOnlineName());
+    try {
+      this.cp.sendMessage(mgRequest);
+    } catch (IOException e) {
+      ErrorBox error = new ErrorBox();
+      error.displayError("Connection error!");
+    }
+  }
+
   /**
    * This method is called if the client leaves a running game.
    * The game will be closed for all players.
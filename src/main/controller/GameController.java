@@ -17,6 +17,8 @@ import main.model.GameException;
 import main.model.GameState;
 import main.model.Gameboard;
 import main.model.Move;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
 import main.model.Player;
 import main.model.PlayerType;
 import main.model.Rack;
@@ -203,34 +205,15 @@ public class GameController {
    * Searches for the word with playedWord. Model checks if word exists and proceeds accordingly.
    */
   public void setMove() {
-    boolean result = false;
-
     if (isContiguous()) {
       PlayedWord playedWord = new PlayedWord(gameGui.getSquares(), dragAndDrop.getEditable());
       // System.out.println(playedWord);
 
-      try {
-        game.playWord(playedWord.getWord(), playedWord.getStartPosition(),
-            playedWord.getDirection());
-        result = true;
-      } catch (GameException e1) {
-        error.displayError(e1.getMessage());
-      }
+      this.submitMove(MoveRequest.playWord(game.getCurrentPlayer().getName(),
+          playedWord.getWord(), playedWord.getStartPosition(), playedWord.getDirection()));
     } else {
-      error.displayError("Your tiles are not contiguous.");
+      this.moveRejected("Your tiles are not contiguous.");
     }
-
-    if (!result) {
-      dragAndDrop.revert();
-    }
-
-    if (result && this.isNetwork) {
-      Scrabble copyGame = new Scrabble(this.game);
-      this.netController.sendMove(copyGame.getTurnState());
-    }
-
-    updateAll();
-    dragAndDrop.set();
   }
 
   /**
@@ -239,17 +222,8 @@ public class GameController {
   public void pass() {
     alert.displayAlert("Are you sure you want to pass this round?");
     if (alert.getAnswer()) {
-      try {
-        game.pass();
-        if (this.isNetwork) {
-          Scrabble copyGame = new Scrabble(this.game);
-          this.netController.sendMove(copyGame.getTurnState());
-        }
-        dragAndDrop.revert();
-        updateAll();
-      } catch (GameException e1) {
-        error.displayError(e1.getMessage());
-      }
+      dragAndDrop.revert();
+      this.submitMove(MoveRequest.pass(game.getCurrentPlayer().getName()));
     }
   }
 
@@ -266,16 +240,64 @@ public class GameController {
         ExchangeTilesBox changeBox = new ExchangeTilesBox();
         changeBox.displayExchange(game);
         if (changeBox.getAnswer()) {
-          if (this.isNetwork) {
-            Scrabble copyGame = new Scrabble(this.game);
-            this.netController.sendMove(copyGame.getTurnState());
-          }
-          updateAll();
+          this.submitMove(
+              MoveRequest.changeTiles(game.getCurrentPlayer().getName(), changeBox.getTiles()));
         }
       }
     }
   }
 
+  /**
+   * Executes a move of the player. In a network game the move is only checked here and sent to the
+   * host, which executes it in its game and confirms or rejects it.
+   * 
+   * @param moveRequest move of the player
+   */
+  private void submitMove(MoveRequest moveRequest) {
+    if (this.isNetwork) {
+      try {
+        game.checkMoveRequest(moveRequest);
+      } catch (GameException e) {
+        this.moveRejected(e.getMessage());
+        return;
+      }
+
+      dragAndDrop.setActive(false);
+      confirm.setDisable(true);
+      pass.setDisable(true);
+      change.setDisable(true);
+      this.netController.sendMoveRequest(moveRequest);
+    } else {
+      try {
+        game.executeMoveRequest(moveRequest);
+        this.moveConfirmed();
+      } catch (GameException e) {
+        this.moveRejected(e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * This method is called when the move of the player was executed.
+   */
+  public void moveConfirmed() {
+    updateAll();
+    dragAndDrop.set();
+  }
+
+  /**
+   * This method is called when the move of the player was not executed. The placed tiles return to
+   * the rack.
+   * 
+   * @param reason reason why the move was not executed
+   */
+  public void moveRejected(String reason) {
+    error.displayError(reason);
+    dragAndDrop.revert();
+    updateAll();
+    dragAndDrop.set();
+  }
+
   /**
    * The current player is marked with a blue border and text color. UpdatePlayer changes the
    * current player to the next player and marks them as the new current player.
@@ -425,11 +447,10 @@ public class GameController {
             }
           };
           task.setOnSucceeded(taskFinishEvent -> {
-            updateAll();
             if (this.isNetwork) {
-              Scrabble copyGame = new Scrabble(this.game);
-              this.netController.sendMove(copyGame.getTurnState());
+              this.sendLastMove();
             }
+            updateAll();
           });
           new Thread(task).start();
         }
@@ -438,16 +459,7 @@ public class GameController {
           alert.displayAlert("There has been " + game.getScorelessMoveCount()
               + " scoreless moves.\nDo you want to end the game?");
           if (alert.getAnswer()) {
-            try {
-              game.finishGame();
-              updateAll();
-              if (this.isNetwork) {
-                Scrabble copyGame = new Scrabble(this.game);
-                this.netController.sendMove(copyGame.getTurnState());
-              }
-            } catch (GameException e) {
-              error.displayError(e.getMessage());
-            }
+            this.submitMove(MoveRequest.finishGame(me.getName()));
           }
         }
       }
@@ -455,4 +467,16 @@ public class GameController {
 
 
   }
+
+  /**
+   * Sends the last move of the game to the other players. Nothing is sent if the last move was not
+   * executed.
+   */
+  private void sendLastMove() {
+    MoveDelta moveDelta = this.game.getLastMoveDelta();
+
+    if (moveDelta != null && moveDelta.getSequenceNumber() == this.game.getMoveCount()) {
+      this.netController.sendMoveDelta(moveDelta);
+    }
+  }
 }
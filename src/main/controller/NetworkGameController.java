@@ -3,7 +3,10 @@ package main.controller;
 import javafx.application.Platform;
 import main.gui.ErrorBox;
 import main.gui.InGameNetwork;
+import main.model.GameException;
 import main.model.GameState;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
 import main.model.TurnState;
 import main.network.message.ChatMessage;
 
@@ -30,6 +33,9 @@ public abstract class NetworkGameController {
   public abstract void sendChatLobby(String text);
   public abstract void sendChatGame(String text);
   public abstract void sendMove(TurnState game);
+  public abstract void sendMoveDelta(MoveDelta moveDelta);
+  public abstract void sendMoveRequest(MoveRequest moveRequest);
+  public abstract void requestGame();
   public abstract void sendBackToLobby();
   public abstract void setInGame(InGameNetwork inGame);
   
@@ -45,6 +51,49 @@ public abstract class NetworkGameController {
     });
   }
   
+  /**
+   * Executes a move of another player in the running network game.
+   * If the game is out of sync afterwards, the whole game is requested from the host.
+   * 
+   * @param moveDelta move of the other player
+   */
+  public void receiveMoveDelta(MoveDelta moveDelta) {
+    Platform.runLater(() -> {
+      try {
+        this.gameControl.getGame().applyMoveDelta(moveDelta);
+      } catch (GameException e) {
+        this.requestGame();
+      }
+      this.gameControl.updateAll();
+    });
+  }
+
+  /**
+   * Executes the own move after the host confirmed it.
+   * If the game is out of sync afterwards, the whole game is requested from the host.
+   * 
+   * @param moveDelta own move that the host executed
+   */
+  public void receiveMoveConfirmed(MoveDelta moveDelta) {
+    Platform.runLater(() -> {
+      try {
+        this.gameControl.getGame().applyMoveDelta(moveDelta);
+      } catch (GameException e) {
+        this.requestGame();
+      }
+      this.gameControl.moveConfirmed();
+    });
+  }
+
+  /**
+   * Returns the placed tiles to the rack after the host rejected the own move.
+   * 
+   * @param reason reason why the move was rejected
+   */
+  public void receiveMoveRejected(String reason) {
+    Platform.runLater(() -> this.gameControl.moveRejected(reason));
+  }
+
   /**
    * This method is called when a player leaves the game.
    * If the game was still running, all players will return to their lobby.
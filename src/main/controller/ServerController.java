@@ -4,7 +4,10 @@ import javafx.application.Platform;
 import main.database.Profile;
 import main.gui.HostGameLobby;
 import main.gui.InGameNetwork;
+import main.model.GameException;
 import main.model.GameState;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
 import main.model.Scrabble;
 import main.model.TurnState;
 import main.network.Server;
@@ -17,6 +20,8 @@ import main.network.message.LeaveGameMessage;
 import main.network.message.LobbyDetailsMessage;
 import main.network.message.Message;
 import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
+import main.network.message.RejectWordMessage;
 import main.network.message.StartGameMessage;
 import main.network.message.UpdateGameMessage;
 
@@ -426,6 +431,89 @@ public class ServerController extends NetworkGameController {
     this.server.sendToAll(msg);
   }
 
+  /**
+   * Sends the last move to all players.
+   * 
+   * @param moveDelta move that was executed
+   */
+  
+  public void sendMoveDelta(MoveDelta moveDelta) {
+    Message msg = new MoveDeltaMessage(MessageType.MOVEDELTA, Profile.getName(), moveDelta);
+    this.server.sendToAll(msg);
+  }
+
+  /**
+   * Executes a move of the host and sends it to all players.
+   * 
+   * @param moveRequest move of the host
+   */
+  
+  public void sendMoveRequest(MoveRequest moveRequest) {
+    try {
+      MoveDelta moveDelta = this.gameControl.getGame().executeMoveRequest(moveRequest);
+      this.sendMoveDelta(moveDelta);
+      this.gameControl.moveConfirmed();
+    } catch (GameException e) {
+      this.gameControl.moveRejected(e.getMessage());
+    }
+  }
+
+  /**
+   * Executes a move that a client sent in the game of the host. The client gets a confirmation
+   * with the executed move and all other players get the move. The client gets the reason if the
+   * move is not valid.
+   * 
+   * @param player name of the client
+   * @param moveRequest move of the client
+   */
+  
+  public void receiveMoveRequest(String player, MoveRequest moveRequest) {
+    Platform.runLater(() -> {
+      if (!moveRequest.getPlayer().equals(player)) {
+        this.server.sendToOne(new RejectWordMessage(MessageType.REJECTWORD, Profile.getName(),
+            "It is not the turn of " + player + "!"), player);
+        return;
+      }
+
+      try {
+        MoveDelta moveDelta = this.gameControl.getGame().executeMoveRequest(moveRequest);
+        this.server.sendToOne(
+            new MoveDeltaMessage(MessageType.CONFIRMWORD, Profile.getName(), moveDelta), player);
+        this.server.sendToAllBut(
+            new MoveDeltaMessage(MessageType.MOVEDELTA, Profile.getName(), moveDelta), player);
+        this.gameControl.updateAll();
+      } catch (GameException e) {
+        this.server.sendToOne(
+            new RejectWordMessage(MessageType.REJECTWORD, Profile.getName(), e.getMessage()),
+            player);
+      }
+    });
+  }
+
+  /**
+   * Sends the whole game to all players.
+   * This method is called when the game of the host is out of sync, so the game of the host
+   * replaces the games of all clients.
+   */
+  
+  public void requestGame() {
+    this.sendMove(this.gameControl.getGame().getTurnState());
+  }
+
+  /**
+   * Sends the whole game to the specified player whose game is out of sync.
+   * 
+   * @param player name of the player
+   */
+  
+  public void sendGame(String player) {
+    Platform.runLater(() -> {
+      Message msg = new UpdateGameMessage(MessageType.UPDATEGAME, Profile.getName(),
+          this.gameControl.getGame().getTurnState());
+      this.server.sendToOne(msg, player);
+    });
+  }
+
   /**
    * Updates lobby after a Scrabble game was played.
    * The ready array and the statistics table will be updated.
@@ -737,23 +737,25 @@ public class AltGuiController extends Application {
       Label headline = main.getHeadline();
       ComboBox<String> availableIp = main.getAvailableIp();
       TextField ip = main.getIp();
+      TextField lobbyId = main.getLobbyId();
       Button joinedGame = main.getJoinedButton();
       Rectangle line = main.getLine();
       GridPane.setConstraints(headline, 0, 0);
       GridPane.setConstraints(line, 0, 1);
       GridPane.setConstraints(availableIp, 0, 2);
       GridPane.setConstraints(ip, 0, 3);
-      GridPane.setConstraints(joinedGame, 0, 4);
+      GridPane.setConstraints(lobbyId, 0, 4);
+      GridPane.setConstraints(joinedGame, 0, 5);
       clientController.setMenu(main);
       clientController.refreshServer();
 
-      newgp2.getChildren().addAll(headline, line, availableIp, ip, joinedGame);
+      newgp2.getChildren().addAll(headline, line, availableIp, ip, lobbyId, joinedGame);
       headline.setTranslateY(-40);
       newgp2.getChildren().add(main.getBackButton());
       main.getBackButton().setTranslateX(width * -0.0365); // -70
       main.getBackButton().setTranslateY(width * -0.0286); // -55
 
-      Button back = (Button) newgp2.getChildren().get(5);
+      Button back = (Button) newgp2.getChildren().get(6);
       back.setOnAction(actEvent -> {
         newgp2.getChildren().removeAll(newgp2.getChildren());
         GridPane.setConstraints(main.getHeadline(), 0, 0);
@@ -766,7 +768,7 @@ public class AltGuiController extends Application {
             main.getJoinButton(), main.getTutorialButton());
       });
 
-      Button joined = (Button) newgp2.getChildren().get(4);
+      Button joined = (Button) newgp2.getChildren().get(5);
       joined.setOnAction(aeve -> {
         root.getChildren().removeAll(root.getChildren());
         root.getChildren().add(joinLobby.getStackPane());
@@ -18,6 +18,7 @@ import javafx.scene.shape.Rectangle;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import main.model.GameException;
+import main.model.MoveRequest;
 import main.model.Rack;
 import main.model.Scrabble;
 import main.model.Tile;
@@ -90,6 +91,11 @@ public class ExchangeTilesBox {
    */
   private boolean answer = false;
 
+  /**
+   * The tiles the user selected to exchange.
+   */
+  private Collection<Tile> selectedTiles = new ArrayList<>();
+
   /**
    * Return whether user clicked on cancel or save.
    * 
@@ -99,6 +105,15 @@ public class ExchangeTilesBox {
     return this.answer;
   }
 
+  /**
+   * Returns the tiles the user selected to exchange.
+   * 
+   * @return selected tiles.
+   */
+  public Collection<Tile> getTiles() {
+    return this.selectedTiles;
+  }
+
   /**
    * Initializes the base/background.
    */
@@ -232,7 +247,9 @@ public class ExchangeTilesBox {
         }
 
         try {
-          game.changeTiles(tiles);
+          game.checkMoveRequest(
+              MoveRequest.changeTiles(game.getCurrentPlayer().getName(), tiles));
+          selectedTiles = tiles;
           clicked = new boolean[] {false, false, false, false, false, false, false};
           answer = true;
           dialog.close();
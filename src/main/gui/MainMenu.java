@@ -117,6 +117,11 @@ public class MainMenu extends Application {
    */
   private TextField ipAddress;
 
+  /**
+   * The TextField to enter the id of the lobby on a dedicated server in.
+   */
+  private TextField lobbyId;
+
   /**
    * The ComboBox to choose an IP address from.
    */
@@ -201,6 +206,15 @@ public class MainMenu extends Application {
     return this.ipAddress;
   }
 
+  /**
+   * Returns the TextField for the id of the lobby on a dedicated server.
+   *
+   * @return the TextField for the lobby id.
+   */
+  public TextField getLobbyId() {
+    return this.lobbyId;
+  }
+
   /**
    * Returns the ErrorBox object for this class.
    *
@@ -555,6 +569,13 @@ public class MainMenu extends Application {
     ipAddress.setPrefWidth(width * 0.229); // 330
     ipAddress.setPrefHeight(width * 0.04167); // 60-height * 0.0667
 
+    lobbyId = new TextField();
+    lobbyId.setPromptText("Lobby (optional)");
+    lobbyId.setFocusTraversable(false);
+    lobbyId.setStyle(ipAddress.getStyle());
+    lobbyId.setPrefWidth(width * 0.229); // 330
+    lobbyId.setPrefHeight(width * 0.04167); // 60-height * 0.0667
+
     availableIp = new ComboBox<String>();
     availableIp.setPromptText("Available IP-addresses");
     availableIp.setStyle(
@@ -569,15 +590,16 @@ public class MainMenu extends Application {
       root.getChildren().removeAll(profile, logout);
       GridPane.setConstraints(availableIp, 0, 2);
       GridPane.setConstraints(ipAddress, 0, 3);
-      GridPane.setConstraints(joinedGame, 0, 4);
-      pane.getChildren().addAll(ipAddress, availableIp, joinedGame);
+      GridPane.setConstraints(lobbyId, 0, 4);
+      GridPane.setConstraints(joinedGame, 0, 5);
+      pane.getChildren().addAll(ipAddress, lobbyId, availableIp, joinedGame);
       root.getChildren().add(back);
       back.setTranslateX(-(width * 0.132)); // -190
       back.setTranslateY(-(width * 0.04167)); // 60-height * 0.0667
     });
 
     back.setOnAction(actionEvent -> {
-      pane.getChildren().removeAll(ipAddress, availableIp, joinedGame);
+      pane.getChildren().removeAll(ipAddress, lobbyId, availableIp, joinedGame);
       GridPane.setConstraints(hostGame, 0, 2);
       GridPane.setConstraints(joinGame, 0, 3);
       GridPane.setConstraints(playTutorial, 0, 4);
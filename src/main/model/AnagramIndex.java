@@ -0,0 +1,312 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The AnagramIndex class finds the words of a dictionary which can be formed from a set of
+ * letters, for example the tiles of a rack and one or two letters on the gameboard. The words are
+ * grouped by their signature, which are their letters in alphabetical order, and the signatures
+ * are grouped by the mask of the letters which they contain. A lookup only visits the masks which
+ * can be formed from the letters, where each joker adds one letter which is not among them.
+ * 
+ * @author sekeller
+ */
+public final class AnagramIndex {
+
+  /**
+   * The distinct letter masks of the signatures in ascending order. The bit i of a mask is set if
+   * the signature contains the letter 'A' + i.
+   */
+  private final int[] masks;
+
+  /**
+   * The index of the first signature of each mask. The signatures of the mask i are stored from
+   * the first signature of the mask i (inclusive) to the first signature of the mask i + 1
+   * (exclusive).
+   */
+  private final int[] maskStarts;
+
+  /**
+   * The distinct signatures of the words sorted by their mask.
+   */
+  private final String[] signatures;
+
+  /**
+   * The index of the first word of each signature in the same manner as the mask starts.
+   */
+  private final int[] signatureStarts;
+
+  /**
+   * The words sorted by their signature.
+   */
+  private final String[] words;
+
+  /**
+   * Constructs an anagram index of the words of the specified word graph.
+   * 
+   * @param wordGraph the specified word graph
+   */
+  AnagramIndex(WordGraph wordGraph) {
+    List<String> allWords = wordGraph.getAllWords();
+    Entry[] entries = new Entry[allWords.size()];
+
+    for (int i = 0; i < entries.length; i++) {
+      entries[i] = new Entry(allWords.get(i));
+    }
+
+    Arrays.sort(entries);
+
+    this.words = new String[entries.length];
+    List<String> signatures = new ArrayList<>();
+    int[] signatureStarts = new int[entries.length + 1];
+    int[] masks = new int[entries.length];
+    int[] maskStarts = new int[entries.length + 1];
+    int maskCount = 0;
+
+    for (int i = 0; i < entries.length; i++) {
+      Entry entry = entries[i];
+      this.words[i] = entry.word;
+
+      if (i > 0 && entry.signature.equals(entries[i - 1].signature)) {
+        continue;
+      }
+
+      if (maskCount == 0 || masks[maskCount - 1] != entry.mask) {
+        masks[maskCount] = entry.mask;
+        maskStarts[maskCount++] = signatures.size();
+      }
+
+      signatureStarts[signatures.size()] = i;
+      signatures.add(entry.signature);
+    }
+
+    signatureStarts[signatures.size()] = entries.length;
+    maskStarts[maskCount] = signatures.size();
+
+    this.signatures = signatures.toArray(new String[0]);
+    this.signatureStarts = Arrays.copyOf(signatureStarts, this.signatures.length + 1);
+    this.masks = Arrays.copyOf(masks, maskCount);
+    this.maskStarts = Arrays.copyOf(maskStarts, maskCount + 1);
+  }
+
+  /**
+   * Returns the words which can be formed from the specified letters. Each letter is used at most
+   * once and a joker '*' stands for any letter. Letters other than 'A' to 'Z' and '*' are ignored.
+   * 
+   * @param letters the specified letters
+   * @return the words which can be formed from the specified letters
+   */
+  public List<String> getWords(String letters) {
+    int[] counts = new int[LeaveTable.SYMBOL_COUNT];
+
+    for (int i = 0; i < letters.length(); i++) {
+      addCount(counts, letters.charAt(i));
+    }
+
+    return this.getWords(counts);
+  }
+
+  /**
+   * Returns the words which can be formed from the tiles of the specified rack and the specified
+   * letters on the gameboard. Each tile and each letter is used at most once.
+   * 
+   * @param rack the specified rack
+   * @param boardLetters the specified letters on the gameboard
+   * @return the words which can be formed from the tiles and the letters
+   */
+  public List<String> getWords(Rack rack, String boardLetters) {
+    int[] counts = new int[LeaveTable.SYMBOL_COUNT];
+
+    for (int i = 0; i < rack.size(); i++) {
+      addCount(counts, rack.getTile(i).getLetter());
+    }
+
+    for (int i = 0; i < boardLetters.length(); i++) {
+      addCount(counts, boardLetters.charAt(i));
+    }
+
+    return this.getWords(counts);
+  }
+
+  /**
+   * Returns the words which can be formed from the letters with the specified counts. The letters
+   * are 0 to 25 and the joker is {@link LeaveTable#JOKER}.
+   * 
+   * @param counts the specified counts
+   * @return the words which can be formed from the letters
+   */
+  List<String> getWords(int[] counts) {
+    List<String> result = new ArrayList<>();
+    int available = 0;
+
+    for (int letter = 0; letter < WordGraph.LETTER_COUNT; letter++) {
+      if (counts[letter] > 0) {
+        available |= 1 << letter;
+      }
+    }
+
+    // every submask of the available letters, including the empty mask
+    int mask = available;
+
+    while (true) {
+      this.collectWithJokers(mask, available, 0, counts[LeaveTable.JOKER], counts, result);
+
+      if (mask == 0) {
+        break;
+      }
+
+      mask = (mask - 1) & available;
+    }
+
+    return result;
+  }
+
+  /**
+   * Collects the words of the specified mask and of every mask which adds at most the specified
+   * number of jokers as letters from the specified first letter on which are not available.
+   * 
+   * @param mask the specified mask
+   * @param available the mask of the available letters
+   * @param firstLetter the specified first letter
+   * @param jokers the specified number of jokers
+   * @param counts the counts of the letters and the joker
+   * @param result the list of the collected words
+   */
+  private void collectWithJokers(int mask, int available, int firstLetter, int jokers,
+      int[] counts, List<String> result) {
+    this.collect(mask, counts, result);
+
+    if (jokers == 0) {
+      return;
+    }
+
+    for (int letter = firstLetter; letter < WordGraph.LETTER_COUNT; letter++) {
+      if ((available & (1 << letter)) == 0) {
+        this.collectWithJokers(mask | (1 << letter), available, letter + 1, jokers - 1, counts,
+            result);
+      }
+    }
+  }
+
+  /**
+   * Collects the words of the specified mask which can be formed from the letters with the
+   * specified counts.
+   * 
+   * @param mask the specified mask
+   * @param counts the counts of the letters and the joker
+   * @param result the list of the collected words
+   */
+  private void collect(int mask, int[] counts, List<String> result) {
+    int index = Arrays.binarySearch(this.masks, mask);
+
+    if (index < 0) {
+      return;
+    }
+
+    for (int i = this.maskStarts[index]; i < this.maskStarts[index + 1]; i++) {
+      if (isFormable(this.signatures[i], counts)) {
+        for (int j = this.signatureStarts[i]; j < this.signatureStarts[i + 1]; j++) {
+          result.add(this.words[j]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns true if the specified signature can be formed from the letters with the specified
+   * counts. The jokers make up for the missing letters.
+   * 
+   * @param signature the specified signature
+   * @param counts the counts of the letters and the joker
+   * @return true if the specified signature can be formed from the letters
+   */
+  private static boolean isFormable(String signature, int[] counts) {
+    int missing = 0;
+    int i = 0;
+
+    // equal letters of a signature are next to each other
+    while (i < signature.length()) {
+      char letter = signature.charAt(i);
+      int start = i;
+
+      while (i < signature.length() && signature.charAt(i) == letter) {
+        i++;
+      }
+
+      missing += Math.max(0, i - start - counts[letter - 'A']);
+    }
+
+    return missing <= counts[LeaveTable.JOKER];
+  }
+
+  /**
+   * Adds the specified letter to the specified counts if it is a letter from 'A' to 'Z' or the
+   * joker '*'.
+   * 
+   * @param counts the specified counts
+   * @param letter the specified letter
+   */
+  private static void addCount(int[] counts, char letter) {
+    if (letter == '*') {
+      counts[LeaveTable.JOKER]++;
+    } else if (letter >= 'A' && letter <= 'Z') {
+      counts[letter - 'A']++;
+    }
+  }
+
+  /**
+   * The Entry class represents a word with its signature and its mask while the index is built.
+   * Entries are sorted by their mask, then by their signature and then by their word.
+   */
+  private static class Entry implements Comparable<Entry> {
+
+    /**
+     * The word of the entry.
+     */
+    private final String word;
+
+    /**
+     * The signature of the word.
+     */
+    private final String signature;
+
+    /**
+     * The letter mask of the word.
+     */
+    private final int mask;
+
+    /**
+     * Constructs an entry for the specified word.
+     * 
+     * @param word the specified word
+     */
+    private Entry(String word) {
+      char[] letters = word.toCharArray();
+      Arrays.sort(letters);
+      int mask = 0;
+
+      for (char letter : letters) {
+        mask |= 1 << (letter - 'A');
+      }
+
+      this.word = word;
+      this.signature = new String(letters);
+      this.mask = mask;
+    }
+
+    @Override
+    public int compareTo(Entry other) {
+      int result = Integer.compare(this.mask, other.mask);
+
+      if (result == 0) {
+        result = this.signature.compareTo(other.signature);
+      }
+
+      return (result == 0 ? this.word.compareTo(other.word) : result);
+    }
+
+  }
+
+}
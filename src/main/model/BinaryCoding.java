@@ -0,0 +1,251 @@
+package main.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The BinaryCoding class writes and reads the compact binary values which the move requests, the
+ * move deltas, the game snapshots and the binary message codec are made of. Integers are written
+ * as variable-length integers with seven bits per byte, so small numbers such as lengths and tile
+ * ids take one or two bytes. Strings and arrays which may be null are written with their length
+ * plus one and null as 0.
+ * 
+ * @author sekeller
+ */
+public final class BinaryCoding {
+
+  /**
+   * A constant for the maximum length of a string or an array which is read.
+   */
+  public static final int MAX_LENGTH = 1 << 20;
+
+  /**
+   * This class is not meant to be instantiated.
+   */
+  private BinaryCoding() {}
+
+  /**
+   * Writes the specified non-negative integer as a variable-length integer.
+   * 
+   * @param out the specified output
+   * @param value the specified integer
+   * @throws IOException if the integer can not be written
+   */
+  public static void writeVarInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    out.writeByte(value);
+  }
+
+  /**
+   * Reads a non-negative variable-length integer.
+   * 
+   * @param in the specified input
+   * @return the integer which was read
+   * @throws IOException if the integer can not be read or is too large
+   */
+  public static int readVarInt(DataInput in) throws IOException {
+    int value = 0;
+
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        if (value < 0) {
+          throw new IOException("Invalid variable-length integer.");
+        }
+
+        return value;
+      }
+    }
+
+    throw new IOException("Invalid variable-length integer.");
+  }
+
+  /**
+   * Writes the specified non-negative long as a variable-length integer.
+   * 
+   * @param out the specified output
+   * @param value the specified long
+   * @throws IOException if the long can not be written
+   */
+  public static void writeVarLong(DataOutput out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) (value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+
+    out.writeByte((int) value);
+  }
+
+  /**
+   * Reads a non-negative variable-length long.
+   * 
+   * @param in the specified input
+   * @return the long which was read
+   * @throws IOException if the long can not be read or is too large
+   */
+  public static long readVarLong(DataInput in) throws IOException {
+    long value = 0;
+
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+
+      if ((b & 0x80) == 0) {
+        if (value < 0) {
+          throw new IOException("Invalid variable-length integer.");
+        }
+
+        return value;
+      }
+    }
+
+    throw new IOException("Invalid variable-length integer.");
+  }
+
+  /**
+   * Writes the specified length of a string or an array which may be null.
+   * 
+   * @param out the specified output
+   * @param length the specified length or -1 for null
+   * @throws IOException if the length can not be written
+   */
+  public static void writeLength(DataOutput out, int length) throws IOException {
+    writeVarInt(out, length + 1);
+  }
+
+  /**
+   * Reads the length of a string or an array which may be null.
+   * 
+   * @param in the specified input
+   * @return the length which was read or -1 for null
+   * @throws IOException if the length can not be read or is too large
+   */
+  public static int readLength(DataInput in) throws IOException {
+    int length = readVarInt(in) - 1;
+
+    if (length > MAX_LENGTH) {
+      throw new IOException("Invalid length: " + length);
+    }
+
+    return length;
+  }
+
+  /**
+   * Writes the specified string as UTF-8 bytes. The string may be null.
+   * 
+   * @param out the specified output
+   * @param value the specified string
+   * @throws IOException if the string can not be written
+   */
+  public static void writeString(DataOutput out, String value) throws IOException {
+    if (value == null) {
+      writeLength(out, -1);
+      return;
+    }
+
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    writeLength(out, bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a string which may be null.
+   * 
+   * @param in the specified input
+   * @return the string which was read
+   * @throws IOException if the string can not be read
+   */
+  public static String readString(DataInput in) throws IOException {
+    int length = readLength(in);
+
+    if (length < 0) {
+      return null;
+    }
+
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writes the specified array of non-negative integers. The array may be null.
+   * 
+   * @param out the specified output
+   * @param values the specified array
+   * @throws IOException if the array can not be written
+   */
+  public static void writeVarInts(DataOutput out, int[] values) throws IOException {
+    if (values == null) {
+      writeLength(out, -1);
+      return;
+    }
+
+    writeLength(out, values.length);
+
+    for (int value : values) {
+      writeVarInt(out, value);
+    }
+  }
+
+  /**
+   * Reads an array of non-negative integers which may be null.
+   * 
+   * @param in the specified input
+   * @return the array which was read
+   * @throws IOException if the array can not be read
+   */
+  public static int[] readVarInts(DataInput in) throws IOException {
+    int length = readLength(in);
+
+    if (length < 0) {
+      return null;
+    }
+
+    int[] values = new int[length];
+
+    for (int i = 0; i < length; i++) {
+      values[i] = readVarInt(in);
+    }
+
+    return values;
+  }
+
+  /**
+   * Writes the ordinal of the specified constant of an enum. The constant may be null.
+   * 
+   * @param out the specified output
+   * @param value the specified constant
+   * @throws IOException if the ordinal can not be written
+   */
+  public static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+    writeVarInt(out, (value == null ? 0 : value.ordinal() + 1));
+  }
+
+  /**
+   * Reads a constant of the enum with the specified constants which may be null.
+   * 
+   * @param <E> the type of the enum
+   * @param in the specified input
+   * @param values the specified constants of the enum
+   * @return the constant which was read
+   * @throws IOException if the constant can not be read or the ordinal is not valid
+   */
+  public static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+    int ordinal = readVarInt(in) - 1;
+
+    if (ordinal >= values.length) {
+      throw new IOException("Invalid ordinal: " + ordinal);
+    }
+
+    return (ordinal < 0 ? null : values[ordinal]);
+  }
+
+}
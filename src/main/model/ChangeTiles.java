@@ -2,6 +2,7 @@ package main.model;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 
 /**
  * The ChangeTiles class represents a move to exchange tiles.
@@ -30,6 +31,22 @@ public class ChangeTiles extends Move {
     this.init();
   }
 
+  /**
+   * Constructs a change tiles move of the specified player at the specified time with the
+   * specified tiles which was already executed.
+   * 
+   * @param player the specified player
+   * @param time the specified time in milliseconds
+   * @param tiles the specified tiles
+   */
+  ChangeTiles(String player, long time, Collection<Tile> tiles) {
+    super();
+
+    this.player = player;
+    this.time = time;
+    this.tiles = tiles;
+  }
+
   /**
    * Constructs a copy of the specified change tiles move.
    * 
@@ -69,9 +86,14 @@ public class ChangeTiles extends Move {
     Rack rack = this.game.getCurrentPlayer().getRack();
     rack.removeAllTiles(this.tiles);
 
+    for (Tile tile : this.tiles) {
+      this.game.updateRackHash(tile, false);
+    }
+
     while (!rack.isFull() && !tileBag.isEmpty()) {
       Tile tile = tileBag.removeTile();
       rack.addTile(tile);
+      this.game.updateRackHash(tile, true);
     }
 
     tileBag.addAllTiles(this.tiles);
@@ -109,6 +131,11 @@ public class ChangeTiles extends Move {
       return;
     }
 
+    if (new HashSet<>(this.tiles).size() != this.tiles.size()) {
+      this.gameException = new GameException("A tile is selected more than once!");
+      return;
+    }
+
     Rack rack = this.game.getCurrentPlayer().getRack();
 
     if (this.tiles.size() > rack.size()) {
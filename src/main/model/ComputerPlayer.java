@@ -1,8 +1,10 @@
 package main.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The ComputerPlayer class represents a computer player.
@@ -18,11 +20,32 @@ public class ComputerPlayer extends Player {
    */
   private static final long MIN_TURN_TIME = 3_000;
 
+  /**
+   * A constant for the default time budget of the search in milliseconds.
+   */
+  private static final long TIME_BUDGET = 3_000;
+
+  /**
+   * A constant for the share of the remaining time which the search may use at most. The search
+   * may use a quarter of the remaining time.
+   */
+  private static final int REMAINING_TIME_SHARE = 4;
+
   /**
    * The difficulty of the computer player.
    */
   private Difficulty difficulty;
 
+  /**
+   * The minimum turn time of the computer player in milliseconds.
+   */
+  private long minTurnTime = MIN_TURN_TIME;
+
+  /**
+   * The time budget of the search of the computer player in milliseconds.
+   */
+  private long timeBudget = TIME_BUDGET;
+
   /**
    * Constructs a computer player with the specified name and the specified difficulty.
    * 
@@ -44,6 +67,8 @@ public class ComputerPlayer extends Player {
     super(original);
 
     this.difficulty = original.difficulty;
+    this.minTurnTime = original.minTurnTime;
+    this.timeBudget = original.timeBudget;
   }
 
   /**
@@ -55,6 +80,58 @@ public class ComputerPlayer extends Player {
     return this.difficulty;
   }
 
+  /**
+   * Sets the minimum turn time of this computer player to the specified time. The computer player
+   * waits until the minimum turn time is over before it returns its move. A minimum turn time of 0
+   * turns the waiting off.
+   * 
+   * @param minTurnTime the specified minimum turn time in milliseconds
+   */
+  public void setMinTurnTime(long minTurnTime) {
+    this.minTurnTime = minTurnTime;
+  }
+
+  /**
+   * Sets the time budget of the search of this computer player to the specified time. When the
+   * time budget is over, the best move which was found so far is chosen. The search never uses
+   * more than a quarter of the remaining time of the turn. A time budget of 0 turns the budget off,
+   * so only the remaining time limits the search.
+   * 
+   * @param timeBudget the specified time budget in milliseconds
+   */
+  public void setTimeBudget(long timeBudget) {
+    this.timeBudget = timeBudget;
+  }
+
+  /**
+   * Returns the minimum turn time of this computer player in milliseconds.
+   * 
+   * @return the minimum turn time of this computer player in milliseconds
+   */
+  long getMinTurnTime() {
+    return this.minTurnTime;
+  }
+
+  /**
+   * Returns the time budget of the search of this computer player in milliseconds.
+   * 
+   * @return the time budget of the search of this computer player in milliseconds
+   */
+  long getTimeBudget() {
+    return this.timeBudget;
+  }
+
+  /**
+   * Returns the time budget of the search in the specified game in milliseconds.
+   * 
+   * @param game the specified game
+   * @return the time budget of the search in the specified game in milliseconds
+   */
+  private long getTimeBudget(Scrabble game) {
+    long budget = game.getRemainingTime() / REMAINING_TIME_SHARE;
+    return (this.timeBudget > 0 ? Math.min(budget, this.timeBudget) : budget);
+  }
+
   /**
    * Returns a move for the specified game.
    * 
@@ -62,6 +139,8 @@ public class ComputerPlayer extends Player {
    * @return a move for the specified game
    */
   public Move chooseMove(Scrabble game) {
+    long deadline = System.nanoTime() + this.getTimeBudget(game) * 1_000_000;
+
     // finish the game when you win
     Move move = null;
 
@@ -90,13 +169,37 @@ public class ComputerPlayer extends Player {
     }
 
     // search for a valid move
+    Placement placement = null;
+    PlayWord playWord = null;
+
     if (move == null) {
-      move = this.getValidPlayWordMove(game);
+      placement = this.getBestPlacement(game, deadline);
+
+      if (placement != null) {
+        int status = new PlayWordValidator().validate(game, placement.getWord(),
+            placement.getRow(), placement.getCol(), placement.getDirection());
+
+        if (status == PlayWordValidator.VALID) {
+          playWord = placement.toMove(game);
+        } else {
+          placement = null;
+        }
+      }
+    }
+
+    // change tiles when there is no valid move or the exchange is worth more than the move
+    if (move == null && game.getGameState() == GameState.PLAY) {
+      ExchangeEvaluator evaluator = new ExchangeEvaluator(game);
+      Collection<Tile> tiles = evaluator.getBestTiles();
+
+      if (tiles != null && (placement == null || (this.difficulty.isLeaveEvaluated()
+          && evaluator.getBestEquity() > evaluator.getEquity(placement)))) {
+        move = new ChangeTiles(game, tiles);
+      }
     }
 
-    // change tiles when there is no valid move or ...
     if (move == null) {
-      // TODO
+      move = playWord;
     }
 
     // pass when there is no other option
@@ -106,7 +209,7 @@ public class ComputerPlayer extends Player {
 
     // Simulate thinking ...
     long elapsedTime = Scrabble.TIME_LIMIT - game.getRemainingTime();
-    long sleepTime = MIN_TURN_TIME - elapsedTime;
+    long sleepTime = this.minTurnTime - elapsedTime;
 
     if (game.getGameState() == GameState.PLAY && sleepTime > 0) {
       try {
@@ -119,90 +222,75 @@ public class ComputerPlayer extends Player {
   }
 
   /**
-   * Returns a valid play word move for the specified game.
+   * Returns the best placement for the specified game. The placements are generated in
+   * parallel on the common fork/join pool and searched in random order. The first one which
+   * reaches the minimum score of the difficulty is chosen. If there is no such placement, the
+   * placement with the highest score below the maximum score of the difficulty is chosen. When the
+   * specified deadline is reached, only the placements which were found so far are searched. When
+   * the difficulty evaluates rack leaves, the placement with the highest score plus leave value
+   * below the maximum score is chosen instead. When the difficulty simulates, the best placements
+   * below the maximum score are played out until the deadline and the placement with the highest
+   * average equity is chosen. When the difficulty evaluates rack leaves and the tile bag of a game
+   * with two players is empty, the rest of the game is searched with an {@link EndgameSolver}
+   * instead, which returns null if passing is best.
    * 
    * @param game the specified game
-   * @return a valid play word move for the specified game
-   */
-  private PlayWord getValidPlayWordMove(Scrabble game) {
-    int minRow = Gameboard.squareIdToRow(Gameboard.CENTER_SQUARE_ID);
-    int maxRow = Gameboard.squareIdToCol(Gameboard.CENTER_SQUARE_ID);
-    int minCol = Gameboard.squareIdToRow(Gameboard.CENTER_SQUARE_ID);
-    int maxCol = Gameboard.squareIdToCol(Gameboard.CENTER_SQUARE_ID);
-
-    for (int row = 0; row < Gameboard.ROWS; row++) {
-      for (int col = 0; col < Gameboard.COLS; col++) {
-        if (!game.getGameboard().getSquareAt(row, col).isEmpty()) {
-          minRow = Math.min(minRow, row);
-          maxRow = Math.max(maxRow, row);
-          minCol = Math.min(minCol, col);
-          maxCol = Math.max(maxCol, col);
-        }
+   * @param deadline the specified deadline as a value of {@link System#nanoTime()}
+   * @return the best placement for the specified game or null if there is none
+   */
+  private Placement getBestPlacement(Scrabble game, long deadline) {
+    if (this.difficulty.isLeaveEvaluated() && game.getPlayerCount() == 2
+        && game.getTileBag().isEmpty()) {
+      EndgameSolver solver = new EndgameSolver(game);
+
+      if (solver.solve(deadline)) {
+        return solver.getBestPlacement();
       }
     }
 
-    List<String> words = game.getDictionary().getAllWords();
-    Collections.shuffle(words);
-    PlayWord bestMove = null;
-
-    for (String word : words) {
-      for (int col : this.shuffledValues(0, Gameboard.COLS - 1)) {
-        for (int row : this.shuffledValues(0, Gameboard.ROWS - 1)) {
-          String squareId = Gameboard.computeSquareId(row, col);
-
-          for (Direction direction : Direction.values()) {
-            if (game.getGameState() == GameState.GAME_OVER) {
-              return bestMove;
-            }
-
-            if (direction == Direction.HORIZONTAL
-                && (row < minRow - 1 || row > maxRow + 1 || word.length() > Gameboard.COLS - col)) {
-              continue;
-            }
-
-            if (direction == Direction.VERTICAL
-                && (col < minCol - 1 || col > maxCol + 1 || word.length() > Gameboard.ROWS - row)) {
-              continue;
-            }
-
-            PlayWord move = new PlayWord(game, word, squareId, direction);
-
-            if (move.isValid() && move.getScore() <= this.difficulty.getMaxScore()) {
-              if (bestMove == null || move.getScore() > bestMove.getScore()) {
-                bestMove = move;
-
-                if (bestMove.getScore() >= this.difficulty.getMinScore()) {
-                  return bestMove;
-                }
-              }
-            }
-          }
+    MoveGenerator generator = new MoveGenerator(game);
+    generator.setDeadline(deadline);
+    generator.setLeavesEvaluated(this.difficulty.isLeaveEvaluated());
+    List<Placement> placements = generator.generate(ForkJoinPool.commonPool());
+    Collections.shuffle(placements);
+    Placement bestPlacement = null;
+
+    if (this.difficulty.isSimulated()) {
+      List<Placement> candidates = new ArrayList<>();
+
+      for (Placement placement : placements) {
+        if (placement.getScore() <= this.difficulty.getMaxScore()) {
+          candidates.add(placement);
         }
       }
-    }
 
-    return bestMove;
-  }
+      MonteCarloSimulator simulator = new MonteCarloSimulator(game, candidates);
+      bestPlacement = simulator.simulate(ForkJoinPool.commonPool(), deadline);
+      return (game.getGameState() == GameState.GAME_OVER ? null : bestPlacement);
+    }
 
-  /**
-   * Returns a shuffled list with the values from the specified minimum to the specified maximum
-   * value.
-   * 
-   * @param min the specified minimum value
-   * @param max the specified maximum value
-   * @return a shuffled list with the values from the specified minimum to the specified maximum
-   *         value
-   */
-  private List<Integer> shuffledValues(int min, int max) {
-    List<Integer> values = new ArrayList<>();
+    for (Placement placement : placements) {
+      if (this.difficulty.isLeaveEvaluated()) {
+        if (placement.getScore() <= this.difficulty.getMaxScore() && (bestPlacement == null
+            || placement.getEquity() > bestPlacement.getEquity())) {
+          bestPlacement = placement;
+        }
+      } else if (placement.getScore() <= this.difficulty.getMaxScore()) {
+        if (bestPlacement == null || placement.getScore() > bestPlacement.getScore()) {
+          bestPlacement = placement;
 
-    for (int i = min; i <= max; i++) {
-      values.add(i);
+          if (bestPlacement.getScore() >= this.difficulty.getMinScore()) {
+            break;
+          }
+        }
+      }
     }
 
-    Collections.shuffle(values);
+    if (game.getGameState() == GameState.GAME_OVER) {
+      return null;
+    }
 
-    return values;
+    return bestPlacement;
   }
 
 }
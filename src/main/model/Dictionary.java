@@ -1,22 +1,37 @@
 package main.model;
 
 import java.io.BufferedReader;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.TreeMap;
 
 /**
- * The Dictionary class represents a dictionary.
+ * The Dictionary class represents a dictionary. The words are stored in a word graph and the
+ * descriptions are stored separately. The descriptions of a dictionary which was read from a file
+ * are only loaded when a description is requested for the first time. A dictionary can not be
+ * changed after it was created, so it is shared by all copies of a game. Each dictionary file is
+ * only read once and the dictionary is shared by all games which use the same file.
  * 
  * @author sekeller
  */
-public class Dictionary implements Serializable {
+public final class Dictionary implements Serializable {
 
-  private static final long serialVersionUID = 1L;
+  private static final long serialVersionUID = 2L;
 
   /**
    * The path of the directory where the dictionary files are located.
@@ -24,9 +39,47 @@ public class Dictionary implements Serializable {
   public static final String PATH = "res/dict/";
 
   /**
-   * The entries of the dictionary.
+   * The description of a word which has no description in the dictionary file.
    */
-  private final TreeMap<String, String> entries;
+  private static final String NO_DESCRIPTION = "no description available";
+
+  /**
+   * The dictionaries which were read from a file by their filename.
+   */
+  private static final Map<String, Dictionary> DICTIONARIES = new HashMap<>();
+
+  /**
+   * The word graph of the dictionary.
+   */
+  private final WordGraph wordGraph;
+
+  /**
+   * The filename of the dictionary file or null if the dictionary was not read from a file.
+   */
+  private final String filename;
+
+  /**
+   * The descriptions of the words by their index in the word graph or null if they were not loaded
+   * yet.
+   */
+  private transient String[] descriptions;
+
+  /**
+   * The offsets of the descriptions in the dictionary image by the index of their word or null if
+   * the dictionary was not opened from an image.
+   */
+  private transient IntBuffer descriptionOffsets;
+
+  /**
+   * The descriptions in the dictionary image in UTF-8 or null if the dictionary was not opened from
+   * an image.
+   */
+  private transient ByteBuffer descriptionBytes;
+
+  /**
+   * The anagram index of the dictionary or null if it was not built yet.
+   */
+  private transient AnagramIndex anagramIndex;
 
   /**
    * Constructs a dictionary with the specified entries.
@@ -34,16 +87,62 @@ public class Dictionary implements Serializable {
    * @param entries the specified entries
    */
   public Dictionary(TreeMap<String, String> entries) {
-    this.entries = entries;
+    this.wordGraph = WordGraph.create(entries.keySet());
+    this.filename = null;
+    this.descriptions = createDescriptions(this.wordGraph, entries);
+  }
+
+  /**
+   * Constructs a dictionary with the specified word graph whose descriptions are in the file with
+   * the specified filename.
+   * 
+   * @param wordGraph the specified word graph
+   * @param filename the specified filename
+   */
+  private Dictionary(WordGraph wordGraph, String filename) {
+    this.wordGraph = wordGraph;
+    this.filename = filename;
+  }
+
+  /**
+   * Constructs a dictionary of the dictionary file with the specified filename from its specified
+   * memory mapped image.
+   * 
+   * @param filename the specified filename
+   * @param image the specified image
+   * @throws IOException if the image is not a valid dictionary image
+   */
+  private Dictionary(String filename, ByteBuffer image) throws IOException {
+    if (image.remaining() < 2 * Integer.BYTES || image.getInt() != DictionaryCompiler.MAGIC
+        || image.getInt() != DictionaryCompiler.VERSION) {
+      throw new IOException("The dictionary image of " + filename + " is not valid.");
+    }
+
+    this.wordGraph = WordGraph.readImage(image);
+    this.filename = filename;
+    int wordCount = this.wordGraph.getWordCount();
+
+    if (wordCount < 0) {
+      throw new IOException("The dictionary image of " + filename + " is not valid.");
+    }
+
+    this.descriptionOffsets = WordGraph.sliceInts(image, wordCount + 1);
+    this.descriptionBytes = image.slice();
+
+    if (this.descriptionOffsets.get(0) != 0
+        || this.descriptionOffsets.get(wordCount) > this.descriptionBytes.remaining()) {
+      throw new IOException("The dictionary image of " + filename + " is not valid.");
+    }
   }
 
   /**
-   * Constructs a copy of the specified dictionary.
+   * Returns the filename of the dictionary file of this dictionary or null if this dictionary was
+   * not read from a file.
    * 
-   * @param original the specified dictionary
+   * @return the filename of the dictionary file of this dictionary
    */
-  Dictionary(Dictionary original) {
-    this.entries = new TreeMap<>(original.entries);
+  public String getFilename() {
+    return this.filename;
   }
 
   /**
@@ -53,7 +152,7 @@ public class Dictionary implements Serializable {
    * @return true when this dictionary contains the specified word
    */
   public boolean contains(String word) {
-    return this.entries.containsKey(word);
+    return this.wordGraph.contains(word);
   }
 
   /**
@@ -63,7 +162,20 @@ public class Dictionary implements Serializable {
    * @return the description for the specified word
    */
   public String getDescription(String word) {
-    return this.entries.get(word);
+    int index = this.wordGraph.indexOf(word);
+
+    if (index == WordGraph.NONE) {
+      return null;
+    }
+
+    if (this.descriptionBytes != null) {
+      int start = this.descriptionOffsets.get(index);
+      byte[] bytes = new byte[this.descriptionOffsets.get(index + 1) - start];
+      this.descriptionBytes.duplicate().position(start).get(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    return this.getDescriptions()[index];
   }
 
   /**
@@ -72,20 +184,245 @@ public class Dictionary implements Serializable {
    * @return a list with all words of this dictionary
    */
   public List<String> getAllWords() {
-    return new ArrayList<String>(this.entries.keySet());
+    return this.wordGraph.getAllWords();
+  }
+
+  /**
+   * Returns the word graph of this dictionary.
+   * 
+   * @return the word graph of this dictionary
+   */
+  public WordGraph getWordGraph() {
+    return this.wordGraph;
+  }
+
+  /**
+   * Returns the anagram index of this dictionary, which is built when it is requested the first
+   * time.
+   * 
+   * @return the anagram index of this dictionary
+   */
+  public synchronized AnagramIndex getAnagramIndex() {
+    if (this.anagramIndex == null) {
+      this.anagramIndex = new AnagramIndex(this.wordGraph);
+    }
+
+    return this.anagramIndex;
+  }
+
+  /**
+   * Returns the descriptions of this dictionary and loads them from the dictionary file if they
+   * were not loaded yet. If this dictionary was read from a stream and there is no local
+   * dictionary file, no description is available for any word.
+   * 
+   * @return the descriptions of this dictionary
+   */
+  private synchronized String[] getDescriptions() {
+    if (this.descriptions == null) {
+      if (new File(PATH + this.filename).isFile()) {
+        this.descriptions =
+            createDescriptions(this.wordGraph, readEntries(this.filename, true));
+      } else {
+        this.descriptions = new String[this.wordGraph.getWordCount()];
+        Arrays.fill(this.descriptions, NO_DESCRIPTION);
+      }
+    }
+
+    return this.descriptions;
+  }
+
+  /**
+   * Writes this dictionary to the specified stream. The descriptions are only written if this
+   * dictionary was not read from a file, otherwise the receiver reads them from its own copy of
+   * the file.
+   * 
+   * @param out the specified stream
+   * @throws IOException if an I/O error occurs
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(this.filename == null ? this.getDescriptions() : null);
+  }
+
+  /**
+   * Reads this dictionary from the specified stream.
+   * 
+   * @param in the specified stream
+   * @throws IOException if an I/O error occurs
+   * @throws ClassNotFoundException if the class of a serialized object can not be found
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.descriptions = (String[]) in.readObject();
+  }
+
+  /**
+   * Returns the shared dictionary of the dictionary file of this dictionary after it was read from
+   * a stream. If the file was not read yet, this dictionary is returned and does not become the
+   * shared dictionary, so only {@link #readFile(String)} decides which words a file contains.
+   * 
+   * @return the shared dictionary of the dictionary file of this dictionary or this dictionary
+   */
+  private Object readResolve() {
+    if (this.filename == null) {
+      return this;
+    }
+
+    synchronized (DICTIONARIES) {
+      Dictionary dictionary = DICTIONARIES.get(this.filename);
+      return (dictionary == null ? this : dictionary);
+    }
+  }
+
+  /**
+   * Returns the descriptions of the words of the specified word graph by their index. The
+   * descriptions are taken from the specified entries.
+   * 
+   * @param wordGraph the specified word graph
+   * @param entries the specified entries
+   * @return the descriptions of the words of the specified word graph
+   */
+  private static String[] createDescriptions(WordGraph wordGraph, Map<String, String> entries) {
+    String[] descriptions = new String[wordGraph.getWordCount()];
+
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      int index = wordGraph.indexOf(entry.getKey());
+
+      if (index != WordGraph.NONE) {
+        descriptions[index] = entry.getValue();
+      }
+    }
+
+    return descriptions;
   }
 
   /**
    * Returns a dictionary which contains all words and descriptions which are in the file with the
-   * specified filename.
+   * specified filename. The file is only read once and the same dictionary is returned for all
+   * further calls with the same filename. A file which could not be read is read again by the next
+   * call. The dictionary is opened from the memory mapped image of the file, which is compiled
+   * first if it does not exist or is older than the file. If the image can not be used, the file is
+   * parsed instead.
    * 
    * @param filename the specified filename
    * @return a dictionary
    */
   public static Dictionary readFile(String filename) {
+    synchronized (DICTIONARIES) {
+      Dictionary dictionary = DICTIONARIES.get(filename);
+
+      if (dictionary != null) {
+        return dictionary;
+      }
+
+      dictionary = openImage(filename);
+
+      if (dictionary == null) {
+        dictionary = parseFile(filename, new File(PATH + filename));
+      }
+
+      if (dictionary.wordGraph.getWordCount() > 0) {
+        DICTIONARIES.put(filename, dictionary);
+      }
+
+      return dictionary;
+    }
+  }
+
+  /**
+   * Returns the dictionary of the file with the specified filename which is opened from the memory
+   * mapped image of the file. The image is compiled if it is not up to date or damaged. Returns
+   * null if the image can not be compiled or opened.
+   * 
+   * @param filename the specified filename
+   * @return the dictionary of the file with the specified filename or null
+   */
+  private static Dictionary openImage(String filename) {
+    File imageFile = DictionaryCompiler.getImageFile(filename);
+
+    try {
+      if (!DictionaryCompiler.isUpToDate(filename)) {
+        if (!new File(PATH + filename).isFile()) {
+          return null;
+        }
+
+        DictionaryCompiler.compile(filename);
+      }
+
+      try {
+        return mapImage(filename, imageFile);
+      } catch (IOException damagedImage) {
+        if (!new File(PATH + filename).isFile()) {
+          throw damagedImage;
+        }
+
+        DictionaryCompiler.compile(filename);
+        return mapImage(filename, imageFile);
+      }
+    } catch (IOException ioException) {
+      ioException.printStackTrace();
+      return null;
+    }
+  }
+
+  /**
+   * Returns the dictionary of the dictionary file with the specified filename which is opened from
+   * the specified image file. The image file is mapped into memory and not read.
+   * 
+   * @param filename the specified filename
+   * @param imageFile the specified image file
+   * @return the dictionary of the specified image file
+   * @throws IOException if the image file can not be mapped or is not a valid image
+   */
+  static Dictionary mapImage(String filename, File imageFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(imageFile.toPath(), StandardOpenOption.READ)) {
+      return new Dictionary(filename, channel.map(MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Returns the dictionary of the dictionary file with the specified filename which is parsed
+   * from the specified file. The descriptions are not read, they are looked up in the file when
+   * they are needed.
+   * 
+   * @param filename the specified filename
+   * @param file the specified file
+   * @return the dictionary of the specified file
+   */
+  static Dictionary parseFile(String filename, File file) {
+    return new Dictionary(WordGraph.create(readEntries(file, false).keySet()), filename);
+  }
+
+  /**
+   * Returns the entries of the file with the specified filename. If the descriptions are not read,
+   * each word is mapped to an empty description. Words are mapped to the description of their last
+   * entry in the file.
+   * 
+   * @param filename the specified filename
+   * @param readDescriptions true if the descriptions should be read
+   * @return the entries of the file with the specified filename
+   */
+  static TreeMap<String, String> readEntries(String filename, boolean readDescriptions) {
+    if (filename == null) {
+      return new TreeMap<>();
+    }
+
+    return readEntries(new File(PATH + filename), readDescriptions);
+  }
+
+  /**
+   * Returns the entries of the specified file. If the descriptions are not read, each word is
+   * mapped to an empty description. Words are mapped to the description of their last entry in
+   * the file.
+   * 
+   * @param file the specified file
+   * @param readDescriptions true if the descriptions should be read
+   * @return the entries of the specified file
+   */
+  static TreeMap<String, String> readEntries(File file, boolean readDescriptions) {
     TreeMap<String, String> dictionaryEntries = new TreeMap<>();
 
-    try (BufferedReader bufferedReader = new BufferedReader(new FileReader(PATH + filename))) {
+    try (BufferedReader bufferedReader = new BufferedReader(new FileReader(file))) {
       String line;
 
       bufferedReader.readLine();
@@ -93,15 +430,18 @@ public class Dictionary implements Serializable {
 
       while ((line = bufferedReader.readLine()) != null) {
         if (!line.isBlank()) {
-          String word, description;
+          String word, description = "";
+          int tabIndex = line.indexOf('\t');
+
+          if (tabIndex >= 0) {
+            word = line.substring(0, tabIndex).trim().toUpperCase();
 
-          if (line.contains("\t")) {
-            String[] tokens = line.split("\t");
-            word = tokens[0].trim().toUpperCase();
-            description = tokens[1].trim();
+            if (readDescriptions) {
+              description = line.split("\t")[1].trim();
+            }
           } else {
             word = line.trim().toUpperCase();
-            description = "no description available";
+            description = NO_DESCRIPTION;
           }
 
           dictionaryEntries.put(word, description);
@@ -113,7 +453,7 @@ public class Dictionary implements Serializable {
       ioException.printStackTrace();
     }
 
-    return new Dictionary(dictionaryEntries);
+    return dictionaryEntries;
   }
 
 }
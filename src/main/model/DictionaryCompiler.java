@@ -0,0 +1,174 @@
+package main.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The DictionaryCompiler class compiles dictionary files into dictionary images. An image consists
+ * of a header, the word graph of the dictionary, a table with the offset of the description of
+ * each word and the descriptions in UTF-8. The images can be memory mapped, so a dictionary can be
+ * opened without parsing its file and the pages of the image are shared between processes.
+ * 
+ * @author sekeller
+ */
+public class DictionaryCompiler {
+
+  /**
+   * The path of the directory where the dictionary images are located.
+   */
+  public static final String IMAGE_PATH = "res/dict-bin/";
+
+  /**
+   * The file extension of the dictionary images.
+   */
+  public static final String IMAGE_EXTENSION = ".bin";
+
+  /**
+   * The magic number at the start of each dictionary image.
+   */
+  static final int MAGIC = 0x53434447;
+
+  /**
+   * The version of the format of the dictionary images.
+   */
+  static final int VERSION = 1;
+
+  /**
+   * Constructs a dictionary compiler. This class is not meant to be instantiated.
+   */
+  private DictionaryCompiler() {}
+
+  /**
+   * Returns the image file of the dictionary file with the specified filename.
+   * 
+   * @param filename the specified filename
+   * @return the image file of the dictionary file with the specified filename
+   */
+  public static File getImageFile(String filename) {
+    return new File(IMAGE_PATH + filename + IMAGE_EXTENSION);
+  }
+
+  /**
+   * Returns true if the image of the dictionary file with the specified filename exists, was
+   * compiled with the current format and is not older than the dictionary file.
+   * 
+   * @param filename the specified filename
+   * @return true if the image of the dictionary file with the specified filename is up to date
+   */
+  public static boolean isUpToDate(String filename) {
+    File textFile = new File(Dictionary.PATH + filename);
+    File imageFile = getImageFile(filename);
+
+    if (!imageFile.isFile()
+        || (textFile.isFile() && imageFile.lastModified() < textFile.lastModified())) {
+      return false;
+    }
+
+    try (DataInputStream in = new DataInputStream(new FileInputStream(imageFile))) {
+      return in.readInt() == MAGIC && in.readInt() == VERSION;
+    } catch (IOException ioException) {
+      return false;
+    }
+  }
+
+  /**
+   * Compiles the dictionary file with the specified filename into its image. The image is written
+   * to a temporary file first and then replaces the previous image, so processes which still map
+   * the previous image are not affected.
+   * 
+   * @param filename the specified filename
+   * @throws IOException if the dictionary file can not be read or the image can not be written
+   */
+  public static void compile(String filename) throws IOException {
+    compile(new File(Dictionary.PATH + filename), getImageFile(filename));
+  }
+
+  /**
+   * Compiles the specified dictionary file into the specified image file.
+   * 
+   * @param textFile the specified dictionary file
+   * @param imageFile the specified image file
+   * @throws IOException if the dictionary file can not be read or the image can not be written
+   */
+  static void compile(File textFile, File imageFile) throws IOException {
+    if (!textFile.isFile()) {
+      throw new IOException("The dictionary file " + textFile + " does not exist.");
+    }
+
+    Map<String, String> entries = Dictionary.readEntries(textFile, true);
+    WordGraph wordGraph = WordGraph.create(entries.keySet());
+    List<String> words = wordGraph.getAllWords();
+
+    File directory = imageFile.getAbsoluteFile().getParentFile();
+    directory.mkdirs();
+    File tempFile = File.createTempFile("dict", IMAGE_EXTENSION, directory);
+
+    try {
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        wordGraph.writeImage(out);
+
+        byte[][] descriptions = new byte[words.size()][];
+        int offset = 0;
+        out.writeInt(offset);
+
+        for (int i = 0; i < words.size(); i++) {
+          String description = entries.getOrDefault(words.get(i), "");
+          descriptions[i] = description.getBytes(StandardCharsets.UTF_8);
+          offset += descriptions[i].length;
+          out.writeInt(offset);
+        }
+
+        for (byte[] description : descriptions) {
+          out.write(description);
+        }
+      }
+
+      Files.move(tempFile.toPath(), imageFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      tempFile.delete();
+    }
+  }
+
+  /**
+   * Compiles the dictionary files with the specified filenames. If no filenames are specified, all
+   * dictionary files in {@link Dictionary#PATH} are compiled.
+   * 
+   * @param args the specified filenames
+   */
+  public static void main(String[] args) {
+    String[] filenames = args;
+
+    if (filenames.length == 0) {
+      filenames = new File(Dictionary.PATH).list();
+    }
+
+    if (filenames == null) {
+      System.err.println("The directory " + Dictionary.PATH + " does not exist.");
+      return;
+    }
+
+    for (String filename : filenames) {
+      try {
+        compile(filename);
+        System.out.println("Compiled " + filename + " to " + getImageFile(filename));
+      } catch (IOException ioException) {
+        System.err.println("Could not compile " + filename + ": " + ioException.getMessage());
+      }
+    }
+  }
+
+}
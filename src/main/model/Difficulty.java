@@ -10,12 +10,17 @@ public enum Difficulty {
   /**
    * Easy difficulty.
    */
-  EASY(0.10, 10, 20),
+  EASY(0.10, 10, 20, false, false),
 
   /**
    * Hard difficulty.
    */
-  HARD(0.00, 20, Integer.MAX_VALUE);
+  HARD(0.00, 20, Integer.MAX_VALUE, true, false),
+
+  /**
+   * Champion difficulty, which simulates the best placements.
+   */
+  CHAMPION(0.00, 20, Integer.MAX_VALUE, true, true);
 
   /**
    * The rate for a pass move.
@@ -33,15 +38,32 @@ public enum Difficulty {
   private int maxScore;
 
   /**
-   * Constructs a difficulty with the specified pass rate and minimum score.
+   * True if the value of the rack leave is added to the score of a play word move.
+   */
+  private boolean leaveEvaluated;
+
+  /**
+   * True if the best play word moves are played out against random racks of the next player.
+   */
+  private boolean simulated;
+
+  /**
+   * Constructs a difficulty with the specified pass rate, minimum score, maximum score, value for
+   * the leave evaluation and value for the simulation.
    * 
    * @param passRate the specified pass rate
    * @param minScore the specified minimum score
+   * @param maxScore the specified maximum score
+   * @param leaveEvaluated the specified value for the leave evaluation
+   * @param simulated the specified value for the simulation
    */
-  private Difficulty(double passRate, int minScore, int maxScore) {
+  private Difficulty(double passRate, int minScore, int maxScore, boolean leaveEvaluated,
+      boolean simulated) {
     this.passRate = passRate;
     this.minScore = minScore;
     this.maxScore = maxScore;
+    this.leaveEvaluated = leaveEvaluated;
+    this.simulated = simulated;
   }
 
   /**
@@ -71,4 +93,23 @@ public enum Difficulty {
     return this.maxScore;
   }
 
+  /**
+   * Returns true if the value of the rack leave is added to the score of a play word move.
+   * 
+   * @return true if the value of the rack leave is added to the score of a play word move
+   */
+  public boolean isLeaveEvaluated() {
+    return this.leaveEvaluated;
+  }
+
+  /**
+   * Returns true if the best play word moves are played out against random racks of the next
+   * player.
+   * 
+   * @return true if the best play word moves are played out against random racks
+   */
+  public boolean isSimulated() {
+    return this.simulated;
+  }
+
 }
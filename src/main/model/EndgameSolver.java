@@ -0,0 +1,562 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The EndgameSolver class searches the best placement for the current player of a game with two
+ * players when the tile bag is empty. Then both racks are known, so the rest of the game can be
+ * searched exactly. The search is an alpha-beta search over the placements and the pass of each
+ * player, which maximizes the difference between the points of the current player and the points
+ * of the other player until the end of the game. A player who empties the rack ends the game and
+ * two passes in a row end the search.
+ * 
+ * <p>
+ * The search is repeated with increasing depths, so it can stop at a deadline or a maximum number
+ * of nodes with the result of the last complete depth. Positions which were already searched are
+ * stored in a transposition table, which is indexed by a hash of the gameboard, the racks and the
+ * player to move. The placements are ordered by the best placement of the table, then by placements
+ * which empty the rack and then by score. At the horizon, a position is rated with the highest
+ * score of the player to move.
+ * </p>
+ * 
+ * @author sekeller
+ */
+final class EndgameSolver {
+
+  /**
+   * A constant for the maximum number of nodes of a search.
+   */
+  static final int MAX_NODE_COUNT = 1_000_000;
+
+  /**
+   * A constant for the index of the joker in the rack counts.
+   */
+  private static final int JOKER = LeaveTable.JOKER;
+
+  /**
+   * A constant for the letter of an empty square.
+   */
+  private static final char EMPTY = 0;
+
+  /**
+   * A constant for the number of entries of the transposition table, which is a power of two.
+   */
+  private static final int TABLE_SIZE = 1 << 18;
+
+  /**
+   * A constant for the number of nodes between two checks of the deadline.
+   */
+  private static final int DEADLINE_CHECK_INTERVAL = 1 << 6;
+
+  /**
+   * A constant for the depth of a table entry whose value was searched until the end of the game
+   * in every line.
+   */
+  private static final byte FINAL_DEPTH = Byte.MAX_VALUE;
+
+  /**
+   * A constant for a value which is greater than the value of every position.
+   */
+  private static final int INFINITY = 1 << 20;
+
+  /**
+   * A constant for the bound of a table entry whose value is exact.
+   */
+  private static final byte EXACT = 0;
+
+  /**
+   * A constant for the bound of a table entry whose value is a lower bound.
+   */
+  private static final byte LOWER = 1;
+
+  /**
+   * A constant for the bound of a table entry whose value is an upper bound.
+   */
+  private static final byte UPPER = 2;
+
+  /**
+   * The random keys of each letter on each square of the gameboard.
+   */
+  private static final long[][] SQUARE_KEYS;
+
+  /**
+   * The random keys of each count of each letter and the joker on the rack of each player.
+   */
+  private static final long[][][] RACK_KEYS;
+
+  /**
+   * The random key of the second player to move.
+   */
+  private static final long PLAYER_KEY;
+
+  /**
+   * The random key of a position after a pass.
+   */
+  private static final long PASS_KEY;
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x5C2AB81EL);
+    SQUARE_KEYS = new long[Gameboard.ROWS * Gameboard.COLS][WordGraph.LETTER_COUNT];
+
+    for (long[] keys : SQUARE_KEYS) {
+      for (int letter = 0; letter < keys.length; letter++) {
+        keys[letter] = random.nextLong();
+      }
+    }
+
+    RACK_KEYS = new long[2][LeaveTable.SYMBOL_COUNT][Rack.TILE_CAPACITY + 1];
+
+    for (long[][] playerKeys : RACK_KEYS) {
+      for (long[] keys : playerKeys) {
+        for (int count = 1; count < keys.length; count++) {
+          keys[count] = random.nextLong();
+        }
+      }
+    }
+
+    PLAYER_KEY = random.nextLong();
+    PASS_KEY = random.nextLong();
+  }
+
+  /**
+   * The word graph of the dictionary of the game.
+   */
+  private final WordGraph wordGraph;
+
+  /**
+   * The letters on the gameboard.
+   */
+  private final char[] letters;
+
+  /**
+   * The scores of the tiles on the gameboard.
+   */
+  private final int[] tileScores;
+
+  /**
+   * The number of tiles for each letter and the joker on the rack of each player. The current
+   * player of the game is player 0.
+   */
+  private final int[][] racks;
+
+  /**
+   * The number of tiles on the rack of each player.
+   */
+  private final int[] rackSizes;
+
+  /**
+   * The score of each letter.
+   */
+  private final int[] letterValues;
+
+  /**
+   * The score of each letter when it is played from the rack of the player to move.
+   */
+  private final int[] letterScores;
+
+  /**
+   * The squares on which the tiles of the placement of each ply were placed.
+   */
+  private final int[][] placedSquares;
+
+  /**
+   * The symbols of the tiles of the placement of each ply.
+   */
+  private final int[][] placedSymbols;
+
+  /**
+   * The keys of the entries of the transposition table.
+   */
+  private final long[] tableKeys = new long[TABLE_SIZE];
+
+  /**
+   * The values of the entries of the transposition table.
+   */
+  private final int[] tableValues = new int[TABLE_SIZE];
+
+  /**
+   * The depths of the entries of the transposition table.
+   */
+  private final byte[] tableDepths = new byte[TABLE_SIZE];
+
+  /**
+   * The bounds of the entries of the transposition table.
+   */
+  private final byte[] tableBounds = new byte[TABLE_SIZE];
+
+  /**
+   * The index of the best move in the ordered moves of each entry of the transposition table.
+   */
+  private final short[] tableMoves = new short[TABLE_SIZE];
+
+  /**
+   * The hash of the current position.
+   */
+  private long hash;
+
+  /**
+   * The deadline of the search as a value of {@link System#nanoTime()}.
+   */
+  private long deadline;
+
+  /**
+   * The number of nodes of the search.
+   */
+  private int nodeCount;
+
+  /**
+   * The number of positions which were rated at the horizon or taken from a table entry which was
+   * not searched until the end of the game.
+   */
+  private int horizonCount;
+
+  /**
+   * True if the search was stopped at the deadline or at the maximum number of nodes.
+   */
+  private boolean aborted;
+
+  /**
+   * The best placement of the current depth or null for a pass.
+   */
+  private Placement rootMove;
+
+  /**
+   * The best placement of the last complete depth or null for a pass.
+   */
+  private Placement bestPlacement;
+
+  /**
+   * The value of the best placement of the last complete depth.
+   */
+  private int bestValue;
+
+  /**
+   * Constructs an endgame solver for the current player of the specified game. The game must have
+   * two players and an empty tile bag.
+   * 
+   * @param game the specified game
+   */
+  EndgameSolver(Scrabble game) {
+    if (game.getPlayerCount() != 2 || !game.getTileBag().isEmpty()) {
+      throw new IllegalArgumentException("An endgame needs two players and an empty tile bag.");
+    }
+
+    this.wordGraph = game.getDictionary().getWordGraph();
+    int squareCount = Gameboard.ROWS * Gameboard.COLS;
+    this.letters = new char[squareCount];
+    this.tileScores = new int[squareCount];
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        int square = row * Gameboard.COLS + col;
+        Square boardSquare = game.getGameboard().getSquareAt(row, col);
+
+        if (!boardSquare.isEmpty()) {
+          this.letters[square] = boardSquare.getTile().getLetter();
+          this.tileScores[square] = boardSquare.getTile().getScore();
+          this.hash ^= SQUARE_KEYS[square][this.letters[square] - 'A'];
+        }
+      }
+    }
+
+    this.racks = new int[2][LeaveTable.SYMBOL_COUNT];
+    this.rackSizes = new int[2];
+    this.letterValues = new int[WordGraph.LETTER_COUNT];
+    this.letterScores = new int[WordGraph.LETTER_COUNT];
+
+    for (int player = 0; player < 2; player++) {
+      int index = (game.getCurrentPlayerIndex() + player) % 2;
+      Rack rack = game.getPlayer(index).getRack();
+
+      for (int i = 0; i < rack.size(); i++) {
+        char letter = rack.getTile(i).getLetter();
+
+        if (letter == '*') {
+          this.addTile(player, JOKER, 1);
+        } else if (letter >= 'A' && letter <= 'Z') {
+          this.addTile(player, letter - 'A', 1);
+          this.letterValues[letter - 'A'] = rack.getTile(i).getScore();
+        }
+      }
+    }
+
+    int maxPly = 2 * (this.rackSizes[0] + this.rackSizes[1]) + 2;
+    this.placedSquares = new int[maxPly][Rack.TILE_CAPACITY];
+    this.placedSymbols = new int[maxPly][Rack.TILE_CAPACITY];
+  }
+
+  /**
+   * Searches with increasing depths until the end of the game is reached in every line, the
+   * specified deadline is reached or {@link #MAX_NODE_COUNT} nodes were searched. Returns true if
+   * at least the first depth was searched completely.
+   * 
+   * @param deadline the specified deadline as a value of {@link System#nanoTime()}
+   * @return true if at least the first depth was searched completely
+   */
+  boolean solve(long deadline) {
+    this.deadline = deadline;
+    boolean solved = false;
+
+    for (int depth = 1; depth <= this.placedSquares.length; depth++) {
+      this.rootMove = null;
+      this.horizonCount = 0;
+      int value = this.search(0, depth, 0, -INFINITY, INFINITY, 0);
+
+      if (this.aborted) {
+        break;
+      }
+
+      this.bestPlacement = this.rootMove;
+      this.bestValue = value;
+      solved = true;
+
+      if (this.horizonCount == 0) {
+        break;
+      }
+    }
+
+    return solved;
+  }
+
+  /**
+   * Returns the best placement for the current player or null if passing is best.
+   * 
+   * @return the best placement for the current player or null if passing is best
+   */
+  Placement getBestPlacement() {
+    return this.bestPlacement;
+  }
+
+  /**
+   * Returns the difference between the points of the current player and the points of the other
+   * player until the end of the game after the best placement.
+   * 
+   * @return the difference of the points after the best placement
+   */
+  int getBestValue() {
+    return this.bestValue;
+  }
+
+  /**
+   * Returns the value of the current position for the specified player to move, which is the
+   * difference between the points of this player and the points of the other player until the end
+   * of the game or until the horizon of the search.
+   * 
+   * @param player the specified player to move
+   * @param depth the remaining depth of the search
+   * @param ply the number of moves from the root of the search
+   * @param alpha the lower bound of the interesting values
+   * @param beta the upper bound of the interesting values
+   * @param passes the number of passes in a row before the current position
+   * @return the value of the current position for the specified player
+   */
+  private int search(int player, int depth, int ply, int alpha, int beta, int passes) {
+    if (this.checkAbort()) {
+      return 0;
+    }
+
+    long key = this.hash ^ (player == 1 ? PLAYER_KEY : 0) ^ (passes > 0 ? PASS_KEY : 0);
+    int entry = (int) key & (TABLE_SIZE - 1);
+    int tableMove = -1;
+
+    if (this.tableKeys[entry] == key) {
+      tableMove = this.tableMoves[entry];
+
+      if (ply > 0 && this.tableDepths[entry] >= depth) {
+        int value = this.tableValues[entry];
+        byte bound = this.tableBounds[entry];
+
+        if (bound == EXACT || (bound == LOWER && value >= beta)
+            || (bound == UPPER && value <= alpha)) {
+          if (this.tableDepths[entry] != FINAL_DEPTH) {
+            this.horizonCount++;
+          }
+          return value;
+        }
+      }
+    }
+
+    List<Placement> moves = this.generate(player);
+
+    if (depth == 0) {
+      this.horizonCount++;
+      int bestScore = 0;
+
+      for (Placement placement : moves) {
+        bestScore = Math.max(bestScore, placement.getScore());
+      }
+
+      return bestScore;
+    }
+
+    int originalHorizonCount = this.horizonCount;
+    int originalAlpha = alpha;
+    int bestValue = -INFINITY;
+    int bestMove = 0;
+
+    // the moves are the ordered placements and the pass as the last move
+    for (int i = -1; i <= moves.size(); i++) {
+      int move = (i == -1 ? tableMove : i);
+
+      if (move < 0 || move > moves.size() || (i >= 0 && i == tableMove)) {
+        continue;
+      }
+
+      int value;
+
+      if (move == moves.size()) {
+        if (passes > 0) {
+          value = 0;
+        } else {
+          value = -this.search(1 - player, depth - 1, ply + 1, -beta, -alpha, passes + 1);
+        }
+      } else {
+        Placement placement = moves.get(move);
+        this.place(player, ply, placement);
+
+        if (this.rackSizes[player] == 0) {
+          value = placement.getScore();
+        } else {
+          value = placement.getScore()
+              - this.search(1 - player, depth - 1, ply + 1, -beta, -alpha, 0);
+        }
+
+        this.remove(player, ply, placement);
+      }
+
+      if (this.aborted) {
+        return 0;
+      }
+
+      if (value > bestValue) {
+        bestValue = value;
+        bestMove = move;
+
+        if (ply == 0) {
+          this.rootMove = (move == moves.size() ? null : moves.get(move));
+        }
+      }
+
+      alpha = Math.max(alpha, value);
+
+      if (alpha >= beta) {
+        break;
+      }
+    }
+
+    this.tableKeys[entry] = key;
+    this.tableValues[entry] = bestValue;
+    this.tableDepths[entry] =
+        (this.horizonCount == originalHorizonCount ? FINAL_DEPTH : (byte) depth);
+    this.tableMoves[entry] = (short) bestMove;
+    this.tableBounds[entry] =
+        (bestValue <= originalAlpha ? UPPER : (bestValue >= beta ? LOWER : EXACT));
+    return bestValue;
+  }
+
+  /**
+   * Returns all placements of the specified player on the current gameboard. The placements which
+   * empty the rack come first and the others are sorted by score.
+   * 
+   * @param player the specified player
+   * @return the ordered placements of the specified player
+   */
+  private List<Placement> generate(int player) {
+    int[] rack = this.racks[player];
+
+    for (int letter = 0; letter < WordGraph.LETTER_COUNT; letter++) {
+      this.letterScores[letter] = (rack[letter] > 0 ? this.letterValues[letter] : 0);
+    }
+
+    MoveGenerator generator = new MoveGenerator(this.wordGraph, this.letters, this.tileScores);
+    List<Placement> moves = new ArrayList<>(generator.generate(rack, this.letterScores));
+    int rackSize = this.rackSizes[player];
+    moves.sort(Comparator.comparing((Placement placement) -> placement.getTileCount() < rackSize)
+        .thenComparing(Comparator.comparingInt(Placement::getScore).reversed()));
+    return moves;
+  }
+
+  /**
+   * Places the tiles of the specified placement of the specified player on the gameboard and
+   * stores them for the specified ply. Like a play word move, each letter is played with a tile of
+   * this letter or with the joker if there is no such tile.
+   * 
+   * @param player the specified player
+   * @param ply the specified ply
+   * @param placement the specified placement
+   */
+  private void place(int player, int ply, Placement placement) {
+    int step = (placement.getDirection() == Direction.HORIZONTAL ? 1 : Gameboard.COLS);
+    int square = placement.getRow() * Gameboard.COLS + placement.getCol();
+    String word = placement.getWord();
+    int count = 0;
+
+    for (int i = 0; i < word.length(); i++, square += step) {
+      if (this.letters[square] != EMPTY) {
+        continue;
+      }
+
+      int letter = word.charAt(i) - 'A';
+      int symbol = (this.racks[player][letter] > 0 ? letter : JOKER);
+      this.addTile(player, symbol, -1);
+      this.letters[square] = word.charAt(i);
+      this.tileScores[square] = (symbol == JOKER ? 0 : this.letterValues[letter]);
+      this.hash ^= SQUARE_KEYS[square][letter];
+      this.placedSquares[ply][count] = square;
+      this.placedSymbols[ply][count] = symbol;
+      count++;
+    }
+  }
+
+  /**
+   * Removes the tiles of the specified placement of the specified player which were placed for
+   * the specified ply and puts them back on the rack.
+   * 
+   * @param player the specified player
+   * @param ply the specified ply
+   * @param placement the specified placement
+   */
+  private void remove(int player, int ply, Placement placement) {
+    for (int i = 0; i < placement.getTileCount(); i++) {
+      int square = this.placedSquares[ply][i];
+      this.hash ^= SQUARE_KEYS[square][this.letters[square] - 'A'];
+      this.letters[square] = EMPTY;
+      this.tileScores[square] = 0;
+      this.addTile(player, this.placedSymbols[ply][i], 1);
+    }
+  }
+
+  /**
+   * Adds the specified amount to the count of the specified symbol on the rack of the specified
+   * player and updates the hash.
+   * 
+   * @param player the specified player
+   * @param symbol the specified symbol
+   * @param amount the specified amount
+   */
+  private void addTile(int player, int symbol, int amount) {
+    int count = this.racks[player][symbol];
+    this.hash ^= RACK_KEYS[player][symbol][count] ^ RACK_KEYS[player][symbol][count + amount];
+    this.racks[player][symbol] = count + amount;
+    this.rackSizes[player] += amount;
+  }
+
+  /**
+   * Counts a node and returns true if the search has to stop because the deadline or the maximum
+   * number of nodes is reached. The time is only checked every {@link #DEADLINE_CHECK_INTERVAL}
+   * nodes.
+   * 
+   * @return true if the search has to stop
+   */
+  private boolean checkAbort() {
+    if (++this.nodeCount > MAX_NODE_COUNT || (this.nodeCount % DEADLINE_CHECK_INTERVAL == 0
+        && System.nanoTime() - this.deadline >= 0)) {
+      this.aborted = true;
+    }
+    return this.aborted;
+  }
+
+}
@@ -0,0 +1,198 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * The ExchangeEvaluator class finds the best tiles to exchange for the rack of the current player.
+ * Every subset of the rack is a candidate and is rated with the value of the tiles which stay on
+ * the rack plus the expected value of the tiles which are drawn instead. The expected value of a
+ * drawn tile is computed from the tiles which the current player has not seen, which are the tiles
+ * in the tile bag and on the racks of the other players. A placement is rated in the same way, so
+ * the best exchange can be compared with the best play word move.
+ * 
+ * @author sekeller
+ */
+final class ExchangeEvaluator {
+
+  /**
+   * The rack of the current player.
+   */
+  private final Rack rack;
+
+  /**
+   * The number of tiles in the tile bag.
+   */
+  private final int bagSize;
+
+  /**
+   * The number of tiles for each letter and the joker on the rack.
+   */
+  private final int[] rackCounts;
+
+  /**
+   * The expected value of a drawn tile in tenths of a point.
+   */
+  private final int drawValue;
+
+  /**
+   * The mask of the rack tiles of the best exchange or 0 if no exchange is possible.
+   */
+  private int bestMask;
+
+  /**
+   * The equity of the best exchange in tenths of a point.
+   */
+  private int bestEquity = Integer.MIN_VALUE;
+
+  /**
+   * Constructs an exchange evaluator for the current player of the specified game and evaluates
+   * all exchanges.
+   * 
+   * @param game the specified game
+   */
+  ExchangeEvaluator(Scrabble game) {
+    this.rack = game.getCurrentPlayer().getRack();
+    this.bagSize = game.getTileBag().size();
+    this.rackCounts = new int[LeaveTable.SYMBOL_COUNT];
+
+    for (int i = 0; i < this.rack.size(); i++) {
+      addCount(this.rackCounts, this.rack.getTile(i), 1);
+    }
+
+    this.drawValue = computeDrawValue(game);
+    this.evaluate();
+  }
+
+  /**
+   * Returns the tiles of the best exchange or null if no exchange is possible.
+   * 
+   * @return the tiles of the best exchange or null if no exchange is possible
+   */
+  Collection<Tile> getBestTiles() {
+    if (this.bestMask == 0) {
+      return null;
+    }
+
+    Collection<Tile> tiles = new ArrayList<>();
+
+    for (int i = 0; i < this.rack.size(); i++) {
+      if ((this.bestMask & (1 << i)) != 0) {
+        tiles.add(this.rack.getTile(i));
+      }
+    }
+
+    return tiles;
+  }
+
+  /**
+   * Returns the equity of the best exchange in tenths of a point.
+   * 
+   * @return the equity of the best exchange in tenths of a point
+   */
+  int getBestEquity() {
+    return this.bestEquity;
+  }
+
+  /**
+   * Returns the equity of the specified placement in tenths of a point, which is its score, the
+   * value of its rack leave and the expected value of the tiles which are drawn after it.
+   * 
+   * @param placement the specified placement
+   * @return the equity of the specified placement in tenths of a point
+   */
+  int getEquity(Placement placement) {
+    int drawCount = Math.min(placement.getTileCount(), this.bagSize);
+    return placement.getEquity() + drawCount * this.drawValue;
+  }
+
+  /**
+   * Rates every subset of the rack, which is a bitmask of at most seven bits, and keeps the best.
+   * A subset can only be exchanged if the tile bag contains at least as many tiles.
+   */
+  private void evaluate() {
+    int[] leave = new int[LeaveTable.SYMBOL_COUNT];
+
+    for (int mask = 1; mask < (1 << this.rack.size()); mask++) {
+      int count = Integer.bitCount(mask);
+
+      if (count > this.bagSize) {
+        continue;
+      }
+
+      System.arraycopy(this.rackCounts, 0, leave, 0, leave.length);
+
+      for (int i = 0; i < this.rack.size(); i++) {
+        if ((mask & (1 << i)) != 0) {
+          addCount(leave, this.rack.getTile(i), -1);
+        }
+      }
+
+      int equity = LeaveTable.getValue(leave) + count * this.drawValue;
+
+      if (equity > this.bestEquity) {
+        this.bestEquity = equity;
+        this.bestMask = mask;
+      }
+    }
+  }
+
+  /**
+   * Returns the expected value of a tile which is drawn by the current player of the specified
+   * game in tenths of a point.
+   * 
+   * @param game the specified game
+   * @return the expected value of a drawn tile in tenths of a point
+   */
+  private static int computeDrawValue(Scrabble game) {
+    int[] unseen = new int[LeaveTable.SYMBOL_COUNT];
+    TileBag tileBag = game.getTileBag();
+
+    for (int i = 0; i < tileBag.size(); i++) {
+      addCount(unseen, tileBag.getTile(i), 1);
+    }
+
+    for (int player = 0; player < game.getPlayerCount(); player++) {
+      if (player != game.getCurrentPlayerIndex()) {
+        Rack rack = game.getPlayer(player).getRack();
+
+        for (int i = 0; i < rack.size(); i++) {
+          addCount(unseen, rack.getTile(i), 1);
+        }
+      }
+    }
+
+    int[] single = new int[LeaveTable.SYMBOL_COUNT];
+    long sum = 0;
+    int total = 0;
+
+    for (int symbol = 0; symbol < LeaveTable.SYMBOL_COUNT; symbol++) {
+      if (unseen[symbol] > 0) {
+        single[symbol] = 1;
+        sum += (long) unseen[symbol] * LeaveTable.getValue(single);
+        single[symbol] = 0;
+        total += unseen[symbol];
+      }
+    }
+
+    return (total == 0 ? 0 : (int) (sum / total));
+  }
+
+  /**
+   * Adds the specified amount to the count of the symbol of the specified tile.
+   * 
+   * @param counts the counts of each letter and the joker
+   * @param tile the specified tile
+   * @param amount the specified amount
+   */
+  private static void addCount(int[] counts, Tile tile, int amount) {
+    char letter = tile.getLetter();
+
+    if (letter == '*') {
+      counts[LeaveTable.JOKER] += amount;
+    } else if (letter >= 'A' && letter <= 'Z') {
+      counts[letter - 'A'] += amount;
+    }
+  }
+
+}
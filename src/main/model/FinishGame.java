@@ -20,6 +20,20 @@ public class FinishGame extends Move {
     this.init();
   }
 
+  /**
+   * Constructs a finish game move of the specified player at the specified time
+   * which was already executed.
+   * 
+   * @param player the specified player
+   * @param time the specified time in milliseconds
+   */
+  FinishGame(String player, long time) {
+    super();
+
+    this.player = player;
+    this.time = time;
+  }
+
   /**
    * Constructs a copy of the specified finish game move.
    * 
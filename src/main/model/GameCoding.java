@@ -0,0 +1,636 @@
+package main.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The GameCoding class writes and reads the snapshots of a game, which are a whole game or a turn
+ * state, in the compact binary form of {@link BinaryCoding}. All tiles of a snapshot are written
+ * once in a tile table, where each tile is one byte for its letter and score, and the tile bag,
+ * the racks, the gameboard and the moves refer to a tile by its index in the table, which is one
+ * byte for the standard tile set. The dictionary of a game is written as the filename of its
+ * dictionary file. Only a dictionary which was not read from a file is written word by word.
+ * 
+ * @author sekeller
+ */
+final class GameCoding {
+
+  /**
+   * A constant for a game without a dictionary.
+   */
+  private static final int NO_DICTIONARY = 0;
+
+  /**
+   * A constant for a dictionary which is written as the filename of its dictionary file.
+   */
+  private static final int FILE_DICTIONARY = 1;
+
+  /**
+   * A constant for a dictionary which is written word by word.
+   */
+  private static final int WORD_DICTIONARY = 2;
+
+  /**
+   * Constructs a game coding. This class is not meant to be instantiated.
+   */
+  private GameCoding() {}
+
+  /**
+   * Writes the specified dictionary, which may be null.
+   * 
+   * @param out the specified output
+   * @param dictionary the specified dictionary
+   * @throws IOException if the dictionary can not be written
+   */
+  static void writeDictionary(DataOutput out, Dictionary dictionary) throws IOException {
+    if (dictionary == null) {
+      out.writeByte(NO_DICTIONARY);
+    } else if (dictionary.getFilename() != null) {
+      out.writeByte(FILE_DICTIONARY);
+      BinaryCoding.writeString(out, dictionary.getFilename());
+    } else {
+      out.writeByte(WORD_DICTIONARY);
+      List<String> words = dictionary.getAllWords();
+      BinaryCoding.writeLength(out, words.size());
+
+      for (String word : words) {
+        BinaryCoding.writeString(out, word);
+        BinaryCoding.writeString(out, dictionary.getDescription(word));
+      }
+    }
+  }
+
+  /**
+   * Reads a dictionary which was written by {@link #writeDictionary(DataOutput, Dictionary)}. A
+   * dictionary which was written as a filename is read from the local dictionary file with
+   * {@link Dictionary#readFile(String)}.
+   * 
+   * @param in the specified input
+   * @return the dictionary which was read or null
+   * @throws IOException if the dictionary can not be read or the dictionary file is not available
+   */
+  static Dictionary readDictionary(DataInput in) throws IOException {
+    int kind = in.readUnsignedByte();
+
+    switch (kind) {
+      case NO_DICTIONARY:
+        return null;
+      case FILE_DICTIONARY:
+        String filename = BinaryCoding.readString(in);
+
+        if (filename == null || filename.isEmpty() || filename.contains("/")
+            || filename.contains("\\") || filename.contains("..")) {
+          throw new IOException("Invalid dictionary filename: " + filename);
+        }
+
+        if (!new File(Dictionary.PATH + filename).isFile()) {
+          throw new IOException("The dictionary " + filename + " is not available.");
+        }
+
+        return Dictionary.readFile(filename);
+      case WORD_DICTIONARY:
+        int count = readCount(in, BinaryCoding.MAX_LENGTH);
+        TreeMap<String, String> entries = new TreeMap<>();
+
+        for (int i = 0; i < count; i++) {
+          String word = BinaryCoding.readString(in);
+
+          if (word == null) {
+            throw new IOException("Invalid dictionary word.");
+          }
+
+          entries.put(word, BinaryCoding.readString(in));
+        }
+
+        return new Dictionary(entries);
+      default:
+        throw new IOException("Invalid dictionary kind: " + kind);
+    }
+  }
+
+  /**
+   * Writes a turn state with the specified tile bag, gameboard, players, moves, current player
+   * index, scoreless move count, game state and remaining time.
+   * 
+   * @param out the specified output
+   * @param tileBag the specified tile bag
+   * @param gameboard the specified gameboard
+   * @param players the specified players
+   * @param moves the specified moves
+   * @param currentPlayerIndex the specified current player index
+   * @param scorelessMoveCount the specified scoreless move count
+   * @param gameState the specified game state
+   * @param remainingTime the specified remaining time in milliseconds
+   * @throws IOException if the turn state can not be written
+   */
+  static void writeTurnState(DataOutput out, TileBag tileBag, Gameboard gameboard,
+      List<Player> players, List<Move> moves, int currentPlayerIndex, int scorelessMoveCount,
+      GameState gameState, long remainingTime) throws IOException {
+    TileTable table = new TileTable();
+
+    for (int i = 0; i < tileBag.size(); i++) {
+      table.add(tileBag.getTile(i));
+    }
+
+    for (Player player : players) {
+      for (int i = 0; i < player.getRack().size(); i++) {
+        table.add(player.getRack().getTile(i));
+      }
+    }
+
+    for (int square = 0; square < Gameboard.SQUARE_COUNT; square++) {
+      Tile tile = gameboard.getTileAt(square / Gameboard.COLS, square % Gameboard.COLS);
+
+      if (tile != null) {
+        table.add(tile);
+      }
+    }
+
+    for (Move move : moves) {
+      if (move instanceof ChangeTiles) {
+        for (Tile tile : ((ChangeTiles) move).getTiles()) {
+          table.add(tile);
+        }
+      }
+    }
+
+    table.write(out);
+
+    BinaryCoding.writeLength(out, tileBag.size());
+
+    for (int i = 0; i < tileBag.size(); i++) {
+      table.writeTile(out, tileBag.getTile(i));
+    }
+
+    BinaryCoding.writeLength(out, gameboard.getTileCount());
+
+    for (int square = 0; square < Gameboard.SQUARE_COUNT; square++) {
+      Tile tile = gameboard.getTileAt(square / Gameboard.COLS, square % Gameboard.COLS);
+
+      if (tile != null) {
+        out.writeByte(square);
+        table.writeTile(out, tile);
+      }
+    }
+
+    BinaryCoding.writeLength(out, players.size());
+
+    for (Player player : players) {
+      writePlayer(out, player, table);
+    }
+
+    BinaryCoding.writeLength(out, moves.size());
+
+    for (Move move : moves) {
+      writeMove(out, move, table);
+    }
+
+    BinaryCoding.writeVarInt(out, currentPlayerIndex);
+    BinaryCoding.writeVarInt(out, scorelessMoveCount);
+    BinaryCoding.writeEnum(out, gameState);
+    out.writeLong(remainingTime);
+  }
+
+  /**
+   * Reads a turn state which was written by {@link #writeTurnState}.
+   * 
+   * @param in the specified input
+   * @return the turn state which was read
+   * @throws IOException if the turn state can not be read or is not valid
+   */
+  static TurnState readTurnState(DataInput in) throws IOException {
+    TileTable table = TileTable.read(in);
+
+    int count = readCount(in, table.size());
+    List<Tile> bagTiles = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      bagTiles.add(table.readOwnedTile(in));
+    }
+
+    Gameboard gameboard = new Gameboard();
+    count = readCount(in, Gameboard.SQUARE_COUNT);
+
+    for (int i = 0; i < count; i++) {
+      int square = in.readUnsignedByte();
+
+      if (square >= Gameboard.SQUARE_COUNT
+          || gameboard.isOccupied(square / Gameboard.COLS, square % Gameboard.COLS)) {
+        throw new IOException("Invalid square: " + square);
+      }
+
+      gameboard.setTileAt(square / Gameboard.COLS, square % Gameboard.COLS,
+          table.readOwnedTile(in));
+    }
+
+    count = readCount(in, Scrabble.MAX_PLAYER_COUNT);
+    List<Player> players = new ArrayList<>(count);
+
+    for (int i = 0; i < count; i++) {
+      players.add(readPlayer(in, table));
+    }
+
+    count = readCount(in, BinaryCoding.MAX_LENGTH);
+    List<Move> moves = new ArrayList<>(Math.min(count, Gameboard.SQUARE_COUNT));
+
+    for (int i = 0; i < count; i++) {
+      moves.add(readMove(in, table));
+    }
+
+    int currentPlayerIndex = BinaryCoding.readVarInt(in);
+    int scorelessMoveCount = BinaryCoding.readVarInt(in);
+    GameState gameState = BinaryCoding.readEnum(in, GameState.values());
+    long remainingTime = in.readLong();
+
+    if (currentPlayerIndex >= Math.max(1, players.size()) || gameState == null) {
+      throw new IOException("Invalid turn state.");
+    }
+
+    return new TurnState(new TileBag(bagTiles), gameboard, players, moves, currentPlayerIndex,
+        scorelessMoveCount, gameState, remainingTime);
+  }
+
+  /**
+   * Writes the specified player with the tiles of its rack.
+   * 
+   * @param out the specified output
+   * @param player the specified player
+   * @param table the tile table of the snapshot
+   * @throws IOException if the player can not be written
+   */
+  private static void writePlayer(DataOutput out, Player player, TileTable table)
+      throws IOException {
+    if (player instanceof ComputerPlayer) {
+      ComputerPlayer computerPlayer = (ComputerPlayer) player;
+      BinaryCoding.writeEnum(out, PlayerType.COM);
+      BinaryCoding.writeEnum(out, computerPlayer.getDifficulty());
+      BinaryCoding.writeVarLong(out, computerPlayer.getMinTurnTime());
+      BinaryCoding.writeVarLong(out, computerPlayer.getTimeBudget());
+    } else if (player instanceof HumanPlayer) {
+      BinaryCoding.writeEnum(out, PlayerType.MAN);
+    } else {
+      throw new IOException("The player " + player.getName() + " can not be written.");
+    }
+
+    BinaryCoding.writeString(out, player.getName());
+    out.writeInt(player.getScore());
+    Rack rack = player.getRack();
+    BinaryCoding.writeLength(out, rack.size());
+
+    for (int i = 0; i < rack.size(); i++) {
+      table.writeTile(out, rack.getTile(i));
+    }
+  }
+
+  /**
+   * Reads a player which was written by {@link #writePlayer(DataOutput, Player, TileTable)}.
+   * 
+   * @param in the specified input
+   * @param table the tile table of the snapshot
+   * @return the player which was read
+   * @throws IOException if the player can not be read or is not valid
+   */
+  private static Player readPlayer(DataInput in, TileTable table) throws IOException {
+    PlayerType playerType = BinaryCoding.readEnum(in, PlayerType.values());
+    Difficulty difficulty = null;
+    long minTurnTime = 0;
+    long timeBudget = 0;
+
+    if (playerType == PlayerType.COM) {
+      difficulty = BinaryCoding.readEnum(in, Difficulty.values());
+      minTurnTime = BinaryCoding.readVarLong(in);
+      timeBudget = BinaryCoding.readVarLong(in);
+    }
+
+    String name = BinaryCoding.readString(in);
+
+    if (playerType == null || name == null
+        || (playerType == PlayerType.COM && difficulty == null)) {
+      throw new IOException("Invalid player.");
+    }
+
+    Player player;
+
+    if (playerType == PlayerType.COM) {
+      ComputerPlayer computerPlayer = new ComputerPlayer(name, difficulty);
+      computerPlayer.setMinTurnTime(minTurnTime);
+      computerPlayer.setTimeBudget(timeBudget);
+      player = computerPlayer;
+    } else {
+      player = new HumanPlayer(name);
+    }
+
+    player.addScore(in.readInt());
+    int count = readCount(in, Rack.TILE_CAPACITY);
+
+    for (int i = 0; i < count; i++) {
+      player.getRack().addTile(table.readOwnedTile(in));
+    }
+
+    return player;
+  }
+
+  /**
+   * Writes the specified move.
+   * 
+   * @param out the specified output
+   * @param move the specified move
+   * @param table the tile table of the snapshot
+   * @throws IOException if the move can not be written
+   */
+  private static void writeMove(DataOutput out, Move move, TileTable table) throws IOException {
+    if (move instanceof PlayWord) {
+      BinaryCoding.writeEnum(out, MoveType.PLAY_WORD);
+    } else if (move instanceof ChangeTiles) {
+      BinaryCoding.writeEnum(out, MoveType.CHANGE_TILES);
+    } else if (move instanceof FinishGame) {
+      BinaryCoding.writeEnum(out, MoveType.FINISH_GAME);
+    } else if (move instanceof Pass) {
+      BinaryCoding.writeEnum(out, MoveType.PASS);
+    } else {
+      throw new IOException("The move " + move + " can not be written.");
+    }
+
+    BinaryCoding.writeString(out, move.getPlayer());
+    BinaryCoding.writeVarLong(out, move.getTime());
+
+    if (move instanceof PlayWord) {
+      PlayWord playWord = (PlayWord) move;
+      BinaryCoding.writeString(out, playWord.getWord());
+      BinaryCoding.writeString(out, playWord.getSquareId());
+      BinaryCoding.writeEnum(out, playWord.getDirection());
+      BinaryCoding.writeVarInt(out, playWord.getScore());
+    } else if (move instanceof ChangeTiles) {
+      Collection<Tile> tiles = ((ChangeTiles) move).getTiles();
+      BinaryCoding.writeLength(out, tiles.size());
+
+      for (Tile tile : tiles) {
+        table.writeTile(out, tile);
+      }
+    }
+  }
+
+  /**
+   * Reads a move which was written by {@link #writeMove(DataOutput, Move, TileTable)}.
+   * 
+   * @param in the specified input
+   * @param table the tile table of the snapshot
+   * @return the move which was read
+   * @throws IOException if the move can not be read or is not valid
+   */
+  private static Move readMove(DataInput in, TileTable table) throws IOException {
+    MoveType moveType = BinaryCoding.readEnum(in, MoveType.values());
+    String player = BinaryCoding.readString(in);
+    long time = BinaryCoding.readVarLong(in);
+
+    if (moveType == null) {
+      throw new IOException("Invalid move.");
+    }
+
+    switch (moveType) {
+      case PLAY_WORD:
+        String word = BinaryCoding.readString(in);
+        String squareId = BinaryCoding.readString(in);
+        Direction direction = BinaryCoding.readEnum(in, Direction.values());
+        return new PlayWord(player, time, word, squareId, direction, BinaryCoding.readVarInt(in));
+      case CHANGE_TILES:
+        int count = readCount(in, Rack.TILE_CAPACITY);
+        List<Tile> tiles = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+          tiles.add(table.readTile(in));
+        }
+
+        return new ChangeTiles(player, time, tiles);
+      case FINISH_GAME:
+        return new FinishGame(player, time);
+      default:
+        return new Pass(player, time);
+    }
+  }
+
+  /**
+   * Reads a count which is at most the specified maximum.
+   * 
+   * @param in the specified input
+   * @param max the specified maximum
+   * @return the count which was read
+   * @throws IOException if the count can not be read, is null or is larger than the maximum
+   */
+  private static int readCount(DataInput in, int max) throws IOException {
+    int count = BinaryCoding.readLength(in);
+
+    if (count < 0 || count > max) {
+      throw new IOException("Invalid count: " + count);
+    }
+
+    return count;
+  }
+
+  /**
+   * The TileTable class represents the tiles of a snapshot in the order of their ids. A tile is
+   * written as the index of its kind, which is its letter and score, and the ids are only written
+   * if they are not consecutive. Every other part of the snapshot refers to a tile by its index.
+   */
+  private static final class TileTable {
+
+    /**
+     * The tiles of the table by their id.
+     */
+    private final TreeMap<Integer, Tile> tilesById = new TreeMap<>();
+
+    /**
+     * The indices of the tiles by their id, which are known after the table was written.
+     */
+    private final Map<Integer, Integer> indices = new HashMap<>();
+
+    /**
+     * The tiles of the table by their index, which are known after the table was read.
+     */
+    private Tile[] tiles;
+
+    /**
+     * Whether the tile with the same index was already placed in the tile bag, on a rack or on the
+     * gameboard after the table was read.
+     */
+    private boolean[] owned;
+
+    /**
+     * Adds the specified tile to this table unless there already is a tile with the same id.
+     * 
+     * @param tile the specified tile
+     */
+    private void add(Tile tile) {
+      this.tilesById.putIfAbsent(tile.getTileId(), tile);
+    }
+
+    /**
+     * Returns the number of tiles of this table.
+     * 
+     * @return the number of tiles of this table
+     */
+    private int size() {
+      return (this.tiles == null ? this.tilesById.size() : this.tiles.length);
+    }
+
+    /**
+     * Writes the tiles of this table.
+     * 
+     * @param out the specified output
+     * @throws IOException if the tiles can not be written
+     */
+    private void write(DataOutput out) throws IOException {
+      List<Long> kinds = new ArrayList<>();
+      List<Integer> tileKinds = new ArrayList<>();
+      List<Integer> ids = new ArrayList<>(this.tilesById.keySet());
+
+      for (Tile tile : this.tilesById.values()) {
+        long kind = ((long) tile.getLetter() << Integer.SIZE) | (tile.getScore() & 0xFFFFFFFFL);
+        int index = kinds.indexOf(kind);
+
+        if (index < 0) {
+          index = kinds.size();
+          kinds.add(kind);
+        }
+
+        this.indices.put(tile.getTileId(), this.indices.size());
+        tileKinds.add(index);
+      }
+
+      BinaryCoding.writeLength(out, kinds.size());
+
+      for (long kind : kinds) {
+        BinaryCoding.writeVarInt(out, (int) (kind >>> Integer.SIZE));
+        BinaryCoding.writeVarInt(out, (int) kind);
+      }
+
+      boolean consecutive =
+          ids.isEmpty() || ids.get(ids.size() - 1) - ids.get(0) == ids.size() - 1;
+      BinaryCoding.writeLength(out, ids.size());
+      BinaryCoding.writeVarInt(out, (ids.isEmpty() ? 0 : ids.get(0)));
+      out.writeBoolean(consecutive);
+
+      for (int i = 1; i < ids.size() && !consecutive; i++) {
+        BinaryCoding.writeVarInt(out, ids.get(i) - ids.get(i - 1));
+      }
+
+      for (int kind : tileKinds) {
+        BinaryCoding.writeVarInt(out, kind);
+      }
+    }
+
+    /**
+     * Reads a tile table which was written by {@link #write(DataOutput)}.
+     * 
+     * @param in the specified input
+     * @return the tile table which was read
+     * @throws IOException if the tile table can not be read or is not valid
+     */
+    private static TileTable read(DataInput in) throws IOException {
+      int kindCount = readCount(in, BinaryCoding.MAX_LENGTH);
+      char[] letters = new char[kindCount];
+      int[] scores = new int[kindCount];
+
+      for (int i = 0; i < kindCount; i++) {
+        int letter = BinaryCoding.readVarInt(in);
+
+        if (letter > Character.MAX_VALUE) {
+          throw new IOException("Invalid letter: " + letter);
+        }
+
+        letters[i] = (char) letter;
+        scores[i] = BinaryCoding.readVarInt(in);
+      }
+
+      int count = readCount(in, BinaryCoding.MAX_LENGTH);
+      long id = BinaryCoding.readVarInt(in);
+      boolean consecutive = in.readBoolean();
+      int[] ids = new int[count];
+
+      for (int i = 0; i < count; i++) {
+        if (i > 0) {
+          id += (consecutive ? 1 : BinaryCoding.readVarInt(in));
+        }
+
+        if (id > Integer.MAX_VALUE || (i > 0 && id == ids[i - 1])) {
+          throw new IOException("Invalid tile id: " + id);
+        }
+
+        ids[i] = (int) id;
+      }
+
+      TileTable table = new TileTable();
+      table.tiles = new Tile[count];
+      table.owned = new boolean[count];
+
+      for (int i = 0; i < count; i++) {
+        int kind = BinaryCoding.readVarInt(in);
+
+        if (kind >= kindCount) {
+          throw new IOException("Invalid tile kind: " + kind);
+        }
+
+        table.tiles[i] = new Tile(ids[i], letters[kind], scores[kind]);
+      }
+
+      return table;
+    }
+
+    /**
+     * Writes the index of the specified tile, which was added to this table before.
+     * 
+     * @param out the specified output
+     * @param tile the specified tile
+     * @throws IOException if the index can not be written
+     */
+    private void writeTile(DataOutput out, Tile tile) throws IOException {
+      BinaryCoding.writeVarInt(out, this.indices.get(tile.getTileId()));
+    }
+
+    /**
+     * Reads the index of a tile and returns the tile.
+     * 
+     * @param in the specified input
+     * @return the tile which was read
+     * @throws IOException if the index can not be read or is not valid
+     */
+    private Tile readTile(DataInput in) throws IOException {
+      int index = BinaryCoding.readVarInt(in);
+
+      if (index >= this.tiles.length) {
+        throw new IOException("Invalid tile index: " + index);
+      }
+
+      return this.tiles[index];
+    }
+
+    /**
+     * Reads the index of a tile which is placed in the tile bag, on a rack or on the gameboard and
+     * returns the tile. Each tile can only be placed once.
+     * 
+     * @param in the specified input
+     * @return the tile which was read
+     * @throws IOException if the index can not be read, is not valid or the tile is already placed
+     */
+    private Tile readOwnedTile(DataInput in) throws IOException {
+      int index = BinaryCoding.readVarInt(in);
+
+      if (index >= this.tiles.length || this.owned[index]) {
+        throw new IOException("Invalid tile index: " + index);
+      }
+
+      this.owned[index] = true;
+      return this.tiles[index];
+    }
+
+  }
+
+}
@@ -1,6 +1,9 @@
 package main.model;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * The Gameboard class represents a gameboard.
@@ -49,39 +52,109 @@ public class Gameboard implements Serializable {
       "A4,A12,C7,C9,D1,D8,D15,G3,G7,G9,G13,H4,H12,I3,I7,I9,I13,L1,L8,L15,M7,M9,O4,O12";
 
   /**
-   * The squares of the gameboard.
+   * A constant for the mask of the cross checks which allows every letter.
    */
-  private final Square[][] squares;
+  static final int ALL_LETTERS = (1 << WordGraph.LETTER_COUNT) - 1;
 
   /**
-   * Constructs an empty gameboard.
+   * A constant for the number of squares.
    */
-  Gameboard() {
-    this.squares = new Square[ROWS][COLS];
+  static final int SQUARE_COUNT = ROWS * COLS;
 
-    for (String squareId : SQUARE_IDS_TWS.split(",")) {
-      this.setSquareAt(squareId, SquareType.TWS);
-    }
+  /**
+   * A constant for the letter of an empty square.
+   */
+  private static final byte EMPTY = 0;
 
-    for (String squareId : SQUARE_IDS_TLS.split(",")) {
-      this.setSquareAt(squareId, SquareType.TLS);
-    }
+  /**
+   * The interned square ids of all squares, indexed by row * COLS + col.
+   */
+  private static final String[] SQUARE_IDS = createSquareIds();
 
-    for (String squareId : SQUARE_IDS_DWS.split(",")) {
-      this.setSquareAt(squareId, SquareType.DWS);
-    }
+  /**
+   * The indices of all squares by their square id.
+   */
+  private static final Map<String, Integer> SQUARE_INDICES = createSquareIndices();
 
-    for (String squareId : SQUARE_IDS_DLS.split(",")) {
-      this.setSquareAt(squareId, SquareType.DLS);
-    }
+  /**
+   * A constant for the index of the center square.
+   */
+  static final int CENTER_SQUARE = squareIdToIndex(CENTER_SQUARE_ID);
 
-    for (int row = 0; row < ROWS; row++) {
-      for (int col = 0; col < COLS; col++) {
-        if (this.squares[row][col] == null) {
-          this.setSquareAt(row, col, SquareType.STD);
-        }
-      }
-    }
+  /**
+   * The square types in the order of their ordinals.
+   */
+  private static final SquareType[] SQUARE_TYPE_VALUES = SquareType.values();
+
+  /**
+   * The ordinals of the square types of all squares, indexed by row * COLS + col.
+   */
+  private static final byte[] SQUARE_TYPES = createSquareTypes();
+
+  /**
+   * The letters of the tiles on the squares, indexed by row * COLS + col. The letter of an empty
+   * square is 0.
+   */
+  private final byte[] letters;
+
+  /**
+   * The tiles on the squares, indexed by row * COLS + col.
+   */
+  private final Tile[] tiles;
+
+  /**
+   * The occupancy mask of the squares. The bit i % 64 of the element i / 64 is set when the square
+   * with the index i is not empty.
+   */
+  private final long[] occupancy;
+
+  /**
+   * The occupancy mask of each row. The bit col is set when the square in this column is not
+   * empty.
+   */
+  private final int[] rowMasks;
+
+  /**
+   * The occupancy mask of each column. The bit row is set when the square in this row is not
+   * empty.
+   */
+  private final int[] colMasks;
+
+  /**
+   * The number of tiles on the gameboard.
+   */
+  private int tileCount;
+
+  /**
+   * The views of the squares of the gameboard.
+   */
+  private final Square[] squares;
+
+  /**
+   * The masks of the letters which are allowed on each square for a word in horizontal direction.
+   */
+  private transient int[] horizontalCrossChecks;
+
+  /**
+   * The masks of the letters which are allowed on each square for a word in vertical direction.
+   */
+  private transient int[] verticalCrossChecks;
+
+  /**
+   * The word graph for which the cross checks were computed.
+   */
+  private transient WordGraph crossCheckWordGraph;
+
+  /**
+   * Constructs an empty gameboard.
+   */
+  Gameboard() {
+    this.letters = new byte[SQUARE_COUNT];
+    this.tiles = new Tile[SQUARE_COUNT];
+    this.occupancy = new long[(SQUARE_COUNT + Long.SIZE - 1) / Long.SIZE];
+    this.rowMasks = new int[ROWS];
+    this.colMasks = new int[COLS];
+    this.squares = this.createSquares();
   }
 
   /**
@@ -90,40 +163,45 @@ public class Gameboard implements Serializable {
    * @param original the specified gameboard
    */
   Gameboard(Gameboard original) {
-    this.squares = new Square[ROWS][COLS];
+    this.letters = original.letters.clone();
+    this.tiles = new Tile[SQUARE_COUNT];
 
-    for (int row = 0; row < ROWS; row++) {
-      for (int col = 0; col < COLS; col++) {
-        this.squares[row][col] = new Square(original.squares[row][col]);
+    for (int square = 0; square < SQUARE_COUNT; square++) {
+      if (original.tiles[square] != null) {
+        this.tiles[square] = new Tile(original.tiles[square]);
       }
     }
-  }
 
-  /**
-   * Sets the square of this gameboard at the specified row and the specified column with a new
-   * square with the specified square type.
-   * 
-   * @param row the specified row
-   * @param col the specified column
-   * @param squareType the specified square type
-   */
-  private void setSquareAt(int row, int col, SquareType squareType) {
-    this.squares[row][col] = new Square(squareType);
+    this.occupancy = original.occupancy.clone();
+    this.rowMasks = original.rowMasks.clone();
+    this.colMasks = original.colMasks.clone();
+    this.tileCount = original.tileCount;
+    this.squares = this.createSquares();
+
+    synchronized (original) {
+      if (original.crossCheckWordGraph != null) {
+        this.horizontalCrossChecks = original.horizontalCrossChecks.clone();
+        this.verticalCrossChecks = original.verticalCrossChecks.clone();
+        this.crossCheckWordGraph = original.crossCheckWordGraph;
+      }
+    }
   }
 
   /**
-   * Sets the square of this gameboard at the specified square id with a new square with the
-   * specified square type.
+   * Returns the views of all squares of this gameboard.
    * 
-   * @param squareId the specified square id
-   * @param squareType the specified square type
+   * @return the views of all squares of this gameboard
    */
-  private void setSquareAt(String squareId, SquareType squareType) {
-    int row = squareIdToRow(squareId);
-    int col = squareIdToCol(squareId);
+  private Square[] createSquares() {
+    Square[] squares = new Square[SQUARE_COUNT];
 
-    this.squares[row][col] = new Square(squareType);
-    this.setSquareAt(row, col, squareType);
+    for (int row = 0; row < ROWS; row++) {
+      for (int col = 0; col < COLS; col++) {
+        squares[row * COLS + col] = new Square(this, row, col);
+      }
+    }
+
+    return squares;
   }
 
   /**
@@ -134,7 +212,7 @@ public class Gameboard implements Serializable {
    * @return the square at the specified row and the specified column
    */
   public Square getSquareAt(int row, int col) {
-    return this.squares[row][col];
+    return this.squares[row * COLS + col];
   }
 
   /**
@@ -156,15 +234,332 @@ public class Gameboard implements Serializable {
    * @return true if the gameboard is empty
    */
   public boolean isEmpty() {
+    return this.tileCount == 0;
+  }
+
+  /**
+   * Returns the number of tiles on this gameboard.
+   * 
+   * @return the number of tiles on this gameboard
+   */
+  public int getTileCount() {
+    return this.tileCount;
+  }
+
+  /**
+   * Returns true if the square at the specified row and the specified column is not empty.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @return true if the square is not empty
+   */
+  public boolean isOccupied(int row, int col) {
+    int square = row * COLS + col;
+    return (this.occupancy[square >>> 6] & (1L << square)) != 0;
+  }
+
+  /**
+   * Returns the letter of the tile at the specified row and the specified column or 0 if the
+   * square is empty.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @return the letter of the tile or 0 if the square is empty
+   */
+  public char getLetterAt(int row, int col) {
+    return (char) (this.letters[row * COLS + col] & 0xFF);
+  }
+
+  /**
+   * Returns the tile at the specified row and the specified column or null if the square is empty.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @return the tile or null if the square is empty
+   */
+  public Tile getTileAt(int row, int col) {
+    return this.tiles[row * COLS + col];
+  }
+
+  /**
+   * Returns the occupancy mask of the specified row. The bit col is set when the square in this
+   * column is not empty.
+   * 
+   * @param row the specified row
+   * @return the occupancy mask of the specified row
+   */
+  public int getRowMask(int row) {
+    return this.rowMasks[row];
+  }
+
+  /**
+   * Returns the occupancy mask of the specified column. The bit row is set when the square in this
+   * row is not empty.
+   * 
+   * @param col the specified column
+   * @return the occupancy mask of the specified column
+   */
+  public int getColMask(int col) {
+    return this.colMasks[col];
+  }
+
+  /**
+   * Places the specified tile on the square at the specified row and the specified column or
+   * removes the tile of the square if the specified tile is null.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @param tile the specified tile or null
+   */
+  void setTileAt(int row, int col, Tile tile) {
+    int square = row * COLS + col;
+    boolean occupied = this.isOccupied(row, col);
+    this.tiles[square] = tile;
+    this.letters[square] = (tile == null ? EMPTY : (byte) tile.getLetter());
+
+    if (occupied != (tile != null)) {
+      this.occupancy[square >>> 6] ^= 1L << square;
+      this.rowMasks[row] ^= 1 << col;
+      this.colMasks[col] ^= 1 << row;
+      this.tileCount += (tile == null ? -1 : 1);
+    }
+  }
+
+  /**
+   * Returns the square type of the square at the specified row and the specified column.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @return the square type of the square
+   */
+  public static SquareType getSquareType(int row, int col) {
+    return SQUARE_TYPE_VALUES[SQUARE_TYPES[row * COLS + col]];
+  }
+
+  /**
+   * Returns the square ids of all squares.
+   * 
+   * @return the square ids of all squares
+   */
+  private static String[] createSquareIds() {
+    String[] squareIds = new String[SQUARE_COUNT];
+
     for (int row = 0; row < ROWS; row++) {
       for (int col = 0; col < COLS; col++) {
-        if (!this.squares[row][col].isEmpty()) {
-          return false;
+        squareIds[row * COLS + col] =
+            (Character.toString((char) ('A' + col)) + Integer.toString(row + 1)).intern();
+      }
+    }
+
+    return squareIds;
+  }
+
+  /**
+   * Returns the indices of all squares by their square id.
+   * 
+   * @return the indices of all squares by their square id
+   */
+  private static Map<String, Integer> createSquareIndices() {
+    Map<String, Integer> squareIndices = new HashMap<>();
+
+    for (int square = 0; square < SQUARE_COUNT; square++) {
+      squareIndices.put(SQUARE_IDS[square], square);
+    }
+
+    return squareIndices;
+  }
+
+  /**
+   * Returns the ordinals of the square types of all squares.
+   * 
+   * @return the ordinals of the square types of all squares
+   */
+  private static byte[] createSquareTypes() {
+    byte[] squareTypes = new byte[SQUARE_COUNT];
+    Arrays.fill(squareTypes, (byte) SquareType.STD.ordinal());
+    setSquareTypes(squareTypes, SQUARE_IDS_TWS.split(","), SquareType.TWS);
+    setSquareTypes(squareTypes, SQUARE_IDS_TLS.split(","), SquareType.TLS);
+    setSquareTypes(squareTypes, SQUARE_IDS_DWS.split(","), SquareType.DWS);
+    setSquareTypes(squareTypes, SQUARE_IDS_DLS.split(","), SquareType.DLS);
+    return squareTypes;
+  }
+
+  /**
+   * Sets the square types of the squares with the specified square ids to the specified square
+   * type.
+   * 
+   * @param squareTypes the ordinals of the square types of all squares
+   * @param squareIds the specified square ids
+   * @param squareType the specified square type
+   */
+  private static void setSquareTypes(byte[] squareTypes, String[] squareIds,
+      SquareType squareType) {
+    for (String squareId : squareIds) {
+      squareTypes[squareIdToIndex(squareId)] = (byte) squareType.ordinal();
+    }
+  }
+
+  /**
+   * Returns the masks of the letters which are allowed on each square for a word in the specified
+   * direction. The bit i of the mask at the index row * COLS + col is set when the letter 'A' + i
+   * forms a word of the specified word graph with the tiles which are above and below (for a word
+   * in horizontal direction) or left and right (for a word in vertical direction) of the square.
+   * The masks of squares which are not empty are undefined.
+   * 
+   * @param wordGraph the specified word graph
+   * @param direction the specified direction
+   * @return the masks of the letters which are allowed on each square
+   */
+  synchronized int[] getCrossChecks(WordGraph wordGraph, Direction direction) {
+    if (this.crossCheckWordGraph != wordGraph) {
+      this.initCrossChecks(wordGraph);
+    }
+
+    return (direction == Direction.HORIZONTAL ? this.horizontalCrossChecks
+        : this.verticalCrossChecks);
+  }
+
+  /**
+   * Updates the cross checks of the squares which are affected by the tile at the specified row and
+   * the specified column. These are the squares at both ends of the horizontal and the vertical
+   * sequence of tiles which contains the tile. Nothing is done when the cross checks were not
+   * computed for the specified word graph.
+   * 
+   * @param wordGraph the specified word graph
+   * @param row the specified row
+   * @param col the specified column
+   */
+  synchronized void updateCrossChecks(WordGraph wordGraph, int row, int col) {
+    if (this.crossCheckWordGraph != wordGraph) {
+      return;
+    }
+
+    int top = row;
+    int bottom = row;
+
+    while (top > 0 && this.isOccupied(top - 1, col)) {
+      top--;
+    }
+
+    while (bottom < ROWS - 1 && this.isOccupied(bottom + 1, col)) {
+      bottom++;
+    }
+
+    if (top > 0) {
+      this.horizontalCrossChecks[(top - 1) * COLS + col] =
+          this.computeCrossCheck(wordGraph, top - 1, col, Direction.HORIZONTAL);
+    }
+
+    if (bottom < ROWS - 1) {
+      this.horizontalCrossChecks[(bottom + 1) * COLS + col] =
+          this.computeCrossCheck(wordGraph, bottom + 1, col, Direction.HORIZONTAL);
+    }
+
+    int left = col;
+    int right = col;
+
+    while (left > 0 && this.isOccupied(row, left - 1)) {
+      left--;
+    }
+
+    while (right < COLS - 1 && this.isOccupied(row, right + 1)) {
+      right++;
+    }
+
+    if (left > 0) {
+      this.verticalCrossChecks[row * COLS + left - 1] =
+          this.computeCrossCheck(wordGraph, row, left - 1, Direction.VERTICAL);
+    }
+
+    if (right < COLS - 1) {
+      this.verticalCrossChecks[row * COLS + right + 1] =
+          this.computeCrossCheck(wordGraph, row, right + 1, Direction.VERTICAL);
+    }
+  }
+
+  /**
+   * Computes the cross checks of all empty squares for the specified word graph.
+   * 
+   * @param wordGraph the specified word graph
+   */
+  private void initCrossChecks(WordGraph wordGraph) {
+    this.horizontalCrossChecks = new int[ROWS * COLS];
+    this.verticalCrossChecks = new int[ROWS * COLS];
+    this.crossCheckWordGraph = wordGraph;
+
+    for (int row = 0; row < ROWS; row++) {
+      for (int col = 0; col < COLS; col++) {
+        if (!this.isOccupied(row, col)) {
+          this.horizontalCrossChecks[row * COLS + col] =
+              this.computeCrossCheck(wordGraph, row, col, Direction.HORIZONTAL);
+          this.verticalCrossChecks[row * COLS + col] =
+              this.computeCrossCheck(wordGraph, row, col, Direction.VERTICAL);
         }
       }
     }
+  }
+
+  /**
+   * Returns the mask of the letters which are allowed on the empty square at the specified row and
+   * the specified column for a word in the specified direction.
+   * 
+   * @param wordGraph the specified word graph
+   * @param row the specified row
+   * @param col the specified column
+   * @param direction the specified direction
+   * @return the mask of the letters which are allowed on the square
+   */
+  private int computeCrossCheck(WordGraph wordGraph, int row, int col, Direction direction) {
+    int rowStep = (direction == Direction.HORIZONTAL ? 1 : 0);
+    int colStep = (direction == Direction.HORIZONTAL ? 0 : 1);
+
+    int startRow = row;
+    int startCol = col;
+
+    while (startRow - rowStep >= 0 && startCol - colStep >= 0
+        && this.isOccupied(startRow - rowStep, startCol - colStep)) {
+      startRow -= rowStep;
+      startCol -= colStep;
+    }
+
+    boolean before = (startRow != row || startCol != col);
+    boolean after = (row + rowStep < ROWS && col + colStep < COLS
+        && this.isOccupied(row + rowStep, col + colStep));
+
+    if (!before && !after) {
+      return ALL_LETTERS;
+    }
+
+    int node = wordGraph.getRoot();
+
+    for (int r = startRow, c = startCol; (r != row || c != col) && node != WordGraph.NONE;
+        r += rowStep, c += colStep) {
+      node = wordGraph.getChild(node, this.getLetterAt(r, c));
+    }
+
+    if (node == WordGraph.NONE) {
+      return 0;
+    }
+
+    int mask = 0;
+
+    for (int edge = wordGraph.getFirstEdge(node); edge < wordGraph.getEndEdge(node); edge++) {
+      int child = wordGraph.getEdgeTarget(edge);
+      int r = row + rowStep;
+      int c = col + colStep;
+
+      while (r < ROWS && c < COLS && this.isOccupied(r, c) && child != WordGraph.NONE) {
+        child = wordGraph.getChild(child, this.getLetterAt(r, c));
+        r += rowStep;
+        c += colStep;
+      }
+
+      if (child != WordGraph.NONE && wordGraph.isWord(child)) {
+        mask |= 1 << (wordGraph.getEdgeLetter(edge) - 'A');
+      }
+    }
 
-    return true;
+    return mask;
   }
 
   /**
@@ -174,7 +569,19 @@ public class Gameboard implements Serializable {
    * @return true when the specified square id is a valid square id
    */
   public static boolean isSquareIdValid(String squareId) {
-    return squareId.matches("[A-O]([1-9]|1[0-5])");
+    return SQUARE_INDICES.containsKey(squareId);
+  }
+
+  /**
+   * Returns the index row * COLS + col of the square with the specified square id or -1 if the
+   * square id is not valid.
+   * 
+   * @param squareId the specified square id
+   * @return the index of the square with the specified square id or -1
+   */
+  public static int squareIdToIndex(String squareId) {
+    Integer square = SQUARE_INDICES.get(squareId);
+    return (square == null ? -1 : square);
   }
 
   /**
@@ -185,6 +592,10 @@ public class Gameboard implements Serializable {
    * @return the square id of the specified row and the specified column
    */
   public static String computeSquareId(int row, int col) {
+    if (row >= 0 && row < ROWS && col >= 0 && col < COLS) {
+      return SQUARE_IDS[row * COLS + col];
+    }
+
     return Character.toString((char) ('A' + col)) + Integer.toString(row + 1);
   }
 
@@ -195,7 +606,8 @@ public class Gameboard implements Serializable {
    * @return the row of the specified square id
    */
   public static int squareIdToRow(String squareId) {
-    return Integer.parseInt(squareId.substring(1)) - 1;
+    int square = squareIdToIndex(squareId);
+    return (square < 0 ? Integer.parseInt(squareId.substring(1)) - 1 : square / COLS);
   }
 
   /**
@@ -205,7 +617,8 @@ public class Gameboard implements Serializable {
    * @return the column of the specified square id
    */
   public static int squareIdToCol(String squareId) {
-    return squareId.charAt(0) - 'A';
+    int square = squareIdToIndex(squareId);
+    return (square < 0 ? squareId.charAt(0) - 'A' : square % COLS);
   }
 
 }
@@ -0,0 +1,251 @@
+package main.model;
+
+/**
+ * The LeaveTable class contains the values of all rack leaves. A rack leave is the multiset of the
+ * tiles which stay on the rack after a move. Its value estimates how much the tiles are worth for
+ * the following moves, so a computer player can prefer a move which keeps good tiles over a move
+ * with a slightly higher score. The table is indexed by the multiset of up to seven of the 26
+ * letters and the joker and is computed when it is used for the first time.
+ * 
+ * @author sekeller
+ */
+final class LeaveTable {
+
+  /**
+   * A constant for the number of symbols of a leave, which are the letters and the joker.
+   */
+  static final int SYMBOL_COUNT = WordGraph.LETTER_COUNT + 1;
+
+  /**
+   * A constant for the index of the joker in the counts of a leave.
+   */
+  static final int JOKER = WordGraph.LETTER_COUNT;
+
+  /**
+   * A constant for the maximum number of tiles of a leave.
+   */
+  static final int MAX_SIZE = Rack.TILE_CAPACITY;
+
+  /**
+   * A constant for the factor between the values of the table and points. The values are stored in
+   * tenths of a point.
+   */
+  static final int SCALE = 10;
+
+  /**
+   * The value of a single tile of each symbol in tenths of a point.
+   */
+  private static final int[] TILE_VALUES = {
+      // A, B, C, D, E, F, G, H, I, J, K, L, M
+      10, -20, 9, 5, 35, -22, -28, 11, -5, -15, -10, -2, 6,
+      // N, O, P, Q, R, S, T, U, V, W, X, Y, Z
+      2, -25, -5, -70, 11, 80, -1, -51, -55, -40, 33, -6, 51,
+      // *
+      256};
+
+  /**
+   * The penalty for each duplicate of a consonant in tenths of a point.
+   */
+  private static final int CONSONANT_DUPLICATE_PENALTY = 30;
+
+  /**
+   * The penalty for each duplicate of a vowel in tenths of a point.
+   */
+  private static final int VOWEL_DUPLICATE_PENALTY = 45;
+
+  /**
+   * The penalty for each vowel or consonant which unbalances a leave in tenths of a point.
+   */
+  private static final int BALANCE_PENALTY = 20;
+
+  /**
+   * The bonus for a Q together with a U in tenths of a point.
+   */
+  private static final int QU_BONUS = 50;
+
+  /**
+   * The binomial coefficients up to the size of the table.
+   */
+  private static final int[][] BINOMIALS = createBinomials();
+
+  /**
+   * The index of the first leave of each size.
+   */
+  private static final int[] OFFSETS = createOffsets();
+
+  /**
+   * Constructs a leave table. This class is not meant to be instantiated.
+   */
+  private LeaveTable() {}
+
+  /**
+   * Returns the value of the leave with the specified counts of each symbol in tenths of a point.
+   * 
+   * @param counts the specified counts of each letter and the joker
+   * @return the value of the leave in tenths of a point
+   */
+  static int getValue(int[] counts) {
+    return Values.TABLE[index(counts)];
+  }
+
+  /**
+   * Returns the index of the leave with the specified counts of each symbol. The sorted symbols
+   * s(0) <= ... <= s(k-1) of a leave with k tiles are mapped to the strictly increasing numbers
+   * s(i) + i, whose rank in colexicographic order is the sum of the binomial coefficients
+   * (s(i) + i over i + 1).
+   * 
+   * @param counts the specified counts of each letter and the joker
+   * @return the index of the leave
+   */
+  static int index(int[] counts) {
+    int rank = 0;
+    int size = 0;
+
+    for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+      for (int i = 0; i < counts[symbol]; i++) {
+        rank += BINOMIALS[symbol + size][size + 1];
+        size++;
+      }
+    }
+
+    return OFFSETS[size] + rank;
+  }
+
+  /**
+   * Returns the binomial coefficients up to the size of the table.
+   * 
+   * @return the binomial coefficients up to the size of the table
+   */
+  private static int[][] createBinomials() {
+    int[][] binomials = new int[SYMBOL_COUNT + MAX_SIZE][MAX_SIZE + 2];
+
+    for (int n = 0; n < binomials.length; n++) {
+      binomials[n][0] = 1;
+
+      for (int k = 1; k < binomials[n].length && k <= n; k++) {
+        binomials[n][k] = binomials[n - 1][k - 1] + (k < n ? binomials[n - 1][k] : 0);
+      }
+    }
+
+    return binomials;
+  }
+
+  /**
+   * Returns the index of the first leave of each size and the size of the table at the end.
+   * 
+   * @return the index of the first leave of each size
+   */
+  private static int[] createOffsets() {
+    int[] offsets = new int[MAX_SIZE + 2];
+
+    for (int size = 0; size <= MAX_SIZE; size++) {
+      offsets[size + 1] = offsets[size] + BINOMIALS[SYMBOL_COUNT - 1 + size][size];
+    }
+
+    return offsets;
+  }
+
+  /**
+   * Returns the values of all leaves.
+   * 
+   * @return the values of all leaves
+   */
+  private static short[] createTable() {
+    short[] table = new short[OFFSETS[MAX_SIZE + 1]];
+    fill(table, new int[SYMBOL_COUNT], 0, 0, 0);
+    return table;
+  }
+
+  /**
+   * Stores the values of all leaves which extend the specified counts with symbols from the
+   * specified symbol on. The rank of the extended leaves is updated like in {@link #index(int[])}.
+   * 
+   * @param table the table of the values
+   * @param counts the specified counts
+   * @param size the number of tiles of the specified counts
+   * @param rank the rank of the specified counts among the leaves of their size
+   * @param symbol the specified symbol
+   */
+  private static void fill(short[] table, int[] counts, int size, int rank, int symbol) {
+    table[OFFSETS[size] + rank] = (short) evaluate(counts);
+
+    if (size == MAX_SIZE) {
+      return;
+    }
+
+    for (int next = symbol; next < SYMBOL_COUNT; next++) {
+      counts[next]++;
+      fill(table, counts, size + 1, rank + BINOMIALS[next + size][size + 1], next);
+      counts[next]--;
+    }
+  }
+
+  /**
+   * Returns the value of the leave with the specified counts in tenths of a point. The value is the
+   * sum of the values of the single tiles with penalties for duplicates and for leaves with too
+   * many vowels or too many consonants.
+   * 
+   * @param counts the specified counts of each letter and the joker
+   * @return the value of the leave in tenths of a point
+   */
+  private static int evaluate(int[] counts) {
+    int value = 0;
+    int vowels = 0;
+    int consonants = 0;
+
+    for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+      int count = counts[symbol];
+
+      if (count == 0) {
+        continue;
+      }
+
+      value += count * TILE_VALUES[symbol];
+
+      if (symbol == JOKER) {
+        continue;
+      }
+
+      if (isVowel(symbol)) {
+        vowels += count;
+        value -= (count - 1) * VOWEL_DUPLICATE_PENALTY;
+      } else {
+        consonants += count;
+        value -= (count - 1) * CONSONANT_DUPLICATE_PENALTY;
+      }
+    }
+
+    value -= Math.max(0, Math.abs(vowels - consonants) - 1) * BALANCE_PENALTY;
+
+    if (counts['Q' - 'A'] > 0 && counts['U' - 'A'] > 0) {
+      value += QU_BONUS;
+    }
+
+    return value;
+  }
+
+  /**
+   * Returns true if the specified symbol is a vowel.
+   * 
+   * @param symbol the specified symbol
+   * @return true if the specified symbol is a vowel
+   */
+  private static boolean isVowel(int symbol) {
+    char letter = (char) ('A' + symbol);
+    return letter == 'A' || letter == 'E' || letter == 'I' || letter == 'O' || letter == 'U';
+  }
+
+  /**
+   * The Values class holds the values of all leaves, so they are only computed when a value is
+   * requested for the first time.
+   */
+  private static class Values {
+
+    /**
+     * The values of all leaves in tenths of a point.
+     */
+    private static final short[] TABLE = createTable();
+
+  }
+
+}
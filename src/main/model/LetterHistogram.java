@@ -1,19 +1,23 @@
 package main.model;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
- * The LetterHistogram class represents a letter histogram.
+ * The LetterHistogram class represents a letter histogram. The counts of the letters 'A' to 'Z'
+ * and the joker '*' are stored in a fixed array, so a histogram can be cleared and refilled in
+ * place and reused for many words without allocating any objects.
  * 
  * @author sekeller
  */
 class LetterHistogram {
 
   /**
-   * The entries of the histogram.
+   * The counts of the histogram. The letters are 0 to 25 and the joker is {@link LeaveTable#JOKER}.
    */
-  private Map<Character, Integer> entries;
+  private final int[] counts = new int[LeaveTable.SYMBOL_COUNT];
+
+  /**
+   * Constructs an empty letter histogram.
+   */
+  public LetterHistogram() {}
 
   /**
    * Constructs a letter histogram for the specified letters.
@@ -21,14 +25,8 @@ class LetterHistogram {
    * @param letters the specified letters
    */
   public LetterHistogram(String letters) {
-    this.entries = new HashMap<>();
-
-    for (char letter : letters.toCharArray()) {
-      if (this.entries.containsKey(letter)) {
-        this.entries.put(letter, this.entries.get(letter) + 1);
-      } else {
-        this.entries.put(letter, 1);
-      }
+    for (int i = 0; i < letters.length(); i++) {
+      this.add(letters.charAt(i));
     }
   }
 
@@ -39,36 +37,92 @@ class LetterHistogram {
    * @return the count of the specified letter
    */
   public int getCount(char letter) {
-    if (this.entries.containsKey(letter)) {
-      return this.entries.get(letter);
-    } else {
-      return 0;
+    int index = indexOf(letter);
+    return (index < 0 ? 0 : this.counts[index]);
+  }
+
+  /**
+   * Adds the specified letter to this letter histogram.
+   * 
+   * @param letter the specified letter, which is a letter from 'A' to 'Z' or the joker '*'
+   * @throws IllegalArgumentException if the specified letter is no such letter
+   */
+  public void add(char letter) {
+    this.counts[checkedIndexOf(letter)]++;
+  }
+
+  /**
+   * Removes the specified letter from this letter histogram.
+   * 
+   * @param letter the specified letter, which is a letter from 'A' to 'Z' or the joker '*'
+   * @throws IllegalArgumentException if the specified letter is no such letter
+   */
+  public void remove(char letter) {
+    this.counts[checkedIndexOf(letter)]--;
+  }
+
+  /**
+   * Removes all letters from this letter histogram.
+   */
+  public void clear() {
+    for (int i = 0; i < this.counts.length; i++) {
+      this.counts[i] = 0;
     }
   }
 
   /**
    * Returns true if the count of each letter of this letter histogram is less or equal than the
-   * count of the specified letter histogram.
+   * count of the specified letter histogram. The jokers of the specified letter histogram make up
+   * for the missing letters.
    * 
    * @param other the specified letter histogram
    * @return true if the count of each letter of this letter histogram is less or equal than the
    *         count of the specified letter histogram
    */
   public boolean isLessOrEqualTo(LetterHistogram other) {
-    int joker = other.getCount('*');
-    for (char letter : this.entries.keySet()) {
-      int diff = this.getCount(letter) - other.getCount(letter);
+    int[] counts = this.counts;
+    int[] otherCounts = other.counts;
+    int missing = 0;
+
+    // without branches, so the loop can be vectorized
+    for (int i = 0; i < counts.length; i++) {
+      missing += Math.max(0, counts[i] - otherCounts[i]);
+    }
+
+    return missing <= otherCounts[LeaveTable.JOKER];
+  }
 
-      if (diff > 0) {
-        joker = joker - diff;
-      }
+  /**
+   * Returns the index of the specified letter in the counts or -1 if the letter is neither a
+   * letter from 'A' to 'Z' nor the joker '*'.
+   * 
+   * @param letter the specified letter
+   * @return the index of the specified letter or -1
+   */
+  private static int indexOf(char letter) {
+    if (letter == '*') {
+      return LeaveTable.JOKER;
+    }
+
+    return (letter >= 'A' && letter <= 'Z' ? letter - 'A' : -1);
+  }
+
+  /**
+   * Returns the index of the specified letter in the counts.
+   * 
+   * @param letter the specified letter
+   * @return the index of the specified letter
+   * @throws IllegalArgumentException if the letter is neither a letter from 'A' to 'Z' nor the
+   *         joker '*'
+   */
+  private static int checkedIndexOf(char letter) {
+    int index = indexOf(letter);
 
-      if (joker < 0) {
-        return false;
-      }
+    if (index < 0) {
+      throw new IllegalArgumentException("The letter is not supported: " + letter);
     }
 
-    return true;
+    return index;
   }
 
 }
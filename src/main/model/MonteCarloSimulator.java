@@ -0,0 +1,335 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The MonteCarloSimulator class chooses a placement for the current player by simulation. The
+ * candidates with the highest score plus leave value are played out many times: each playout draws
+ * the refill of the current player and a rack for the next player from the tiles which the current
+ * player has not seen, which are the tiles in the tile bag and on the racks of the other players.
+ * The next player answers with the placement with the highest score. The candidate with the highest
+ * average equity, which is its score plus its leave value minus the score of the answer, is chosen.
+ * 
+ * <p>
+ * The gameboard after each candidate is stored in primitive arrays and searched with a
+ * {@link MoveGenerator} which only computes the highest score, so the playouts do not allocate any
+ * objects. The playouts are spread across the threads of a pool and stop at a deadline.
+ * </p>
+ * 
+ * @author sekeller
+ */
+final class MonteCarloSimulator {
+
+  /**
+   * A constant for the number of candidates which are played out.
+   */
+  static final int CANDIDATE_COUNT = 10;
+
+  /**
+   * A constant for the maximum number of playouts of each candidate.
+   */
+  static final int MAX_PLAYOUT_COUNT = 1_000;
+
+  /**
+   * A constant for the letter of an empty square.
+   */
+  private static final char EMPTY = 0;
+
+  /**
+   * The candidates which are played out, sorted by their score plus leave value.
+   */
+  private final Placement[] candidates;
+
+  /**
+   * The move generators for the gameboard after each candidate.
+   */
+  private final MoveGenerator[] generators;
+
+  /**
+   * The symbols of the tiles which the current player has not seen. The letters are 0 to 25 and
+   * the joker is {@link LeaveTable#JOKER}.
+   */
+  private final int[] unseen;
+
+  /**
+   * The score of each letter for the next player.
+   */
+  private final int[] letterScores;
+
+  /**
+   * The number of tiles which the current player draws after each candidate.
+   */
+  private final int[] drawCounts;
+
+  /**
+   * The number of tiles of the rack of the next player.
+   */
+  private final int rackSize;
+
+  /**
+   * Constructs a simulator for the current player of the specified game which plays out the best
+   * of the specified placements. The placements must have leave values.
+   * 
+   * @param game the specified game
+   * @param placements the specified placements
+   */
+  MonteCarloSimulator(Scrabble game, List<Placement> placements) {
+    List<Placement> sorted = new ArrayList<>(placements);
+    sorted.sort(Comparator.comparingInt(Placement::getEquity).reversed());
+    this.candidates =
+        sorted.subList(0, Math.min(CANDIDATE_COUNT, sorted.size())).toArray(new Placement[0]);
+
+    WordGraph wordGraph = game.getDictionary().getWordGraph();
+    Rack rack = game.getCurrentPlayer().getRack();
+    int squareCount = Gameboard.ROWS * Gameboard.COLS;
+    char[] letters = new char[squareCount];
+    int[] tileScores = new int[squareCount];
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        Square square = game.getGameboard().getSquareAt(row, col);
+
+        if (!square.isEmpty()) {
+          letters[row * Gameboard.COLS + col] = square.getTile().getLetter();
+          tileScores[row * Gameboard.COLS + col] = square.getTile().getScore();
+        }
+      }
+    }
+
+    this.generators = new MoveGenerator[this.candidates.length];
+    this.drawCounts = new int[this.candidates.length];
+    int bagSize = game.getTileBag().size();
+
+    for (int i = 0; i < this.candidates.length; i++) {
+      char[] candidateLetters = letters.clone();
+      int[] candidateTileScores = tileScores.clone();
+      place(this.candidates[i], rack, candidateLetters, candidateTileScores);
+      this.generators[i] = new MoveGenerator(wordGraph, candidateLetters, candidateTileScores);
+      this.drawCounts[i] = Math.min(this.candidates[i].getTileCount(), bagSize);
+    }
+
+    int next = (game.getCurrentPlayerIndex() + 1) % game.getPlayerCount();
+    this.rackSize = game.getPlayer(next).getRack().size();
+    this.letterScores = new int[WordGraph.LETTER_COUNT];
+    this.unseen = collectUnseen(game, this.letterScores);
+  }
+
+  /**
+   * Plays out the candidates with one task for each thread of the specified pool until all
+   * candidates were played out {@link #MAX_PLAYOUT_COUNT} times or the specified deadline is
+   * reached and returns the candidate with the highest average equity. If no playout could be
+   * finished, the candidate with the highest score plus leave value is returned.
+   * 
+   * @param pool the specified pool
+   * @param deadline the specified deadline as a value of {@link System#nanoTime()}
+   * @return the candidate with the highest average equity or null if there is no candidate
+   */
+  Placement simulate(ForkJoinPool pool, long deadline) {
+    if (this.candidates.length <= 1) {
+      return (this.candidates.length == 0 ? null : this.candidates[0]);
+    }
+
+    SplittableRandom random = new SplittableRandom();
+    int threadCount = Math.max(1, pool.getParallelism());
+    int rounds = (MAX_PLAYOUT_COUNT + threadCount - 1) / threadCount;
+    List<Callable<long[]>> tasks = new ArrayList<>();
+
+    for (int i = 0; i < threadCount; i++) {
+      SplittableRandom taskRandom = random.split();
+      tasks.add(() -> this.playOut(taskRandom, rounds, deadline));
+    }
+
+    long[] sums = new long[this.candidates.length];
+    long playoutCount = 0;
+
+    try {
+      for (Future<long[]> future : pool.invokeAll(tasks)) {
+        long[] result = future.get();
+
+        for (int i = 0; i < sums.length; i++) {
+          sums[i] += result[i];
+        }
+        playoutCount += result[sums.length];
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return this.candidates[0];
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+
+    if (playoutCount == 0) {
+      return this.candidates[0];
+    }
+
+    int best = 0;
+
+    for (int i = 1; i < sums.length; i++) {
+      if (sums[i] > sums[best]) {
+        best = i;
+      }
+    }
+
+    return this.candidates[best];
+  }
+
+  /**
+   * Plays out every candidate once per round for the specified number of rounds or until the
+   * specified deadline is reached. Returns the sum of the equities of each candidate followed by
+   * the number of rounds.
+   * 
+   * @param random the random number generator of the playouts
+   * @param rounds the specified number of rounds
+   * @param deadline the specified deadline as a value of {@link System#nanoTime()}
+   * @return the sums of the equities of the candidates and the number of rounds
+   */
+  private long[] playOut(SplittableRandom random, int rounds, long deadline) {
+    MoveGenerator[] searches = new MoveGenerator[this.generators.length];
+
+    for (int i = 0; i < searches.length; i++) {
+      searches[i] = new MoveGenerator(this.generators[i], Direction.HORIZONTAL);
+    }
+
+    int[] pool = this.unseen.clone();
+    int[] rack = new int[LeaveTable.SYMBOL_COUNT];
+    long[] result = new long[this.candidates.length + 1];
+    int round = 0;
+
+    while (round < rounds && System.nanoTime() - deadline < 0) {
+      for (int i = 0; i < this.candidates.length; i++) {
+        int drawCount = this.drawCounts[i];
+        int rackSize = Math.min(this.rackSize, pool.length - drawCount);
+
+        for (int j = 0; j < drawCount + rackSize; j++) {
+          int k = j + random.nextInt(pool.length - j);
+          int symbol = pool[k];
+          pool[k] = pool[j];
+          pool[j] = symbol;
+        }
+
+        Arrays.fill(rack, 0);
+
+        for (int j = drawCount; j < drawCount + rackSize; j++) {
+          rack[pool[j]]++;
+        }
+
+        int answer = searches[i].findBestScore(rack, this.letterScores);
+        result[i] += this.candidates[i].getEquity() - answer * LeaveTable.SCALE;
+      }
+
+      round++;
+    }
+
+    result[this.candidates.length] = round;
+    return result;
+  }
+
+  /**
+   * Places the letters of the specified placement on the empty squares of the specified gameboard
+   * arrays. Each letter is played with an unused tile of this letter from the specified rack or
+   * with an unused joker, like a play word move takes its tiles from the rack.
+   * 
+   * @param placement the specified placement
+   * @param rack the specified rack
+   * @param letters the letters of the gameboard
+   * @param tileScores the tile scores of the gameboard
+   */
+  private static void place(Placement placement, Rack rack, char[] letters, int[] tileScores) {
+    int rowStep = (placement.getDirection() == Direction.VERTICAL ? 1 : 0);
+    int colStep = (placement.getDirection() == Direction.HORIZONTAL ? 1 : 0);
+    boolean[] used = new boolean[rack.size()];
+    String word = placement.getWord();
+
+    for (int i = 0; i < word.length(); i++) {
+      int square = (placement.getRow() + i * rowStep) * Gameboard.COLS
+          + placement.getCol() + i * colStep;
+
+      if (letters[square] == EMPTY) {
+        char letter = word.charAt(i);
+        int index = findTile(rack, used, letter);
+
+        if (index < 0) {
+          index = findTile(rack, used, '*');
+        }
+
+        letters[square] = letter;
+
+        if (index >= 0) {
+          used[index] = true;
+          tileScores[square] = rack.getTile(index).getScore();
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the index of the first unused tile with the specified letter on the specified rack or
+   * -1 if there is no such tile.
+   * 
+   * @param rack the specified rack
+   * @param used true for each tile of the rack which is already used
+   * @param letter the specified letter
+   * @return the index of the first unused tile with the specified letter or -1
+   */
+  private static int findTile(Rack rack, boolean[] used, char letter) {
+    for (int i = 0; i < rack.size(); i++) {
+      if (!used[i] && rack.getTile(i).getLetter() == letter) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+
+  /**
+   * Returns the symbols of the tiles which the current player of the specified game has not seen
+   * and stores the score of each letter among them in the specified letter scores.
+   * 
+   * @param game the specified game
+   * @param letterScores the specified letter scores
+   * @return the symbols of the unseen tiles
+   */
+  private static int[] collectUnseen(Scrabble game, int[] letterScores) {
+    List<Tile> tiles = new ArrayList<>();
+    TileBag tileBag = game.getTileBag();
+
+    for (int i = 0; i < tileBag.size(); i++) {
+      tiles.add(tileBag.getTile(i));
+    }
+
+    for (int player = 0; player < game.getPlayerCount(); player++) {
+      if (player != game.getCurrentPlayerIndex()) {
+        Rack rack = game.getPlayer(player).getRack();
+
+        for (int i = 0; i < rack.size(); i++) {
+          tiles.add(rack.getTile(i));
+        }
+      }
+    }
+
+    int[] symbols = new int[tiles.size()];
+    int count = 0;
+
+    for (Tile tile : tiles) {
+      char letter = tile.getLetter();
+
+      if (letter == '*') {
+        symbols[count++] = LeaveTable.JOKER;
+      } else if (letter >= 'A' && letter <= 'Z') {
+        symbols[count++] = letter - 'A';
+        letterScores[letter - 'A'] = tile.getScore();
+      }
+    }
+
+    return Arrays.copyOf(symbols, count);
+  }
+
+}
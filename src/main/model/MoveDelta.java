@@ -0,0 +1,258 @@
+package main.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The MoveDelta class represents a move which was executed in a game. It contains everything that
+ * is needed to execute the same move in another copy of the game: the type and the parameters of
+ * the move, the ids of the tiles which were drawn from the tile bag, the sequence number of the
+ * move and the state hash of the game after the move.
+ * 
+ * @author sekeller
+ */
+public class MoveDelta implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The sequence number of the move, which is the move count of the game after the move.
+   */
+  private final int sequenceNumber;
+
+  /**
+   * The name of the player who executed the move.
+   */
+  private final String player;
+
+  /**
+   * The type of the move.
+   */
+  private final MoveType moveType;
+
+  /**
+   * The word of a play word move.
+   */
+  private final String word;
+
+  /**
+   * The square id of a play word move.
+   */
+  private final String squareId;
+
+  /**
+   * The direction of a play word move.
+   */
+  private final Direction direction;
+
+  /**
+   * The ids of the tiles which were changed by a change tiles move.
+   */
+  private final int[] tileIds;
+
+  /**
+   * The ids of the tiles which were drawn from the tile bag in the order they were drawn.
+   */
+  private final int[] drawnTileIds;
+
+  /**
+   * The time of the move.
+   */
+  private final long time;
+
+  /**
+   * The state hash of the game after the move.
+   */
+  private final long stateHash;
+
+  /**
+   * Constructs a move delta of the specified move with the specified sequence number, the specified
+   * ids of the drawn tiles and the specified state hash.
+   * 
+   * @param move the specified move
+   * @param sequenceNumber the specified sequence number
+   * @param drawnTileIds the specified ids of the drawn tiles
+   * @param stateHash the specified state hash
+   */
+  MoveDelta(Move move, int sequenceNumber, List<Integer> drawnTileIds, long stateHash) {
+    this.sequenceNumber = sequenceNumber;
+    this.player = move.getPlayer();
+    this.time = move.getTime();
+    this.stateHash = stateHash;
+    this.drawnTileIds = drawnTileIds.stream().mapToInt(Integer::intValue).toArray();
+
+    if (move instanceof PlayWord) {
+      PlayWord playWord = (PlayWord) move;
+      this.moveType = MoveType.PLAY_WORD;
+      this.word = playWord.getWord();
+      this.squareId = playWord.getSquareId();
+      this.direction = playWord.getDirection();
+      this.tileIds = null;
+    } else {
+      this.word = null;
+      this.squareId = null;
+      this.direction = null;
+
+      if (move instanceof ChangeTiles) {
+        this.moveType = MoveType.CHANGE_TILES;
+        this.tileIds =
+            ((ChangeTiles) move).getTiles().stream().mapToInt(Tile::getTileId).toArray();
+      } else {
+        this.moveType = (move instanceof FinishGame ? MoveType.FINISH_GAME : MoveType.PASS);
+        this.tileIds = null;
+      }
+    }
+  }
+
+  /**
+   * Constructs a move delta with the specified values.
+   * 
+   * @param sequenceNumber the specified sequence number
+   * @param player the specified player
+   * @param moveType the specified move type
+   * @param word the specified word
+   * @param squareId the specified square id
+   * @param direction the specified direction
+   * @param tileIds the specified ids of the changed tiles
+   * @param drawnTileIds the specified ids of the drawn tiles
+   * @param time the specified time
+   * @param stateHash the specified state hash
+   */
+  private MoveDelta(int sequenceNumber, String player, MoveType moveType, String word,
+      String squareId, Direction direction, int[] tileIds, int[] drawnTileIds, long time,
+      long stateHash) {
+    this.sequenceNumber = sequenceNumber;
+    this.player = player;
+    this.moveType = moveType;
+    this.word = word;
+    this.squareId = squareId;
+    this.direction = direction;
+    this.tileIds = tileIds;
+    this.drawnTileIds = drawnTileIds;
+    this.time = time;
+    this.stateHash = stateHash;
+  }
+
+  /**
+   * Returns the sequence number of this move delta.
+   * 
+   * @return the sequence number of this move delta
+   */
+  public int getSequenceNumber() {
+    return this.sequenceNumber;
+  }
+
+  /**
+   * Returns the name of the player of this move delta.
+   * 
+   * @return the name of the player of this move delta
+   */
+  public String getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Returns the move type of this move delta.
+   * 
+   * @return the move type of this move delta
+   */
+  public MoveType getMoveType() {
+    return this.moveType;
+  }
+
+  /**
+   * Returns the ids of the drawn tiles of this move delta.
+   * 
+   * @return the ids of the drawn tiles of this move delta
+   */
+  int[] getDrawnTileIds() {
+    return this.drawnTileIds.clone();
+  }
+
+  /**
+   * Returns the time of this move delta.
+   * 
+   * @return the time of this move delta
+   */
+  public long getTime() {
+    return this.time;
+  }
+
+  /**
+   * Returns the state hash of the game after the move of this move delta.
+   * 
+   * @return the state hash of the game after the move of this move delta
+   */
+  public long getStateHash() {
+    return this.stateHash;
+  }
+
+  /**
+   * Writes this move delta in the compact binary form of {@link BinaryCoding}.
+   * 
+   * @param out the specified output
+   * @throws IOException if the move delta can not be written
+   */
+  public void write(DataOutput out) throws IOException {
+    BinaryCoding.writeVarInt(out, this.sequenceNumber);
+    BinaryCoding.writeString(out, this.player);
+    BinaryCoding.writeEnum(out, this.moveType);
+    BinaryCoding.writeString(out, this.word);
+    BinaryCoding.writeString(out, this.squareId);
+    BinaryCoding.writeEnum(out, this.direction);
+    BinaryCoding.writeVarInts(out, this.tileIds);
+    BinaryCoding.writeVarInts(out, this.drawnTileIds);
+    out.writeLong(this.time);
+    out.writeLong(this.stateHash);
+  }
+
+  /**
+   * Reads a move delta which was written by {@link #write(DataOutput)}.
+   * 
+   * @param in the specified input
+   * @return the move delta which was read
+   * @throws IOException if the move delta can not be read or is not valid
+   */
+  public static MoveDelta read(DataInput in) throws IOException {
+    int sequenceNumber = BinaryCoding.readVarInt(in);
+    String player = BinaryCoding.readString(in);
+    MoveType moveType = BinaryCoding.readEnum(in, MoveType.values());
+    String word = BinaryCoding.readString(in);
+    String squareId = BinaryCoding.readString(in);
+    Direction direction = BinaryCoding.readEnum(in, Direction.values());
+    int[] tileIds = BinaryCoding.readVarInts(in);
+    int[] drawnTileIds = BinaryCoding.readVarInts(in);
+    long time = in.readLong();
+    long stateHash = in.readLong();
+
+    if (moveType == null || drawnTileIds == null
+        || (moveType == MoveType.CHANGE_TILES && tileIds == null)) {
+      throw new IOException("Invalid move delta.");
+    }
+
+    return new MoveDelta(sequenceNumber, player, moveType, word, squareId, direction, tileIds,
+        drawnTileIds, time, stateHash);
+  }
+
+  /**
+   * Returns the move of this move delta for the specified game.
+   * 
+   * @param game the specified game
+   * @return the move of this move delta for the specified game
+   * @throws GameException if a changed tile is not on the rack of the current player
+   */
+  Move toMove(Scrabble game) throws GameException {
+    return new MoveRequest(this.player, this.moveType, this.word, this.squareId, this.direction,
+        this.tileIds).toMove(game);
+  }
+
+  @Override
+  public String toString() {
+    return "MoveDelta(" + this.sequenceNumber + "," + this.player + "," + this.moveType + ","
+        + Long.toHexString(this.stateHash) + ")";
+  }
+
+}
@@ -0,0 +1,934 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The MoveGenerator class finds all legal placements of words for the rack of the current player.
+ * The search starts at the anchor squares of the gameboard and follows the word graph of the
+ * dictionary, so only prefixes of words are extended and only letters which form valid side words
+ * are placed. The placements and scores are the same as {@link PlayWord#isValid()} and
+ * {@link PlayWord#getScore()} would compute. The lines of the gameboard can also be searched in
+ * parallel on a fork/join pool. With a deadline, the search stops when the deadline is reached and
+ * returns the placements which were found so far.
+ * 
+ * @author sekeller
+ */
+public class MoveGenerator {
+
+  /**
+   * A constant for the index of the joker in the rack counts.
+   */
+  private static final int JOKER = WordGraph.LETTER_COUNT;
+
+  /**
+   * A constant for the letter of an empty square.
+   */
+  private static final char EMPTY = 0;
+
+  /**
+   * A constant for the number of squares of a row or a column.
+   */
+  private static final int LENGTH = Gameboard.ROWS;
+
+  /**
+   * A constant for the number of extensions between two checks of the deadline.
+   */
+  private static final int DEADLINE_CHECK_INTERVAL = 1 << 10;
+
+  /**
+   * The letter factors of the squares of the gameboard.
+   */
+  private static final int[] LETTER_FACTORS = createFactors(true);
+
+  /**
+   * The word factors of the squares of the gameboard.
+   */
+  private static final int[] WORD_FACTORS = createFactors(false);
+
+  /**
+   * The game for which the placements are generated.
+   */
+  private final Scrabble game;
+
+  /**
+   * The word graph of the dictionary of the game.
+   */
+  private final WordGraph wordGraph;
+
+  /**
+   * The letters on the gameboard.
+   */
+  private final char[] letters;
+
+  /**
+   * The scores of the tiles on the gameboard.
+   */
+  private final int[] tileScores;
+
+  /**
+   * The letter factors of the squares of the gameboard.
+   */
+  private final int[] letterFactors;
+
+  /**
+   * The word factors of the squares of the gameboard.
+   */
+  private final int[] wordFactors;
+
+  /**
+   * The squares which are next to a tile on the gameboard.
+   */
+  private final boolean[] anchors;
+
+  /**
+   * The letters which are allowed on each square for each direction.
+   */
+  private final int[][] directionCrossChecks;
+
+  /**
+   * The sum of the scores of the tiles which form a side word with each square for each
+   * direction.
+   */
+  private final int[][] directionCrossScores;
+
+  /**
+   * The letters which are allowed on each square for the current direction.
+   */
+  private int[] crossChecks;
+
+  /**
+   * The sum of the scores of the tiles which form a side word with each square for the current
+   * direction.
+   */
+  private int[] crossScores;
+
+  /**
+   * The number of tiles for each letter and the joker on the rack.
+   */
+  private final int[] rack;
+
+  /**
+   * The score of each letter when it is played from the rack.
+   */
+  private final int[] letterScores;
+
+  /**
+   * The letters of the word which is currently built.
+   */
+  private final char[] word;
+
+  /**
+   * The flags which mark the letters of the current word which are played from the rack.
+   */
+  private final boolean[] placed;
+
+  /**
+   * The letters of the left part of the current word.
+   */
+  private final char[] prefix;
+
+  /**
+   * The current direction.
+   */
+  private Direction direction;
+
+  /**
+   * The placements which were found.
+   */
+  private List<Placement> placements;
+
+  /**
+   * True if only the highest score is searched and no placements are created.
+   */
+  private boolean scoreOnly;
+
+  /**
+   * The highest score which was found when only the highest score is searched.
+   */
+  private int bestScore;
+
+  /**
+   * True if the rack leaves of the placements are evaluated.
+   */
+  private boolean leavesEvaluated;
+
+  /**
+   * True if the search has a deadline.
+   */
+  private boolean timed;
+
+  /**
+   * The deadline of the search as a value of {@link System#nanoTime()}.
+   */
+  private long deadline;
+
+  /**
+   * The number of extensions since the last check of the deadline.
+   */
+  private int extensionCount;
+
+  /**
+   * True if the deadline was reached.
+   */
+  private boolean expired;
+
+  /**
+   * Constructs a move generator for the current player of the specified game.
+   * 
+   * @param game the specified game
+   */
+  public MoveGenerator(Scrabble game) {
+    this.game = game;
+    this.wordGraph = game.getDictionary().getWordGraph();
+
+    int squareCount = Gameboard.ROWS * Gameboard.COLS;
+    this.letters = new char[squareCount];
+    this.tileScores = new int[squareCount];
+    this.letterFactors = LETTER_FACTORS;
+    this.wordFactors = WORD_FACTORS;
+    this.anchors = new boolean[squareCount];
+    this.directionCrossChecks = new int[Direction.values().length][squareCount];
+    this.directionCrossScores = new int[Direction.values().length][squareCount];
+
+    this.rack = new int[WordGraph.LETTER_COUNT + 1];
+    this.letterScores = new int[WordGraph.LETTER_COUNT];
+    this.word = new char[LENGTH];
+    this.placed = new boolean[LENGTH];
+    this.prefix = new char[LENGTH];
+
+    this.initGameboard(game.getGameboard());
+    this.initRack(game.getCurrentPlayer().getRack());
+    this.initCrossChecks(game.getGameboard());
+  }
+
+  /**
+   * Constructs a move generator for a gameboard with the specified letters and the specified tile
+   * scores, where an empty square has the letter 0. The move generator does not belong to a game
+   * and is meant for {@link #findBestScore(int[], int[])}, which can be called for many racks on
+   * the same gameboard without allocating any objects, and for {@link #generate(int[], int[])}.
+   * The arrays are not copied, so they must not be changed while the move generator is used.
+   * 
+   * @param wordGraph the specified word graph
+   * @param letters the specified letters
+   * @param tileScores the specified tile scores
+   */
+  MoveGenerator(WordGraph wordGraph, char[] letters, int[] tileScores) {
+    this.game = null;
+    this.wordGraph = wordGraph;
+
+    int squareCount = Gameboard.ROWS * Gameboard.COLS;
+    this.letters = letters;
+    this.tileScores = tileScores;
+    this.letterFactors = LETTER_FACTORS;
+    this.wordFactors = WORD_FACTORS;
+    this.anchors = new boolean[squareCount];
+    this.directionCrossChecks = new int[Direction.values().length][squareCount];
+    this.directionCrossScores = new int[Direction.values().length][squareCount];
+
+    this.rack = new int[WordGraph.LETTER_COUNT + 1];
+    this.letterScores = new int[WordGraph.LETTER_COUNT];
+    this.word = new char[LENGTH];
+    this.placed = new boolean[LENGTH];
+    this.prefix = new char[LENGTH];
+
+    this.initAnchors(this.computeRowMasks());
+    this.initCrossChecks(null);
+  }
+
+  /**
+   * Constructs a move generator for the specified direction which shares the gameboard and the
+   * cross checks of the specified move generator and has its own rack counts and current word.
+   * 
+   * @param generator the specified move generator
+   * @param direction the specified direction
+   */
+  MoveGenerator(MoveGenerator generator, Direction direction) {
+    this.game = generator.game;
+    this.wordGraph = generator.wordGraph;
+    this.letters = generator.letters;
+    this.tileScores = generator.tileScores;
+    this.letterFactors = generator.letterFactors;
+    this.wordFactors = generator.wordFactors;
+    this.anchors = generator.anchors;
+    this.directionCrossChecks = generator.directionCrossChecks;
+    this.directionCrossScores = generator.directionCrossScores;
+
+    this.rack = generator.rack.clone();
+    this.letterScores = generator.letterScores.clone();
+    this.word = new char[LENGTH];
+    this.placed = new boolean[LENGTH];
+    this.prefix = new char[LENGTH];
+    this.leavesEvaluated = generator.leavesEvaluated;
+    this.timed = generator.timed;
+    this.deadline = generator.deadline;
+    this.setDirection(direction);
+  }
+
+  /**
+   * Sets if the rack leaves of the placements are evaluated with the {@link LeaveTable}.
+   * 
+   * @param leavesEvaluated true if the rack leaves are evaluated
+   */
+  public void setLeavesEvaluated(boolean leavesEvaluated) {
+    this.leavesEvaluated = leavesEvaluated;
+  }
+
+  /**
+   * Sets the deadline of the search to the specified value of {@link System#nanoTime()}.
+   * 
+   * @param deadline the specified deadline
+   */
+  public void setDeadline(long deadline) {
+    this.timed = true;
+    this.deadline = deadline;
+  }
+
+  /**
+   * Returns all legal placements for the rack of the current player. When the game is over or the
+   * deadline is reached during the search, the placements which were found so far are returned.
+   * 
+   * @return all legal placements for the rack of the current player
+   */
+  public List<Placement> generate() {
+    this.placements = new ArrayList<>();
+
+    for (Direction direction : Direction.values()) {
+      this.setDirection(direction);
+
+      for (int line = 0; line < LENGTH; line++) {
+        if (this.isStopped()) {
+          return this.placements;
+        }
+
+        this.generateLine(line);
+      }
+    }
+
+    return this.placements;
+  }
+
+  /**
+   * Returns the highest score of all legal placements for the specified rack counts and the
+   * specified letter scores, or 0 if there is no legal placement. No placements are created, so
+   * this method does not allocate any objects.
+   * 
+   * @param rackCounts the specified number of tiles for each letter and the joker
+   * @param rackLetterScores the specified score of each letter when it is played from the rack
+   * @return the highest score of all legal placements
+   */
+  int findBestScore(int[] rackCounts, int[] rackLetterScores) {
+    this.scoreOnly = true;
+    this.bestScore = 0;
+    this.search(rackCounts, rackLetterScores);
+    this.scoreOnly = false;
+    return this.bestScore;
+  }
+
+  /**
+   * Returns all legal placements for the specified rack counts and the specified letter scores.
+   * 
+   * @param rackCounts the specified number of tiles for each letter and the joker
+   * @param rackLetterScores the specified score of each letter when it is played from the rack
+   * @return all legal placements for the specified rack counts
+   */
+  List<Placement> generate(int[] rackCounts, int[] rackLetterScores) {
+    this.placements = new ArrayList<>();
+    this.search(rackCounts, rackLetterScores);
+    return this.placements;
+  }
+
+  /**
+   * Searches all lines of the gameboard for the specified rack counts and the specified letter
+   * scores.
+   * 
+   * @param rackCounts the specified number of tiles for each letter and the joker
+   * @param rackLetterScores the specified score of each letter when it is played from the rack
+   */
+  private void search(int[] rackCounts, int[] rackLetterScores) {
+    System.arraycopy(rackCounts, 0, this.rack, 0, this.rack.length);
+    System.arraycopy(rackLetterScores, 0, this.letterScores, 0, this.letterScores.length);
+
+    for (Direction direction : Direction.values()) {
+      this.setDirection(direction);
+
+      for (int line = 0; line < LENGTH; line++) {
+        this.generateLine(line);
+      }
+    }
+  }
+
+  /**
+   * Returns all legal placements for the rack of the current player like {@link #generate()}, but
+   * searches the lines of the gameboard in parallel on the specified pool. The placements are in
+   * the same order as the placements of {@link #generate()}. A pool with only one thread does not
+   * speed up the search, so the lines are searched one after another in this case.
+   * 
+   * @param pool the specified pool
+   * @return all legal placements for the rack of the current player
+   */
+  public List<Placement> generate(ForkJoinPool pool) {
+    if (pool.getParallelism() < 2) {
+      return this.generate();
+    }
+
+    return pool.invoke(new LineSearch(this, 0, Direction.values().length * LENGTH));
+  }
+
+  /**
+   * Returns all legal placements in the specified line for the specified direction. The rack
+   * counts and the current word of this move generator are not changed, so many lines can be
+   * searched at the same time.
+   * 
+   * @param direction the specified direction
+   * @param line the specified line
+   * @return all legal placements in the specified line
+   */
+  private List<Placement> searchLine(Direction direction, int line) {
+    if (this.isStopped()) {
+      return new ArrayList<>();
+    }
+
+    MoveGenerator generator = new MoveGenerator(this, direction);
+    generator.placements = new ArrayList<>();
+    generator.generateLine(line);
+    return generator.placements;
+  }
+
+  /**
+   * Sets the current direction to the specified direction.
+   * 
+   * @param direction the specified direction
+   */
+  private void setDirection(Direction direction) {
+    this.direction = direction;
+    this.crossChecks = this.directionCrossChecks[direction.ordinal()];
+    this.crossScores = this.directionCrossScores[direction.ordinal()];
+  }
+
+  /**
+   * Returns true if the search has to stop because the game is over or the deadline is reached.
+   * 
+   * @return true if the search has to stop
+   */
+  private boolean isStopped() {
+    return (this.game != null && this.game.getGameState() == GameState.GAME_OVER)
+        || this.isExpired();
+  }
+
+  /**
+   * Initializes the letters, the tile scores and the anchors of the specified gameboard. The
+   * anchors are computed from the occupancy masks of the rows of the gameboard.
+   * 
+   * @param gameboard the specified gameboard
+   */
+  private void initGameboard(Gameboard gameboard) {
+    int[] rowMasks = new int[Gameboard.ROWS];
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      rowMasks[row] = gameboard.getRowMask(row);
+
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        int square = row * Gameboard.COLS + col;
+
+        if ((rowMasks[row] & (1 << col)) != 0) {
+          this.letters[square] = gameboard.getLetterAt(row, col);
+          this.tileScores[square] = gameboard.getTileAt(row, col).getScore();
+        }
+      }
+    }
+
+    this.initAnchors(rowMasks);
+  }
+
+  /**
+   * Returns the occupancy masks of the rows of the letters. The bit col of the mask of a row is set
+   * when the square in this column is not empty.
+   * 
+   * @return the occupancy masks of the rows
+   */
+  private int[] computeRowMasks() {
+    int[] rowMasks = new int[Gameboard.ROWS];
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        if (this.letters[row * Gameboard.COLS + col] != EMPTY) {
+          rowMasks[row] |= 1 << col;
+        }
+      }
+    }
+
+    return rowMasks;
+  }
+
+  /**
+   * Initializes the anchors of the gameboard with the specified occupancy masks of the rows. An
+   * anchor is an empty square next to a tile. On an empty gameboard, the center square is the only
+   * anchor.
+   * 
+   * @param rowMasks the specified occupancy masks of the rows
+   */
+  private void initAnchors(int[] rowMasks) {
+    int occupiedCols = 0;
+
+    for (int rowMask : rowMasks) {
+      occupiedCols |= rowMask;
+    }
+
+    if (occupiedCols == 0) {
+      this.anchors[Gameboard.CENTER_SQUARE] = true;
+      return;
+    }
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      int occupied = rowMasks[row];
+      int neighbors = (occupied << 1) | (occupied >>> 1)
+          | (row > 0 ? rowMasks[row - 1] : 0) | (row < Gameboard.ROWS - 1 ? rowMasks[row + 1] : 0);
+      int anchorMask = neighbors & ~occupied & ((1 << Gameboard.COLS) - 1);
+
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        this.anchors[row * Gameboard.COLS + col] = ((anchorMask & (1 << col)) != 0);
+      }
+    }
+  }
+
+  /**
+   * Initializes the rack counts and the letter scores of the specified rack. Like
+   * {@link Rack#getTile(char)}, a letter is scored with the first tile of this letter and with the
+   * joker when there is no such tile.
+   * 
+   * @param rack the specified rack
+   */
+  private void initRack(Rack rack) {
+    for (int letter = 0; letter < WordGraph.LETTER_COUNT; letter++) {
+      Tile tile = rack.getTile((char) ('A' + letter));
+      this.letterScores[letter] = (tile == null ? 0 : tile.getScore());
+    }
+
+    for (int i = 0; i < rack.size(); i++) {
+      char letter = rack.getTile(i).getLetter();
+
+      if (letter == '*') {
+        this.rack[JOKER]++;
+      } else if (letter >= 'A' && letter <= 'Z') {
+        this.rack[letter - 'A']++;
+      }
+    }
+  }
+
+  /**
+   * Initializes the cross checks and the cross scores of all empty squares for both directions. The
+   * cross checks are maintained by the specified gameboard or computed from the letters if the
+   * specified gameboard is null.
+   * 
+   * @param gameboard the specified gameboard or null
+   */
+  private void initCrossChecks(Gameboard gameboard) {
+    for (Direction direction : Direction.values()) {
+      this.setDirection(direction);
+
+      if (gameboard != null) {
+        int[] boardCrossChecks = gameboard.getCrossChecks(this.wordGraph, direction);
+        System.arraycopy(boardCrossChecks, 0, this.crossChecks, 0, this.crossChecks.length);
+      }
+
+      this.initCrossScores(gameboard == null);
+    }
+  }
+
+  /**
+   * Initializes the cross scores of all empty squares for the current direction and computes
+   * their cross checks if the specified value is true.
+   * 
+   * @param computeCrossChecks true if the cross checks are computed
+   */
+  private void initCrossScores(boolean computeCrossChecks) {
+    for (int line = 0; line < LENGTH; line++) {
+      for (int pos = 0; pos < LENGTH; pos++) {
+        int square = this.square(line, pos);
+        int score = 0;
+
+        if (this.letters[square] != EMPTY) {
+          continue;
+        }
+
+        if (computeCrossChecks) {
+          this.crossChecks[square] = this.computeCrossCheck(line, pos);
+        }
+
+        for (int side = line - 1; side >= 0 && this.letters[this.square(side, pos)] != EMPTY;
+            side--) {
+          score += this.tileScores[this.square(side, pos)];
+        }
+
+        for (int side = line + 1; side < LENGTH && this.letters[this.square(side, pos)] != EMPTY;
+            side++) {
+          score += this.tileScores[this.square(side, pos)];
+        }
+
+        this.crossScores[square] = score;
+      }
+    }
+  }
+
+  /**
+   * Returns the letters which are allowed on the empty square at the specified position of the
+   * specified line for the current direction, like {@link Gameboard} computes them.
+   * 
+   * @param line the specified line
+   * @param pos the specified position
+   * @return the mask of the letters which are allowed on the square
+   */
+  private int computeCrossCheck(int line, int pos) {
+    int start = line;
+
+    while (start > 0 && this.letters[this.square(start - 1, pos)] != EMPTY) {
+      start--;
+    }
+
+    boolean after = (line < LENGTH - 1 && this.letters[this.square(line + 1, pos)] != EMPTY);
+
+    if (start == line && !after) {
+      return Gameboard.ALL_LETTERS;
+    }
+
+    int node = this.wordGraph.getRoot();
+
+    for (int side = start; side < line && node != WordGraph.NONE; side++) {
+      node = this.wordGraph.getChild(node, this.letters[this.square(side, pos)]);
+    }
+
+    if (node == WordGraph.NONE) {
+      return 0;
+    }
+
+    int mask = 0;
+
+    for (int edge = this.wordGraph.getFirstEdge(node); edge < this.wordGraph.getEndEdge(node);
+        edge++) {
+      int child = this.wordGraph.getEdgeTarget(edge);
+
+      for (int side = line + 1; side < LENGTH && this.letters[this.square(side, pos)] != EMPTY
+          && child != WordGraph.NONE; side++) {
+        child = this.wordGraph.getChild(child, this.letters[this.square(side, pos)]);
+      }
+
+      if (child != WordGraph.NONE && this.wordGraph.isWord(child)) {
+        mask |= 1 << (this.wordGraph.getEdgeLetter(edge) - 'A');
+      }
+    }
+
+    return mask;
+  }
+
+  /**
+   * Generates all placements in the specified line for the current direction.
+   * 
+   * @param line the specified line
+   */
+  private void generateLine(int line) {
+    for (int pos = 0; pos < LENGTH; pos++) {
+      if (!this.anchors[this.square(line, pos)]) {
+        continue;
+      }
+
+      if (pos > 0 && this.letters[this.square(line, pos - 1)] != EMPTY) {
+        int start = pos - 1;
+
+        while (start > 0 && this.letters[this.square(line, start - 1)] != EMPTY) {
+          start--;
+        }
+
+        int node = this.wordGraph.getRoot();
+
+        for (int i = start; i < pos && node != WordGraph.NONE; i++) {
+          this.word[i] = this.letters[this.square(line, i)];
+          this.placed[i] = false;
+          node = this.wordGraph.getChild(node, this.word[i]);
+        }
+
+        if (node != WordGraph.NONE) {
+          this.extendRight(line, start, pos, node, pos);
+        }
+      } else {
+        int limit = 0;
+
+        while (pos - limit > 0 && this.letters[this.square(line, pos - limit - 1)] == EMPTY
+            && !this.anchors[this.square(line, pos - limit - 1)]) {
+          limit++;
+        }
+
+        this.extendLeft(line, pos, this.wordGraph.getRoot(), 0, limit);
+      }
+    }
+  }
+
+  /**
+   * Builds all left parts with the specified length up to the specified limit in front of the
+   * specified anchor and extends them to the right.
+   * 
+   * @param line the specified line
+   * @param anchor the specified anchor
+   * @param node the node of the current left part
+   * @param length the length of the current left part
+   * @param limit the specified limit
+   */
+  private void extendLeft(int line, int anchor, int node, int length, int limit) {
+    if (this.checkDeadline()) {
+      return;
+    }
+
+    int start = anchor - length;
+
+    for (int i = 0; i < length; i++) {
+      this.word[start + i] = this.prefix[i];
+      this.placed[start + i] = true;
+    }
+
+    this.extendRight(line, start, anchor, node, anchor);
+
+    if (length == limit) {
+      return;
+    }
+
+    for (int edge = this.wordGraph.getFirstEdge(node); edge < this.wordGraph.getEndEdge(node);
+        edge++) {
+      int letter = this.wordGraph.getEdgeLetter(edge) - 'A';
+      int tile = (this.rack[letter] > 0 ? letter : (this.rack[JOKER] > 0 ? JOKER : -1));
+
+      if (tile >= 0) {
+        this.rack[tile]--;
+        this.prefix[length] = (char) ('A' + letter);
+        this.extendLeft(line, anchor, this.wordGraph.getEdgeTarget(edge), length + 1, limit);
+        this.rack[tile]++;
+      }
+    }
+  }
+
+  /**
+   * Extends the current word from the specified position to the right.
+   * 
+   * @param line the specified line
+   * @param start the start of the current word
+   * @param pos the specified position
+   * @param node the node of the current word
+   * @param anchor the anchor of the current word
+   */
+  private void extendRight(int line, int start, int pos, int node, int anchor) {
+    if (this.checkDeadline()) {
+      return;
+    }
+
+    if (pos < LENGTH && this.letters[this.square(line, pos)] != EMPTY) {
+      char letter = this.letters[this.square(line, pos)];
+      int child = this.wordGraph.getChild(node, letter);
+
+      if (child != WordGraph.NONE) {
+        this.word[pos] = letter;
+        this.placed[pos] = false;
+        this.extendRight(line, start, pos + 1, child, anchor);
+      }
+
+      return;
+    }
+
+    if (pos > anchor && this.wordGraph.isWord(node)) {
+      this.addPlacement(line, start, pos);
+    }
+
+    if (pos == LENGTH) {
+      return;
+    }
+
+    int crossCheck = this.crossChecks[this.square(line, pos)];
+
+    for (int edge = this.wordGraph.getFirstEdge(node); edge < this.wordGraph.getEndEdge(node);
+        edge++) {
+      int letter = this.wordGraph.getEdgeLetter(edge) - 'A';
+
+      if ((crossCheck & (1 << letter)) == 0) {
+        continue;
+      }
+
+      int tile = (this.rack[letter] > 0 ? letter : (this.rack[JOKER] > 0 ? JOKER : -1));
+
+      if (tile >= 0) {
+        this.rack[tile]--;
+        this.word[pos] = (char) ('A' + letter);
+        this.placed[pos] = true;
+        this.extendRight(line, start, pos + 1, this.wordGraph.getEdgeTarget(edge), anchor);
+        this.placed[pos] = false;
+        this.rack[tile]++;
+      }
+    }
+  }
+
+  /**
+   * Adds the placement of the current word from the specified start to the specified end.
+   * 
+   * @param line the specified line
+   * @param start the specified start (inclusive)
+   * @param end the specified end (exclusive)
+   */
+  private void addPlacement(int line, int start, int end) {
+    int mainScore = 0;
+    int wordFactor = 1;
+    int sideScore = 0;
+    int count = 0;
+
+    for (int pos = start; pos < end; pos++) {
+      int square = this.square(line, pos);
+
+      if (this.placed[pos]) {
+        int letterScore = this.letterScores[this.word[pos] - 'A'] * this.letterFactors[square];
+        mainScore += letterScore;
+        wordFactor *= this.wordFactors[square];
+        count++;
+
+        if (this.crossScores[square] > 0) {
+          sideScore += (this.crossScores[square] + letterScore) * this.wordFactors[square];
+        }
+      } else {
+        mainScore += this.tileScores[square];
+      }
+    }
+
+    int score = mainScore * wordFactor + sideScore + (count == Rack.TILE_CAPACITY ? 50 : 0);
+
+    if (this.scoreOnly) {
+      this.bestScore = Math.max(this.bestScore, score);
+      return;
+    }
+
+    String word = new String(this.word, start, end - start);
+    int leaveValue = (this.leavesEvaluated ? LeaveTable.getValue(this.rack) : 0);
+
+    if (this.direction == Direction.HORIZONTAL) {
+      this.placements.add(new Placement(word, line, start, this.direction, score, count,
+          leaveValue));
+    } else {
+      this.placements.add(new Placement(word, start, line, this.direction, score, count,
+          leaveValue));
+    }
+  }
+
+  /**
+   * Returns true if the deadline of the search is reached.
+   * 
+   * @return true if the deadline of the search is reached
+   */
+  private boolean isExpired() {
+    if (this.timed && !this.expired && System.nanoTime() - this.deadline >= 0) {
+      this.expired = true;
+    }
+    return this.expired;
+  }
+
+  /**
+   * Counts an extension and returns true if the deadline of the search is reached. The time is
+   * only checked every {@link #DEADLINE_CHECK_INTERVAL} extensions.
+   * 
+   * @return true if the deadline of the search is reached
+   */
+  private boolean checkDeadline() {
+    if (++this.extensionCount < DEADLINE_CHECK_INTERVAL) {
+      return this.expired;
+    }
+    this.extensionCount = 0;
+    return this.isExpired();
+  }
+
+  /**
+   * Returns the index of the square at the specified position of the specified line for the
+   * current direction.
+   * 
+   * @param line the specified line
+   * @param pos the specified position
+   * @return the index of the square
+   */
+  private int square(int line, int pos) {
+    if (this.direction == Direction.HORIZONTAL) {
+      return line * Gameboard.COLS + pos;
+    } else {
+      return pos * Gameboard.COLS + line;
+    }
+  }
+
+  /**
+   * Returns the letter factors or the word factors of the squares of the gameboard.
+   * 
+   * @param letterFactors true for the letter factors and false for the word factors
+   * @return the letter factors or the word factors of the squares
+   */
+  private static int[] createFactors(boolean letterFactors) {
+    int[] factors = new int[Gameboard.SQUARE_COUNT];
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        SquareType squareType = Gameboard.getSquareType(row, col);
+        factors[row * Gameboard.COLS + col] =
+            (letterFactors ? squareType.getLetterFactor() : squareType.getWordFactor());
+      }
+    }
+
+    return factors;
+  }
+
+  /**
+   * The LineSearch class searches a range of lines of the gameboard. A range with more than one
+   * line is split in half and the halves are searched in parallel.
+   */
+  private static class LineSearch extends RecursiveTask<List<Placement>> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The move generator whose gameboard is searched.
+     */
+    private final MoveGenerator generator;
+
+    /**
+     * The first line of the range. The lines of all directions are numbered one after another.
+     */
+    private final int from;
+
+    /**
+     * The end of the range (exclusive).
+     */
+    private final int to;
+
+    /**
+     * Constructs a line search with the specified move generator for the range from the specified
+     * first line to the specified end.
+     * 
+     * @param generator the specified move generator
+     * @param from the specified first line
+     * @param to the specified end (exclusive)
+     */
+    private LineSearch(MoveGenerator generator, int from, int to) {
+      this.generator = generator;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected List<Placement> compute() {
+      if (this.to - this.from == 1) {
+        return this.generator.searchLine(Direction.values()[this.from / LENGTH],
+            this.from % LENGTH);
+      }
+
+      int middle = (this.from + this.to) >>> 1;
+      LineSearch left = new LineSearch(this.generator, this.from, middle);
+      left.fork();
+      List<Placement> right = new LineSearch(this.generator, middle, this.to).compute();
+      List<Placement> placements = left.join();
+      placements.addAll(right);
+      return placements;
+    }
+
+  }
+
+}
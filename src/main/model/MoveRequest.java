@@ -0,0 +1,226 @@
+package main.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The MoveRequest class represents a move which a player wants to execute. It only contains the
+ * type and the parameters of the move, so a player can send it to the game which decides if the
+ * move is valid and executes it.
+ * 
+ * @author sekeller
+ */
+public class MoveRequest implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The name of the player who wants to execute the move.
+   */
+  private final String player;
+
+  /**
+   * The type of the move.
+   */
+  private final MoveType moveType;
+
+  /**
+   * The word of a play word move.
+   */
+  private final String word;
+
+  /**
+   * The square id of a play word move.
+   */
+  private final String squareId;
+
+  /**
+   * The direction of a play word move.
+   */
+  private final Direction direction;
+
+  /**
+   * The ids of the tiles of a change tiles move.
+   */
+  private final int[] tileIds;
+
+  /**
+   * Constructs a move request with the specified player, the specified move type, the specified
+   * word, the specified square id, the specified direction and the specified tile ids.
+   * 
+   * @param player the specified player
+   * @param moveType the specified move type
+   * @param word the specified word
+   * @param squareId the specified square id
+   * @param direction the specified direction
+   * @param tileIds the specified tile ids
+   */
+  MoveRequest(String player, MoveType moveType, String word, String squareId,
+      Direction direction, int[] tileIds) {
+    this.player = player;
+    this.moveType = moveType;
+    this.word = word;
+    this.squareId = squareId;
+    this.direction = direction;
+    this.tileIds = tileIds;
+  }
+
+  /**
+   * Returns a request of the specified player to play the specified word at the specified square
+   * id in the specified direction.
+   * 
+   * @param player the specified player
+   * @param word the specified word
+   * @param squareId the specified square id
+   * @param direction the specified direction
+   * @return a play word move request
+   */
+  public static MoveRequest playWord(String player, String word, String squareId,
+      Direction direction) {
+    return new MoveRequest(player, MoveType.PLAY_WORD, word, squareId, direction, null);
+  }
+
+  /**
+   * Returns a request of the specified player to change the specified tiles.
+   * 
+   * @param player the specified player
+   * @param tiles the specified tiles
+   * @return a change tiles move request
+   */
+  public static MoveRequest changeTiles(String player, Collection<Tile> tiles) {
+    int[] tileIds = tiles.stream().mapToInt(Tile::getTileId).toArray();
+    return new MoveRequest(player, MoveType.CHANGE_TILES, null, null, null, tileIds);
+  }
+
+  /**
+   * Returns a request of the specified player to pass.
+   * 
+   * @param player the specified player
+   * @return a pass move request
+   */
+  public static MoveRequest pass(String player) {
+    return new MoveRequest(player, MoveType.PASS, null, null, null, null);
+  }
+
+  /**
+   * Returns a request of the specified player to finish the game.
+   * 
+   * @param player the specified player
+   * @return a finish game move request
+   */
+  public static MoveRequest finishGame(String player) {
+    return new MoveRequest(player, MoveType.FINISH_GAME, null, null, null, null);
+  }
+
+  /**
+   * Returns the name of the player of this move request.
+   * 
+   * @return the name of the player of this move request
+   */
+  public String getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Returns the move type of this move request.
+   * 
+   * @return the move type of this move request
+   */
+  public MoveType getMoveType() {
+    return this.moveType;
+  }
+
+  /**
+   * Writes this move request in the compact binary form of {@link BinaryCoding}.
+   * 
+   * @param out the specified output
+   * @throws IOException if the move request can not be written
+   */
+  public void write(DataOutput out) throws IOException {
+    BinaryCoding.writeString(out, this.player);
+    BinaryCoding.writeEnum(out, this.moveType);
+    BinaryCoding.writeString(out, this.word);
+    BinaryCoding.writeString(out, this.squareId);
+    BinaryCoding.writeEnum(out, this.direction);
+    BinaryCoding.writeVarInts(out, this.tileIds);
+  }
+
+  /**
+   * Reads a move request which was written by {@link #write(DataOutput)}.
+   * 
+   * @param in the specified input
+   * @return the move request which was read
+   * @throws IOException if the move request can not be read or is not valid
+   */
+  public static MoveRequest read(DataInput in) throws IOException {
+    String player = BinaryCoding.readString(in);
+    MoveType moveType = BinaryCoding.readEnum(in, MoveType.values());
+    String word = BinaryCoding.readString(in);
+    String squareId = BinaryCoding.readString(in);
+    Direction direction = BinaryCoding.readEnum(in, Direction.values());
+    int[] tileIds = BinaryCoding.readVarInts(in);
+
+    if (moveType == null || (moveType == MoveType.CHANGE_TILES && tileIds == null)) {
+      throw new IOException("Invalid move request.");
+    }
+
+    return new MoveRequest(player, moveType, word, squareId, direction, tileIds);
+  }
+
+  /**
+   * Returns the move of this move request for the specified game.
+   * 
+   * @param game the specified game
+   * @return the move of this move request for the specified game
+   * @throws GameException if a changed tile is not on the rack of the current player or is
+   *         selected more than once
+   */
+  Move toMove(Scrabble game) throws GameException {
+    switch (this.moveType) {
+      case PLAY_WORD:
+        return new PlayWord(game, this.word, this.squareId, this.direction);
+      case CHANGE_TILES:
+        Rack rack = game.getCurrentPlayer().getRack();
+        Collection<Tile> tiles = new ArrayList<>();
+        Set<Integer> selectedIds = new HashSet<>();
+
+        for (int tileId : this.tileIds) {
+          if (!selectedIds.add(tileId)) {
+            throw new GameException("The tile " + tileId + " is selected more than once!");
+          }
+
+          Tile tile = null;
+
+          for (int i = 0; i < rack.size() && tile == null; i++) {
+            if (rack.getTile(i).getTileId() == tileId) {
+              tile = rack.getTile(i);
+            }
+          }
+
+          if (tile == null) {
+            throw new GameException("The tile " + tileId + " is not on the rack!");
+          }
+
+          tiles.add(tile);
+        }
+
+        return new ChangeTiles(game, tiles);
+      case FINISH_GAME:
+        return new FinishGame(game);
+      default:
+        return new Pass(game);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MoveRequest(" + this.player + "," + this.moveType + ")";
+  }
+
+}
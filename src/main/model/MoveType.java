@@ -0,0 +1,30 @@
+package main.model;
+
+/**
+ * The MoveType class represents the type of a move.
+ * 
+ * @author sekeller
+ */
+public enum MoveType {
+
+  /**
+   * Pass move.
+   */
+  PASS,
+
+  /**
+   * Change tiles move.
+   */
+  CHANGE_TILES,
+
+  /**
+   * Play word move.
+   */
+  PLAY_WORD,
+
+  /**
+   * Finish game move.
+   */
+  FINISH_GAME;
+
+}
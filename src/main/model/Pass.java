@@ -20,6 +20,20 @@ public class Pass extends Move {
     this.init();
   }
 
+  /**
+   * Constructs a pass move of the specified player at the specified time
+   * which was already executed.
+   * 
+   * @param player the specified player
+   * @param time the specified time in milliseconds
+   */
+  Pass(String player, long time) {
+    super();
+
+    this.player = player;
+    this.time = time;
+  }
+
   /**
    * Constructs a copy of the specified pass move.
    * 
@@ -0,0 +1,168 @@
+package main.model;
+
+/**
+ * The Placement class represents a legal placement of a word on the gameboard which was found by
+ * the move generator.
+ * 
+ * @author sekeller
+ */
+public class Placement {
+
+  /**
+   * The word of the placement.
+   */
+  private final String word;
+
+  /**
+   * The row of the first letter of the word.
+   */
+  private final int row;
+
+  /**
+   * The column of the first letter of the word.
+   */
+  private final int col;
+
+  /**
+   * The direction of the word.
+   */
+  private final Direction direction;
+
+  /**
+   * The score of the placement.
+   */
+  private final int score;
+
+  /**
+   * The number of tiles of the placement which are played from the rack.
+   */
+  private final int tileCount;
+
+  /**
+   * The value of the rack leave of the placement in tenths of a point.
+   */
+  private final int leaveValue;
+
+  /**
+   * Constructs a placement with the specified word, the specified row, the specified column, the
+   * specified direction, the specified score, the specified number of tiles from the rack and the
+   * specified leave value.
+   * 
+   * @param word the specified word
+   * @param row the specified row
+   * @param col the specified column
+   * @param direction the specified direction
+   * @param score the specified score
+   * @param tileCount the specified number of tiles from the rack
+   * @param leaveValue the specified leave value in tenths of a point
+   */
+  Placement(String word, int row, int col, Direction direction, int score, int tileCount,
+      int leaveValue) {
+    this.word = word;
+    this.row = row;
+    this.col = col;
+    this.direction = direction;
+    this.score = score;
+    this.tileCount = tileCount;
+    this.leaveValue = leaveValue;
+  }
+
+  /**
+   * Returns the word of this placement.
+   * 
+   * @return the word of this placement
+   */
+  public String getWord() {
+    return this.word;
+  }
+
+  /**
+   * Returns the row of the first letter of this placement.
+   * 
+   * @return the row of the first letter of this placement
+   */
+  public int getRow() {
+    return this.row;
+  }
+
+  /**
+   * Returns the column of the first letter of this placement.
+   * 
+   * @return the column of the first letter of this placement
+   */
+  public int getCol() {
+    return this.col;
+  }
+
+  /**
+   * Returns the square id of the first letter of this placement.
+   * 
+   * @return the square id of the first letter of this placement
+   */
+  public String getSquareId() {
+    return Gameboard.computeSquareId(this.row, this.col);
+  }
+
+  /**
+   * Returns the direction of this placement.
+   * 
+   * @return the direction of this placement
+   */
+  public Direction getDirection() {
+    return this.direction;
+  }
+
+  /**
+   * Returns the score of this placement.
+   * 
+   * @return the score of this placement
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Returns the number of tiles of this placement which are played from the rack.
+   * 
+   * @return the number of tiles of this placement which are played from the rack
+   */
+  public int getTileCount() {
+    return this.tileCount;
+  }
+
+  /**
+   * Returns the value of the rack leave of this placement in tenths of a point. The value is 0 if
+   * the rack leaves were not evaluated.
+   * 
+   * @return the value of the rack leave of this placement in tenths of a point
+   */
+  public int getLeaveValue() {
+    return this.leaveValue;
+  }
+
+  /**
+   * Returns the score of this placement plus the value of its rack leave in tenths of a point.
+   * 
+   * @return the score plus the leave value of this placement in tenths of a point
+   */
+  public int getEquity() {
+    return this.score * LeaveTable.SCALE + this.leaveValue;
+  }
+
+  /**
+   * Returns a play word move of this placement for the specified game.
+   * 
+   * @param game the specified game
+   * @return a play word move of this placement for the specified game
+   */
+  PlayWord toMove(Scrabble game) {
+    return new PlayWord(game, this.word, this.getSquareId(), this.direction);
+  }
+
+  @Override
+  public String toString() {
+    return "Placement(" + this.word + "," + this.getSquareId() + "," + this.direction + ","
+        + this.score + ")";
+  }
+
+}
@@ -0,0 +1,462 @@
+package main.model;
+
+/**
+ * The PlayWordValidator class validates and scores a word which the current player of a game wants
+ * to play. The checks are the same as those of a {@link PlayWord} move and are done in the same
+ * order, but the result is a status code instead of a {@link GameException}, so a rejected word
+ * does not cost an exception with its message and stack trace.
+ * 
+ * <p>
+ * The gameboard is read through its primitive arrays and the rack is counted into letter
+ * histograms which are reused for each word, so a validator does not allocate any objects. A
+ * validator is not thread-safe and each thread needs its own instance.
+ * </p>
+ * 
+ * @author sekeller
+ */
+final class PlayWordValidator {
+
+  /**
+   * A constant for the status of a valid word.
+   */
+  static final int VALID = 0;
+
+  /**
+   * A constant for the status of a game which has not started yet.
+   */
+  static final int NOT_STARTED = 1;
+
+  /**
+   * A constant for the status of a game which is over.
+   */
+  static final int GAME_OVER = 2;
+
+  /**
+   * A constant for the status of an empty word.
+   */
+  static final int NO_TILE = 3;
+
+  /**
+   * A constant for the status of a square which is not on the gameboard.
+   */
+  static final int INVALID_SQUARE = 4;
+
+  /**
+   * A constant for the status of a missing direction.
+   */
+  static final int NO_DIRECTION = 5;
+
+  /**
+   * A constant for the status of a word which leaves the gameboard.
+   */
+  static final int OUTSIDE = 6;
+
+  /**
+   * A constant for the status of a word which is not in the dictionary.
+   */
+  static final int UNKNOWN_WORD = 7;
+
+  /**
+   * A constant for the status of a word which is preceded by a tile.
+   */
+  static final int NO_START = 8;
+
+  /**
+   * A constant for the status of a word which is followed by a tile.
+   */
+  static final int NO_END = 9;
+
+  /**
+   * A constant for the status of a word which differs from the tiles on its squares.
+   */
+  static final int CONFLICT = 10;
+
+  /**
+   * A constant for the status of a word which is already on the gameboard.
+   */
+  static final int NO_NEW_TILE = 11;
+
+  /**
+   * A constant for the status of a word whose letters are not on the rack.
+   */
+  static final int MISSING_LETTERS = 12;
+
+  /**
+   * A constant for the status of a first word which does not cover the center square.
+   */
+  static final int NOT_CENTERED = 13;
+
+  /**
+   * A constant for the status of a word which is not connected to the tiles on the gameboard.
+   */
+  static final int NOT_CONNECTED = 14;
+
+  /**
+   * A constant for the status of a side word which is not in the dictionary.
+   */
+  static final int UNKNOWN_SIDE_WORD = 15;
+
+  /**
+   * A constant for the bonus score of a word which uses all tiles of a full rack.
+   */
+  private static final int BONUS_SCORE = 50;
+
+  /**
+   * The letter histogram of the tiles on the rack.
+   */
+  private final LetterHistogram owned = new LetterHistogram();
+
+  /**
+   * The letter histogram of the letters of the word which are not on the gameboard.
+   */
+  private final LetterHistogram needed = new LetterHistogram();
+
+  /**
+   * The score of the tile on the rack which is played for each letter.
+   */
+  private final int[] letterScores = new int[WordGraph.LETTER_COUNT];
+
+  /**
+   * The score of the last valid word.
+   */
+  private int score;
+
+  /**
+   * The index of the letter of the last word whose side word is not in the dictionary.
+   */
+  private int failedIndex;
+
+  /**
+   * Returns the score of the last word which was validated by this validator if it was valid.
+   * 
+   * @return the score of the last valid word
+   */
+  int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Returns the index of the letter of the last word whose side word is not in the dictionary if
+   * its status was {@link #UNKNOWN_SIDE_WORD}.
+   * 
+   * @return the index of the letter whose side word is not in the dictionary
+   */
+  int getFailedIndex() {
+    return this.failedIndex;
+  }
+
+  /**
+   * Validates the specified word at the specified row and the specified column in the specified
+   * direction for the current player of the specified game and returns its status. If the word is
+   * valid, its score is computed as well.
+   * 
+   * @param game the specified game
+   * @param word the specified word
+   * @param row the specified row or -1 if the square is not valid
+   * @param col the specified column or -1 if the square is not valid
+   * @param direction the specified direction
+   * @return the status of the word, which is {@link #VALID} if the word can be played
+   */
+  int validate(Scrabble game, String word, int row, int col, Direction direction) {
+    this.score = 0;
+
+    if (game.getGameState() == GameState.PREPERATION) {
+      return NOT_STARTED;
+    }
+
+    if (game.getGameState() == GameState.GAME_OVER) {
+      return GAME_OVER;
+    }
+
+    if (word == null || word.isEmpty()) {
+      return NO_TILE;
+    }
+
+    if (row < 0 || row >= Gameboard.ROWS || col < 0 || col >= Gameboard.COLS) {
+      return INVALID_SQUARE;
+    }
+
+    if (direction == null) {
+      return NO_DIRECTION;
+    }
+
+    int length = word.length();
+    int rowStep = (direction == Direction.VERTICAL ? 1 : 0);
+    int colStep = (direction == Direction.HORIZONTAL ? 1 : 0);
+    int maxRow = row + rowStep * (length - 1);
+    int maxCol = col + colStep * (length - 1);
+
+    if (maxRow >= Gameboard.ROWS || maxCol >= Gameboard.COLS) {
+      return OUTSIDE;
+    }
+
+    if (!game.getDictionary().contains(word)) {
+      return UNKNOWN_WORD;
+    }
+
+    Gameboard gameboard = game.getGameboard();
+
+    if (row - rowStep >= 0 && col - colStep >= 0
+        && gameboard.isOccupied(row - rowStep, col - colStep)) {
+      return NO_START;
+    }
+
+    if (maxRow + rowStep < Gameboard.ROWS && maxCol + colStep < Gameboard.COLS
+        && gameboard.isOccupied(maxRow + rowStep, maxCol + colStep)) {
+      return NO_END;
+    }
+
+    int tileCount = 0;
+
+    for (int i = 0; i < length; i++) {
+      int r = row + i * rowStep;
+      int c = col + i * colStep;
+
+      if (!gameboard.isOccupied(r, c)) {
+        tileCount++;
+      } else if (gameboard.getTileAt(r, c).getLetter() != word.charAt(i)) {
+        return CONFLICT;
+      }
+    }
+
+    if (tileCount == 0) {
+      return NO_NEW_TILE;
+    }
+
+    if (!this.hasNeededLetters(game.getCurrentPlayer().getRack(), word, row, col, rowStep, colStep,
+        gameboard)) {
+      return MISSING_LETTERS;
+    }
+
+    if (gameboard.isEmpty()) {
+      int centerRow = Gameboard.CENTER_SQUARE / Gameboard.COLS;
+      int centerCol = Gameboard.CENTER_SQUARE % Gameboard.COLS;
+
+      if (row > centerRow || maxRow < centerRow || col > centerCol || maxCol < centerCol) {
+        return NOT_CENTERED;
+      }
+    } else {
+      int status = this.checkSideWords(game, gameboard, word, row, col, direction, tileCount);
+
+      if (status != VALID) {
+        return status;
+      }
+    }
+
+    this.score = this.computeScore(gameboard, word, row, col, rowStep, colStep, tileCount);
+
+    return VALID;
+  }
+
+  /**
+   * Counts the tiles of the specified rack and the letters of the specified word which are not on
+   * the gameboard into the histograms and returns true if the rack contains all needed letters. A
+   * missing letter is replaced by a joker. The score of the tile which is played for each letter is
+   * stored as well.
+   * 
+   * @param rack the specified rack
+   * @param word the specified word
+   * @param row the specified row of the first letter
+   * @param col the specified column of the first letter
+   * @param rowStep the row step of the direction
+   * @param colStep the column step of the direction
+   * @param gameboard the gameboard
+   * @return true if the rack contains all needed letters
+   */
+  private boolean hasNeededLetters(Rack rack, String word, int row, int col, int rowStep,
+      int colStep, Gameboard gameboard) {
+    this.owned.clear();
+    this.needed.clear();
+    int jokerScore = 0;
+
+    // the tiles are counted backwards, so the score of the first tile of a letter is kept
+    for (int i = rack.size() - 1; i >= 0; i--) {
+      Tile tile = rack.getTile(i);
+
+      if (tile.getLetter() == '*') {
+        this.owned.add('*');
+        jokerScore = tile.getScore();
+      }
+    }
+
+    // a letter without a tile on the rack is played with a joker
+    for (int letter = 0; letter < WordGraph.LETTER_COUNT; letter++) {
+      this.letterScores[letter] = jokerScore;
+    }
+
+    for (int i = rack.size() - 1; i >= 0; i--) {
+      Tile tile = rack.getTile(i);
+      char letter = tile.getLetter();
+
+      if (letter >= 'A' && letter <= 'Z') {
+        this.owned.add(letter);
+        this.letterScores[letter - 'A'] = tile.getScore();
+      }
+    }
+
+    for (int i = 0; i < word.length(); i++) {
+      char letter = word.charAt(i);
+
+      if (gameboard.isOccupied(row + i * rowStep, col + i * colStep)) {
+        continue;
+      }
+
+      if (letter < 'A' || letter > 'Z') {
+        return false;
+      }
+
+      this.needed.add(letter);
+    }
+
+    return this.needed.isLessOrEqualTo(this.owned);
+  }
+
+  /**
+   * Checks that the specified word is connected to the tiles on the gameboard and that each of its
+   * side words is in the dictionary of the specified game. A side word is only formed by a tile
+   * of the rack with a tile next to it. The letters which form a side word of the word graph are
+   * read from the cross checks of the gameboard.
+   * 
+   * @param game the specified game
+   * @param gameboard the gameboard of the game
+   * @param word the specified word
+   * @param row the specified row of the first letter
+   * @param col the specified column of the first letter
+   * @param direction the specified direction
+   * @param tileCount the number of tiles of the rack which are played
+   * @return the status of the side words
+   */
+  private int checkSideWords(Scrabble game, Gameboard gameboard, String word, int row, int col,
+      Direction direction, int tileCount) {
+    boolean horizontal = (direction == Direction.HORIZONTAL);
+    boolean adjacentTile = (tileCount != word.length());
+
+    for (int i = 0; i < word.length() && !adjacentTile; i++) {
+      adjacentTile = hasSideTile(gameboard, horizontal, row + (horizontal ? 0 : i),
+          col + (horizontal ? i : 0));
+    }
+
+    if (!adjacentTile) {
+      return NOT_CONNECTED;
+    }
+
+    int[] crossChecks = gameboard.getCrossChecks(game.getDictionary().getWordGraph(), direction);
+
+    for (int i = 0; i < word.length(); i++) {
+      int r = row + (horizontal ? 0 : i);
+      int c = col + (horizontal ? i : 0);
+
+      if (gameboard.isOccupied(r, c) || !hasSideTile(gameboard, horizontal, r, c)) {
+        continue;
+      }
+
+      int letter = word.charAt(i) - 'A';
+
+      if ((crossChecks[r * Gameboard.COLS + c] & (1 << letter)) == 0) {
+        this.failedIndex = i;
+        return UNKNOWN_SIDE_WORD;
+      }
+    }
+
+    return VALID;
+  }
+
+  /**
+   * Returns the score of the specified valid word. The letters which are not on the gameboard are
+   * scored with the letter scores of the rack and the premium of their squares.
+   * 
+   * @param gameboard the gameboard
+   * @param word the specified word
+   * @param row the specified row of the first letter
+   * @param col the specified column of the first letter
+   * @param rowStep the row step of the direction
+   * @param colStep the column step of the direction
+   * @param tileCount the number of tiles of the rack which are played
+   * @return the score of the specified word
+   */
+  private int computeScore(Gameboard gameboard, String word, int row, int col, int rowStep,
+      int colStep, int tileCount) {
+    int mainScore = 0;
+    int wordFactor = 1;
+    int sideScores = 0;
+
+    for (int i = 0; i < word.length(); i++) {
+      int r = row + i * rowStep;
+      int c = col + i * colStep;
+
+      if (gameboard.isOccupied(r, c)) {
+        mainScore += gameboard.getTileAt(r, c).getScore();
+        continue;
+      }
+
+      SquareType squareType = Gameboard.getSquareType(r, c);
+      int tileScore = this.letterScores[word.charAt(i) - 'A'] * squareType.getLetterFactor();
+      int sideScore = scoreOfSideTiles(gameboard, r, c, colStep, rowStep);
+      mainScore += tileScore;
+      wordFactor *= squareType.getWordFactor();
+
+      if (sideScore != 0) {
+        sideScores += (sideScore + tileScore) * squareType.getWordFactor();
+      }
+    }
+
+    return mainScore * wordFactor + sideScores
+        + (tileCount == Rack.TILE_CAPACITY ? BONUS_SCORE : 0);
+  }
+
+  /**
+   * Returns true if there is a tile next to the square at the specified row and the specified
+   * column across the direction of the word, which is below or above it for a word in horizontal
+   * direction and left or right of it for a word in vertical direction.
+   * 
+   * @param gameboard the gameboard
+   * @param horizontal true if the word is in horizontal direction
+   * @param row the specified row
+   * @param col the specified column
+   * @return true if there is a tile next to the square across the direction of the word
+   */
+  private static boolean hasSideTile(Gameboard gameboard, boolean horizontal, int row, int col) {
+    // the bits of both neighbours, a bit outside of the gameboard is never set
+    if (horizontal) {
+      return (gameboard.getColMask(col) & ((5 << row) >>> 1)) != 0;
+    } else {
+      return (gameboard.getRowMask(row) & ((5 << col) >>> 1)) != 0;
+    }
+  }
+
+  /**
+   * Returns the sum of the scores of the tiles which form the side word with the square at the
+   * specified row and the specified column. The side word runs in the specified steps.
+   * 
+   * @param gameboard the gameboard
+   * @param row the specified row
+   * @param col the specified column
+   * @param rowStep the row step of the side word
+   * @param colStep the column step of the side word
+   * @return the sum of the scores of the tiles of the side word
+   */
+  private static int scoreOfSideTiles(Gameboard gameboard, int row, int col, int rowStep,
+      int colStep) {
+    int score = 0;
+    int r = row - rowStep;
+    int c = col - colStep;
+
+    while (r >= 0 && c >= 0 && gameboard.isOccupied(r, c)) {
+      score += gameboard.getTileAt(r, c).getScore();
+      r -= rowStep;
+      c -= colStep;
+    }
+
+    r = row + rowStep;
+    c = col + colStep;
+
+    while (r < Gameboard.ROWS && c < Gameboard.COLS && gameboard.isOccupied(r, c)) {
+      score += gameboard.getTileAt(r, c).getScore();
+      r += rowStep;
+      c += colStep;
+    }
+
+    return score;
+  }
+
+}
@@ -1,9 +1,17 @@
 package main.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class Scrabble implements Serializable {
 
@@ -29,6 +37,22 @@ public class Scrabble implements Serializable {
    */
   public static final int MIN_SCORELESS_MOVE_COUNT_TO_FINISH_GAME = 6;
 
+  /**
+   * The initial value of the state hash.
+   */
+  private static final long HASH_OFFSET = 0xCBF29CE484222325L;
+
+  /**
+   * The prime which is used to combine values into the state hash.
+   */
+  private static final long HASH_PRIME = 0x100000001B3L;
+
+  /**
+   * The timer which ends the games whose current player runs out of time. It is shared by all
+   * games and runs on a single daemon thread.
+   */
+  private static final ScheduledThreadPoolExecutor TIMER = createTimer();
+
   /**
    * The tile bag of the game.
    */
@@ -37,7 +61,7 @@ public class Scrabble implements Serializable {
   /**
    * The dictionary of the game.
    */
-  private Dictionary dictionary;
+  private final Dictionary dictionary;
 
   /**
    * The gameboard of the game.
@@ -70,19 +94,37 @@ public class Scrabble implements Serializable {
   private GameState gameState;
 
   /**
-   * The remaining time for the move of the current player.
+   * The remaining time for the move of the current player in milliseconds at the start of the
+   * turn.
    */
   private long remainingTime;
 
+  /**
+   * The start of the turn of the current player as a value of {@link System#nanoTime()}.
+   */
+  private transient long turnStart;
+
   /**
    * The option for a time limit.
    */
   private boolean timeLimit;
 
   /**
-   * The timer of the game.
+   * The scheduled end of the game when the current player runs out of time or null if the timer
+   * of the game is not running.
+   */
+  private transient ScheduledFuture<?> timeout;
+
+  /**
+   * The move delta of the last move which was executed in this game.
    */
-  private Thread timeThread;
+  private transient MoveDelta lastMoveDelta;
+
+  /**
+   * The sum of the Zobrist keys of the tiles on the gameboard and on the racks and of the current
+   * player. The keys of the tiles in the tile bag are summed up by the tile bag.
+   */
+  private long zobristHash;
 
   /**
    * Constructs a scrabble game with the specified set of tiles, the specified dictionary. When the
@@ -103,7 +145,9 @@ public class Scrabble implements Serializable {
     this.scorelessMoveCount = 0;
     this.gameState = GameState.PREPERATION;
     this.remainingTime = TIME_LIMIT;
+    this.turnStart = System.nanoTime();
     this.timeLimit = timeLimit;
+    this.zobristHash = ZobristKeys.player(this.currentPlayerIndex);
   }
 
   /**
@@ -113,7 +157,7 @@ public class Scrabble implements Serializable {
    */
   public Scrabble(Scrabble original) {
     this.tileBag = new TileBag(original.getTileBag());
-    this.dictionary = new Dictionary(original.getDictionary());
+    this.dictionary = original.getDictionary();
     this.gameboard = new Gameboard(original.getGameboard());
 
     this.players = new ArrayList<>();
@@ -143,14 +187,9 @@ public class Scrabble implements Serializable {
     this.gameState = original.gameState;
 
     this.remainingTime = original.remainingTime;
+    this.turnStart = original.turnStart;
     this.timeLimit = original.timeLimit;
-
-    // TODO delete
-    if (this.timeLimit && this.gameState == GameState.PLAY) {
-      this.timeThread = new TimeThread(this);
-      this.timeThread.start();
-    }
-
+    this.zobristHash = original.zobristHash;
   }
 
   /**
@@ -176,6 +215,12 @@ public class Scrabble implements Serializable {
     this.scorelessMoveCount = turnState.getScorelessMoveCount();
     this.gameState = turnState.getGameState();
     this.remainingTime = turnState.getRemainingTime();
+    this.turnStart = System.nanoTime();
+    this.zobristHash = this.computeZobristHash();
+
+    if (this.timeout != null) {
+      this.startTimer();
+    }
   }
 
   /**
@@ -329,35 +374,43 @@ public class Scrabble implements Serializable {
       throw new GameException("There must be at least two players to start the game.");
     }
 
-    for (Player player : this.players) {
-      while (!player.getRack().isFull()) {
+    for (int i = 0; i < this.players.size(); i++) {
+      Rack rack = this.players.get(i).getRack();
+
+      while (!rack.isFull()) {
         Tile tile = this.getTileBag().removeTile();
-        player.getRack().addTile(tile);
+        rack.addTile(tile);
+        this.zobristHash += ZobristKeys.rack(i, tile);
       }
     }
 
     this.gameState = GameState.PLAY;
-
-    if (this.timeLimit) {
-      this.timeThread = new TimeThread(this);
-      this.timeThread.start();
-    }
+    this.turnStart = System.nanoTime();
+    this.startTimer();
   }
 
   /**
    * Sets the game state of this game to game over.
    */
-  public void stopGame() {
+  public synchronized void stopGame() {
     this.gameState = GameState.GAME_OVER;
+    this.startTimer();
   }
 
   /**
-   * Returns the remaining time for the current player.
+   * Returns the remaining time for the current player. While the game is running with a time
+   * limit, the time since the start of the turn is subtracted from the remaining time at the start
+   * of the turn.
    * 
    * @return the remaining time for the current player
    */
   public long getRemainingTime() {
-    return this.remainingTime;
+    if (!this.timeLimit || this.gameState != GameState.PLAY) {
+      return this.remainingTime;
+    }
+
+    long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.turnStart);
+    return Math.max(0, this.remainingTime - elapsedTime);
   }
 
   /**
@@ -422,28 +475,349 @@ public class Scrabble implements Serializable {
    */
   public synchronized void executeMove(Move move) throws GameException {
     if (this.gameState == GameState.PLAY) {
+      this.tileBag.clearDrawnTileIds();
+      long remainingTime = this.getRemainingTime();
       move.execute();
-      move.setTime(TIME_LIMIT - this.remainingTime);
+      move.setTime(TIME_LIMIT - remainingTime);
       this.moves.add(move);
       this.remainingTime = TIME_LIMIT;
-      System.out.println(move);
+      this.turnStart = System.nanoTime();
+
+      if (this.timeout != null) {
+        this.startTimer();
+      }
+
+      this.lastMoveDelta = new MoveDelta(move, this.moves.size(),
+          this.tileBag.getDrawnTileIds(), this.getStateHash());
+    }
+  }
+
+  /**
+   * Checks the specified move request without executing it. Throws an exception if the move of the
+   * request is not valid.
+   * 
+   * @param moveRequest the specified move request
+   * @throws GameException if the move of the specified move request is not valid
+   */
+  public synchronized void checkMoveRequest(MoveRequest moveRequest) throws GameException {
+    Move move = this.toMove(moveRequest);
+
+    if (!move.isValid()) {
+      throw move.gameException;
+    }
+  }
+
+  /**
+   * Executes the move of the specified move request and returns its move delta. Throws an
+   * exception if the move of the request is not valid, so nothing was executed.
+   * 
+   * @param moveRequest the specified move request
+   * @return the move delta of the executed move
+   * @throws GameException if the move of the specified move request is not valid
+   */
+  public synchronized MoveDelta executeMoveRequest(MoveRequest moveRequest) throws GameException {
+    this.executeMove(this.toMove(moveRequest));
+    return this.lastMoveDelta;
+  }
+
+  /**
+   * Returns the move of the specified move request. Throws an exception if it is not the turn of
+   * the player of the request.
+   * 
+   * @param moveRequest the specified move request
+   * @return the move of the specified move request
+   * @throws GameException if it is not the turn of the player of the specified move request
+   */
+  private Move toMove(MoveRequest moveRequest) throws GameException {
+    if (this.gameState != GameState.PLAY
+        || !this.getCurrentPlayer().getName().equals(moveRequest.getPlayer())) {
+      throw new GameException("It is not the turn of " + moveRequest.getPlayer() + "!");
+    }
+
+    return moveRequest.toMove(this);
+  }
+
+  /**
+   * Returns the move delta of the last move which was executed in this game. Returns null if no
+   * move was executed in this game.
+   * 
+   * @return the move delta of the last move which was executed in this game
+   */
+  public synchronized MoveDelta getLastMoveDelta() {
+    return this.lastMoveDelta;
+  }
+
+  /**
+   * Executes the move of the specified move delta which was executed in another copy of this game.
+   * The tiles are drawn in the same order as in the other copy. Throws an exception if the move is
+   * not the next move of this game or if this game differs from the other copy after the move.
+   * 
+   * @param moveDelta the specified move delta
+   * @throws GameException if the move delta can not be applied to this game
+   */
+  public synchronized void applyMoveDelta(MoveDelta moveDelta) throws GameException {
+    if (moveDelta.getSequenceNumber() != this.moves.size() + 1) {
+      throw new GameException("The move " + moveDelta.getSequenceNumber()
+          + " does not follow the move " + this.moves.size() + "!");
+    }
+
+    if (this.gameState != GameState.PLAY
+        || !this.getCurrentPlayer().getName().equals(moveDelta.getPlayer())) {
+      throw new GameException("It is not the turn of " + moveDelta.getPlayer() + "!");
+    }
+
+    Move move = moveDelta.toMove(this);
+    this.tileBag.setScriptedTileIds(moveDelta.getDrawnTileIds());
+
+    try {
+      this.executeMove(move);
+    } finally {
+      this.tileBag.setScriptedTileIds(null);
+    }
+
+    move.setTime(moveDelta.getTime());
+
+    if (this.getStateHash() != moveDelta.getStateHash()) {
+      throw new GameException("The game is out of sync after the move " + move + "!");
+    }
+  }
+
+  /**
+   * Returns a hash of the state of this game. The hash covers the tiles in the tile bag, on the
+   * gameboard and on the racks, the scores, the current player, the scoreless move count, the game
+   * state and the move count. Two copies of a game which are in the same state have the same hash.
+   * 
+   * @return a hash of the state of this game
+   */
+  public synchronized long getStateHash() {
+    long hash = HASH_OFFSET;
+    hash = hash(hash, this.currentPlayerIndex);
+    hash = hash(hash, this.scorelessMoveCount);
+    hash = hash(hash, this.gameState.ordinal());
+    hash = hash(hash, this.moves.size());
+
+    for (Player player : this.players) {
+      Rack rack = player.getRack();
+      hash = hash(hash, player.getScore());
+      hash = hash(hash, rack.size());
+
+      for (int i = 0; i < rack.size(); i++) {
+        hash = hash(hash, hash(rack.getTile(i)));
+      }
+    }
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        Square square = this.gameboard.getSquareAt(row, col);
+
+        if (!square.isEmpty()) {
+          hash = hash(hash, row * Gameboard.COLS + col);
+          hash = hash(hash, hash(square.getTile()));
+        }
+      }
+    }
+
+    long tileBagHash = 0;
+
+    for (int i = 0; i < this.tileBag.size(); i++) {
+      tileBagHash += hash(HASH_OFFSET, hash(this.tileBag.getTile(i)));
     }
+
+    return hash(hash, tileBagHash);
+  }
+
+  /**
+   * Returns the Zobrist hash of the position of this game, which covers the tiles on the
+   * gameboard, on the racks and in the tile bag and the current player. The hash is updated with
+   * every move, so it is cheap to compare positions. Two games with the same tiles at the same
+   * places have the same hash, even if the tiles are different objects.
+   * 
+   * @return the Zobrist hash of the position of this game
+   */
+  public synchronized long getZobristHash() {
+    return this.zobristHash + this.tileBag.getHash();
   }
 
   /**
-   * Subtracts the specified elapsed time from the elapsed time.
+   * Returns the Zobrist hash of the tiles on the gameboard and on the racks and of the current
+   * player, which is computed from scratch.
    * 
-   * @param elapsedTime the specified elapsed time.
+   * @return the Zobrist hash of the tiles on the gameboard and on the racks
    */
-  synchronized void updateRemainingTime(long elapsedTime) {
-    if (this.timeLimit) {
-      this.remainingTime = this.remainingTime - elapsedTime;
+  long computeZobristHash() {
+    long hash = ZobristKeys.player(this.currentPlayerIndex);
+
+    for (int i = 0; i < this.players.size(); i++) {
+      Rack rack = this.players.get(i).getRack();
 
-      if (this.remainingTime < 0) {
-        this.remainingTime = 0;
-        this.gameState = GameState.GAME_OVER;
+      for (int j = 0; j < rack.size(); j++) {
+        hash += ZobristKeys.rack(i, rack.getTile(j));
       }
     }
+
+    for (int row = 0; row < Gameboard.ROWS; row++) {
+      for (int col = 0; col < Gameboard.COLS; col++) {
+        Square square = this.gameboard.getSquareAt(row, col);
+
+        if (!square.isEmpty()) {
+          hash += ZobristKeys.square(row, col, square.getTile());
+        }
+      }
+    }
+
+    return hash;
+  }
+
+  /**
+   * Adds the Zobrist key of the specified tile on the rack of the current player to the hash or
+   * subtracts it if the specified value is false.
+   * 
+   * @param tile the specified tile
+   * @param added true if the tile is added to the rack and false if it is removed
+   */
+  void updateRackHash(Tile tile, boolean added) {
+    long key = ZobristKeys.rack(this.currentPlayerIndex, tile);
+    this.zobristHash += (added ? key : -key);
+  }
+
+  /**
+   * Adds the Zobrist key of the specified tile on the square at the specified row and the
+   * specified column to the hash.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @param tile the specified tile
+   */
+  void updateSquareHash(int row, int col, Tile tile) {
+    this.zobristHash += ZobristKeys.square(row, col, tile);
+  }
+
+  /**
+   * Returns the hash of the specified tile.
+   * 
+   * @param tile the specified tile
+   * @return the hash of the specified tile
+   */
+  private static long hash(Tile tile) {
+    return ((long) tile.getTileId() << Character.SIZE) | tile.getLetter();
+  }
+
+  /**
+   * Returns the hash of the specified value combined with the specified hash.
+   * 
+   * @param hash the specified hash
+   * @param value the specified value
+   * @return the hash of the specified value combined with the specified hash
+   */
+  private static long hash(long hash, long value) {
+    hash = (hash ^ value) * HASH_PRIME;
+    return hash ^ (hash >>> 32);
+  }
+
+  /**
+   * Starts the timer of this game for the remaining time of the current player. A running timer
+   * is cancelled first. The timer is only started while this game is running with a time limit.
+   */
+  private synchronized void startTimer() {
+    if (this.timeout != null) {
+      this.timeout.cancel(false);
+      this.timeout = null;
+    }
+
+    if (this.timeLimit && this.gameState == GameState.PLAY) {
+      this.timeout =
+          TIMER.schedule(this::checkTimeout, this.getRemainingTime(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Ends this game if the current player has run out of time. Otherwise the timer is started
+   * again for the remaining time, because the turn may have changed since it was scheduled.
+   */
+  private synchronized void checkTimeout() {
+    if (this.timeLimit && this.gameState == GameState.PLAY && this.getRemainingTime() == 0) {
+      this.remainingTime = 0;
+      this.gameState = GameState.GAME_OVER;
+      this.timeout = null;
+    } else {
+      this.startTimer();
+    }
+  }
+
+  /**
+   * Writes this game in the compact binary form of {@link GameCoding}. The dictionary is written
+   * as the filename of its dictionary file and the remaining time is written as the remaining time
+   * at the moment of writing.
+   * 
+   * @param out the specified output
+   * @throws IOException if the game can not be written
+   */
+  public synchronized void write(DataOutput out) throws IOException {
+    GameCoding.writeDictionary(out, this.dictionary);
+    out.writeBoolean(this.timeLimit);
+    GameCoding.writeTurnState(out, this.tileBag, this.gameboard, this.players, this.moves,
+        this.currentPlayerIndex, this.scorelessMoveCount, this.gameState,
+        this.getRemainingTime());
+  }
+
+  /**
+   * Reads a game which was written by {@link #write(DataOutput)}. The dictionary is read from the
+   * local dictionary file and the turn of the current player starts again with the remaining time
+   * which was written.
+   * 
+   * @param in the specified input
+   * @return the game which was read
+   * @throws IOException if the game can not be read or its dictionary is not available
+   */
+  public static Scrabble read(DataInput in) throws IOException {
+    Dictionary dictionary = GameCoding.readDictionary(in);
+    boolean timeLimit = in.readBoolean();
+    TurnState turnState = GameCoding.readTurnState(in);
+
+    Scrabble game = new Scrabble(new ArrayList<>(), dictionary, timeLimit);
+    game.setTurnState(turnState);
+    return game;
+  }
+
+  /**
+   * Writes this game to the specified stream. The remaining time is written as the remaining time
+   * at the moment of writing.
+   * 
+   * @param out the specified stream
+   * @throws IOException if an I/O error occurs
+   */
+  private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+    this.remainingTime = this.getRemainingTime();
+    this.turnStart = System.nanoTime();
+    out.defaultWriteObject();
+  }
+
+  /**
+   * Reads this game from the specified stream. The turn of the current player starts again with
+   * the remaining time which was written.
+   * 
+   * @param in the specified stream
+   * @throws IOException if an I/O error occurs
+   * @throws ClassNotFoundException if the class of a serialized object can not be found
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.turnStart = System.nanoTime();
+  }
+
+  /**
+   * Returns the timer which is shared by all games.
+   * 
+   * @return the timer which is shared by all games
+   */
+  private static ScheduledThreadPoolExecutor createTimer() {
+    ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+      Thread thread = new Thread(runnable, "Scrabble timer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    timer.setRemoveOnCancelPolicy(true);
+    return timer;
   }
 
   /**
@@ -464,7 +838,9 @@ public class Scrabble implements Serializable {
    * Updates the current player.
    */
   void updateCurrentPlayer() {
+    this.zobristHash -= ZobristKeys.player(this.currentPlayerIndex);
     this.currentPlayerIndex = (this.currentPlayerIndex + 1) % this.players.size();
+    this.zobristHash += ZobristKeys.player(this.currentPlayerIndex);
   }
 
   /**
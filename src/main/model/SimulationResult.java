@@ -0,0 +1,229 @@
+package main.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The SimulationResult class represents the result of a simulation of games between computer
+ * players. It contains the count of games and moves, the time of the simulation, the time of each
+ * move and the final scores and wins of each seat.
+ * 
+ * @author sekeller
+ */
+public class SimulationResult {
+
+  /**
+   * The difficulties of the computer players, one for each seat.
+   */
+  private final List<Difficulty> difficulties;
+
+  /**
+   * The count of games which were played.
+   */
+  private final int gameCount;
+
+  /**
+   * The count of games which were stopped because they reached the maximum move count.
+   */
+  private final int stoppedGameCount;
+
+  /**
+   * The elapsed time of the simulation in nanoseconds.
+   */
+  private final long elapsedTime;
+
+  /**
+   * The sorted times of all moves in nanoseconds.
+   */
+  private final long[] moveTimes;
+
+  /**
+   * The sorted final scores of each seat.
+   */
+  private final int[][] scores;
+
+  /**
+   * The count of wins of each seat. A game with more than one winner counts for each winner.
+   */
+  private final int[] wins;
+
+  /**
+   * Constructs a simulation result with the specified difficulties, the specified count of games,
+   * the specified count of stopped games, the specified elapsed time, the specified move times, the
+   * specified scores and the specified wins.
+   * 
+   * @param difficulties the specified difficulties
+   * @param gameCount the specified count of games
+   * @param stoppedGameCount the specified count of stopped games
+   * @param elapsedTime the specified elapsed time in nanoseconds
+   * @param moveTimes the specified move times in nanoseconds
+   * @param scores the specified final scores of each seat
+   * @param wins the specified count of wins of each seat
+   */
+  SimulationResult(List<Difficulty> difficulties, int gameCount, int stoppedGameCount,
+      long elapsedTime, long[] moveTimes, int[][] scores, int[] wins) {
+    this.difficulties = difficulties;
+    this.gameCount = gameCount;
+    this.stoppedGameCount = stoppedGameCount;
+    this.elapsedTime = elapsedTime;
+    this.moveTimes = moveTimes;
+    this.scores = scores;
+    this.wins = wins;
+
+    Arrays.sort(this.moveTimes);
+    for (int[] seatScores : this.scores) {
+      Arrays.sort(seatScores);
+    }
+  }
+
+  /**
+   * Returns the count of games of this simulation result.
+   * 
+   * @return the count of games of this simulation result
+   */
+  public int getGameCount() {
+    return this.gameCount;
+  }
+
+  /**
+   * Returns the count of stopped games of this simulation result.
+   * 
+   * @return the count of stopped games of this simulation result
+   */
+  public int getStoppedGameCount() {
+    return this.stoppedGameCount;
+  }
+
+  /**
+   * Returns the count of moves of this simulation result.
+   * 
+   * @return the count of moves of this simulation result
+   */
+  public int getMoveCount() {
+    return this.moveTimes.length;
+  }
+
+  /**
+   * Returns the elapsed time of this simulation result in nanoseconds.
+   * 
+   * @return the elapsed time of this simulation result in nanoseconds
+   */
+  public long getElapsedTime() {
+    return this.elapsedTime;
+  }
+
+  /**
+   * Returns the count of games per second of this simulation result.
+   * 
+   * @return the count of games per second of this simulation result
+   */
+  public double getGamesPerSecond() {
+    return this.gameCount * 1e9 / Math.max(1, this.elapsedTime);
+  }
+
+  /**
+   * Returns the count of moves per second of this simulation result.
+   * 
+   * @return the count of moves per second of this simulation result
+   */
+  public double getMovesPerSecond() {
+    return this.moveTimes.length * 1e9 / Math.max(1, this.elapsedTime);
+  }
+
+  /**
+   * Returns the specified percentile of the move times of this simulation result in nanoseconds.
+   * 
+   * @param percentile the specified percentile between 0 and 100
+   * @return the specified percentile of the move times in nanoseconds
+   */
+  public long getMoveTimePercentile(double percentile) {
+    if (this.moveTimes.length == 0) {
+      return 0;
+    }
+    return this.moveTimes[index(this.moveTimes.length, percentile)];
+  }
+
+  /**
+   * Returns the specified percentile of the final scores of the specified seat.
+   * 
+   * @param seat the specified seat
+   * @param percentile the specified percentile between 0 and 100
+   * @return the specified percentile of the final scores of the specified seat
+   */
+  public int getScorePercentile(int seat, double percentile) {
+    if (this.scores[seat].length == 0) {
+      return 0;
+    }
+    return this.scores[seat][index(this.scores[seat].length, percentile)];
+  }
+
+  /**
+   * Returns the mean final score of the specified seat.
+   * 
+   * @param seat the specified seat
+   * @return the mean final score of the specified seat
+   */
+  public double getMeanScore(int seat) {
+    return Arrays.stream(this.scores[seat]).average().orElse(0);
+  }
+
+  /**
+   * Returns the count of wins of the specified seat.
+   * 
+   * @param seat the specified seat
+   * @return the count of wins of the specified seat
+   */
+  public int getWinCount(int seat) {
+    return this.wins[seat];
+  }
+
+  /**
+   * Returns the index of the specified percentile in a sorted array with the specified length.
+   * 
+   * @param length the specified length
+   * @param percentile the specified percentile between 0 and 100
+   * @return the index of the specified percentile
+   */
+  private static int index(int length, double percentile) {
+    int index = (int) Math.ceil(percentile / 100 * length) - 1;
+    return Math.min(length - 1, Math.max(0, index));
+  }
+
+  /**
+   * Returns the specified time in nanoseconds as milliseconds.
+   * 
+   * @param time the specified time in nanoseconds
+   * @return the specified time as milliseconds
+   */
+  private static String millis(long time) {
+    return String.format("%.3f ms", time / 1e6);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder();
+    report.append(String.format("Games: %d (%d stopped at the maximum move count)%n",
+        this.gameCount, this.stoppedGameCount));
+    report.append(String.format("Moves: %d%n", this.moveTimes.length));
+    report.append(String.format("Time: %.3f s%n", this.elapsedTime / 1e9));
+    report.append(String.format("Games/s: %.2f%n", this.getGamesPerSecond()));
+    report.append(String.format("Moves/s: %.2f%n", this.getMovesPerSecond()));
+    report.append("Move time: min " + millis(this.getMoveTimePercentile(0)) + ", p50 "
+        + millis(this.getMoveTimePercentile(50)) + ", p90 "
+        + millis(this.getMoveTimePercentile(90)) + ", p99 "
+        + millis(this.getMoveTimePercentile(99)) + ", max "
+        + millis(this.getMoveTimePercentile(100)) + System.lineSeparator());
+
+    for (int seat = 0; seat < this.difficulties.size(); seat++) {
+      report.append(String.format(
+          "Seat %d (%s): wins %d, mean score %.1f, min %d, p10 %d, p50 %d, p90 %d, max %d%n",
+          seat + 1, this.difficulties.get(seat), this.wins[seat], this.getMeanScore(seat),
+          this.getScorePercentile(seat, 0), this.getScorePercentile(seat, 10),
+          this.getScorePercentile(seat, 50), this.getScorePercentile(seat, 90),
+          this.getScorePercentile(seat, 100)));
+    }
+
+    return report.toString();
+  }
+
+}
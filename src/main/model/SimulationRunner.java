@@ -0,0 +1,281 @@
+package main.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The SimulationRunner class plays complete games between computer players without a GUI. The
+ * computer players do not wait for their minimum turn time and the games are played in parallel,
+ * so the runner can be used for load tests and for tuning the difficulties.
+ * 
+ * @author sekeller
+ */
+public class SimulationRunner {
+
+  /**
+   * The default count of games.
+   */
+  public static final int DEFAULT_GAME_COUNT = 100;
+
+  /**
+   * The maximum count of moves of a game. Games which reach it are stopped.
+   */
+  public static final int MAX_MOVE_COUNT = 500;
+
+  /**
+   * The dictionary of the games.
+   */
+  private final Dictionary dictionary;
+
+  /**
+   * The difficulties of the computer players, one for each seat.
+   */
+  private final List<Difficulty> difficulties;
+
+  /**
+   * The count of games.
+   */
+  private final int gameCount;
+
+  /**
+   * The count of threads on which the games are played.
+   */
+  private final int threadCount;
+
+  /**
+   * The seed of the tile bag of the first game. The tile bag of each following game uses the next
+   * seed.
+   */
+  private final long seed;
+
+  /**
+   * Constructs a simulation runner with the specified dictionary, the specified difficulties, the
+   * specified count of games, the specified count of threads and the specified seed.
+   * 
+   * @param dictionary the specified dictionary
+   * @param difficulties the specified difficulties, one for each seat
+   * @param gameCount the specified count of games
+   * @param threadCount the specified count of threads
+   * @param seed the specified seed of the tile bag of the first game
+   */
+  public SimulationRunner(Dictionary dictionary, List<Difficulty> difficulties, int gameCount,
+      int threadCount, long seed) {
+    if (difficulties.size() < Scrabble.MIN_PLAYER_COUNT
+        || difficulties.size() > Scrabble.MAX_PLAYER_COUNT) {
+      throw new IllegalArgumentException("There must be between " + Scrabble.MIN_PLAYER_COUNT
+          + " and " + Scrabble.MAX_PLAYER_COUNT + " computer players.");
+    }
+
+    this.dictionary = dictionary;
+    this.difficulties = new ArrayList<>(difficulties);
+    this.gameCount = gameCount;
+    this.threadCount = threadCount;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays all games and returns the result of the simulation.
+   * 
+   * @return the result of the simulation
+   * @throws InterruptedException if the simulation is interrupted
+   * @throws GameException if a move of a computer player can not be executed
+   */
+  public SimulationResult run() throws InterruptedException, GameException {
+    ExecutorService executor = Executors.newFixedThreadPool(this.threadCount);
+    List<Future<GameResult>> futures = new ArrayList<>();
+    long startTime = System.nanoTime();
+
+    try {
+      for (int i = 0; i < this.gameCount; i++) {
+        long gameSeed = this.seed + i;
+        futures.add(executor.submit(() -> this.playGame(gameSeed)));
+      }
+
+      List<GameResult> results = new ArrayList<>();
+      for (Future<GameResult> future : futures) {
+        results.add(future.get());
+      }
+
+      return this.createResult(results, System.nanoTime() - startTime);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof GameException) {
+        throw (GameException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Plays one game with a tile bag with the specified seed and returns its result.
+   * 
+   * @param gameSeed the specified seed
+   * @return the result of the game
+   * @throws GameException if a move of a computer player can not be executed
+   */
+  private GameResult playGame(long gameSeed) throws GameException {
+    Scrabble game = new Scrabble(TileSet.getStandard().create(), this.dictionary, false);
+    game.getTileBag().setSeed(gameSeed);
+
+    for (int i = 0; i < this.difficulties.size(); i++) {
+      ComputerPlayer player = new ComputerPlayer("Bot " + (i + 1), this.difficulties.get(i));
+      player.setMinTurnTime(0);
+      game.addPlayer(player);
+    }
+
+    game.startGame();
+    long[] moveTimes = new long[MAX_MOVE_COUNT];
+
+    while (game.getGameState() == GameState.PLAY && game.getMoveCount() < MAX_MOVE_COUNT) {
+      long startTime = System.nanoTime();
+      ComputerPlayer player = (ComputerPlayer) game.getCurrentPlayer();
+      game.executeMove(player.chooseMove(game));
+      moveTimes[game.getMoveCount() - 1] = System.nanoTime() - startTime;
+    }
+
+    boolean stopped = (game.getGameState() == GameState.PLAY);
+    if (stopped) {
+      game.stopGame();
+    }
+
+    int[] scores = new int[game.getPlayerCount()];
+    for (int i = 0; i < scores.length; i++) {
+      scores[i] = game.getPlayer(i).getScore();
+    }
+
+    return new GameResult(Arrays.copyOf(moveTimes, game.getMoveCount()), scores, stopped);
+  }
+
+  /**
+   * Returns the result of the simulation with the specified results of the games and the
+   * specified elapsed time.
+   * 
+   * @param results the specified results of the games
+   * @param elapsedTime the specified elapsed time in nanoseconds
+   * @return the result of the simulation
+   */
+  private SimulationResult createResult(List<GameResult> results, long elapsedTime) {
+    int seatCount = this.difficulties.size();
+    int[][] scores = new int[seatCount][results.size()];
+    int[] wins = new int[seatCount];
+    int stoppedGameCount = 0;
+    int moveCount = 0;
+
+    for (GameResult result : results) {
+      moveCount += result.moveTimes.length;
+    }
+
+    long[] moveTimes = new long[moveCount];
+    int offset = 0;
+
+    for (int game = 0; game < results.size(); game++) {
+      GameResult result = results.get(game);
+      System.arraycopy(result.moveTimes, 0, moveTimes, offset, result.moveTimes.length);
+      offset += result.moveTimes.length;
+
+      if (result.stopped) {
+        stoppedGameCount++;
+      }
+
+      int highScore = Arrays.stream(result.scores).max().orElse(0);
+      for (int seat = 0; seat < seatCount; seat++) {
+        scores[seat][game] = result.scores[seat];
+        if (result.scores[seat] == highScore) {
+          wins[seat]++;
+        }
+      }
+    }
+
+    return new SimulationResult(this.difficulties, results.size(), stoppedGameCount, elapsedTime,
+        moveTimes, scores, wins);
+  }
+
+  /**
+   * Plays games between computer players and prints the result of the simulation. The arguments
+   * are the file name of the dictionary in {@link Dictionary#PATH}, the count of games (default
+   * {@link #DEFAULT_GAME_COUNT}), the count of threads (default the count of processors), the
+   * difficulties of the computer players separated by commas (default two hard computer players)
+   * and the seed of the tile bag of the first game (default the current time).
+   * 
+   * @param args file name of the dictionary, count of games, count of threads, difficulties and
+   *        seed
+   */
+  public static void main(String[] args) {
+    if (args.length == 0) {
+      System.err.println("Usage: SimulationRunner <dictionary> [games] [threads] "
+          + "[difficulties, e.g. HARD,EASY] [seed]");
+      return;
+    }
+
+    Dictionary dictionary = Dictionary.readFile(args[0]);
+
+    if (dictionary.getWordGraph().getWordCount() == 0) {
+      System.err.println("The dictionary " + args[0] + " could not be read.");
+      return;
+    }
+
+    int gameCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_GAME_COUNT;
+    int threadCount =
+        args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    List<Difficulty> difficulties = new ArrayList<>();
+
+    for (String difficulty : (args.length > 3 ? args[3] : "HARD,HARD").split(",")) {
+      difficulties.add(Difficulty.valueOf(difficulty.trim().toUpperCase()));
+    }
+
+    long seed = args.length > 4 ? Long.parseLong(args[4]) : System.currentTimeMillis();
+
+    try {
+      SimulationResult result =
+          new SimulationRunner(dictionary, difficulties, gameCount, threadCount, seed).run();
+      System.out
+          .println("Dictionary: " + args[0] + ", threads: " + threadCount + ", seed: " + seed);
+      System.out.print(result);
+    } catch (InterruptedException | GameException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * The GameResult class represents the result of one game of a simulation.
+   */
+  private static class GameResult {
+
+    /**
+     * The times of the moves of the game in nanoseconds.
+     */
+    private final long[] moveTimes;
+
+    /**
+     * The final scores of the players of the game.
+     */
+    private final int[] scores;
+
+    /**
+     * True if the game was stopped because it reached the maximum move count.
+     */
+    private final boolean stopped;
+
+    /**
+     * Constructs a game result with the specified move times, the specified scores and the
+     * specified value for stopped.
+     * 
+     * @param moveTimes the specified move times in nanoseconds
+     * @param scores the specified final scores
+     * @param stopped the specified value for stopped
+     */
+    private GameResult(long[] moveTimes, int[] scores, boolean stopped) {
+      this.moveTimes = moveTimes;
+      this.scores = scores;
+      this.stopped = stopped;
+    }
+
+  }
+
+}
@@ -3,7 +3,8 @@ package main.model;
 import java.io.Serializable;
 
 /**
- * The Square class represents a square on the game board.
+ * The Square class represents a square on the game board. A square is a view of the gameboard,
+ * which stores the tiles of all squares itself.
  * 
  * @author sekeller
  */
@@ -12,36 +13,32 @@ public class Square implements Serializable {
   private static final long serialVersionUID = 1L;
 
   /**
-   * The square type of this square.
+   * The gameboard of this square.
    */
-  private final SquareType squareType;
+  private final Gameboard gameboard;
 
   /**
-   * The tile placed on this square.
+   * The row of this square.
    */
-  private Tile tile;
+  private final int row;
 
   /**
-   * Constructs a square with the specified square type.
-   * 
-   * @param squareType the specified square type
+   * The column of this square.
    */
-  Square(SquareType squareType) {
-    this.squareType = squareType;
-    this.tile = null;
-  }
+  private final int col;
 
   /**
-   * Constructs a copy of the specified square.
+   * Constructs a view of the square at the specified row and the specified column of the specified
+   * gameboard.
    * 
-   * @param original the specified square
+   * @param gameboard the specified gameboard
+   * @param row the specified row
+   * @param col the specified column
    */
-  Square(Square original) {
-    this.squareType = original.squareType;
-
-    if (!original.isEmpty()) {
-      this.tile = new Tile(original.getTile());
-    }
+  Square(Gameboard gameboard, int row, int col) {
+    this.gameboard = gameboard;
+    this.row = row;
+    this.col = col;
   }
 
   /**
@@ -50,7 +47,7 @@ public class Square implements Serializable {
    * @return the square type of this square
    */
   public SquareType getSquareType() {
-    return this.squareType;
+    return Gameboard.getSquareType(this.row, this.col);
   }
 
   /**
@@ -59,7 +56,7 @@ public class Square implements Serializable {
    * @return true if this square is empty
    */
   public boolean isEmpty() {
-    return this.tile == null;
+    return !this.gameboard.isOccupied(this.row, this.col);
   }
 
   /**
@@ -68,7 +65,7 @@ public class Square implements Serializable {
    * @return the tile placed on this square
    */
   public Tile getTile() {
-    return this.tile;
+    return this.gameboard.getTileAt(this.row, this.col);
   }
 
   /**
@@ -77,7 +74,7 @@ public class Square implements Serializable {
    * @param tile the specified tile
    */
   void setTile(Tile tile) {
-    this.tile = tile;
+    this.gameboard.setTileAt(this.row, this.col, tile);
   }
 
 }
@@ -44,6 +44,19 @@ public class Tile implements Serializable {
     this.tileId = NEXT_ID++;
   }
 
+  /**
+   * Constructs a tile with the specified tile id, letter and score.
+   * 
+   * @param tileId the specified tile id
+   * @param letter the specified letter
+   * @param score the specified score
+   */
+  Tile(int tileId, char letter, int score) {
+    this.letter = letter;
+    this.score = score;
+    this.tileId = tileId;
+  }
+
   /**
    * Constructs a copy of the specified tile.
    * 
@@ -96,6 +109,11 @@ public class Tile implements Serializable {
     return (object instanceof Tile) && (this.tileId == ((Tile) object).tileId);
   }
 
+  @Override
+  public int hashCode() {
+    return this.tileId;
+  }
+
   @Override
   public String toString() {
     return Character.toString(this.letter) + "(" + Integer.toString(this.score) + ")";
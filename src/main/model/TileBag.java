@@ -1,9 +1,12 @@
 package main.model;
 
 import java.io.Serializable;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Random;
 
 /**
  * The TileBag class represents a bag of tiles.
@@ -19,11 +22,37 @@ public class TileBag implements Serializable {
    */
   private List<Tile> tiles;
 
+  /**
+   * The sum of the Zobrist keys of the tiles in the bag.
+   */
+  private long hash;
+
+  /**
+   * The ids of the tiles which have to be drawn next or null if the tiles are drawn randomly.
+   */
+  private transient Deque<Integer> scriptedTileIds;
+
+  /**
+   * The ids of the tiles which were drawn since the ids were cleared or null if the drawn tiles are
+   * not recorded.
+   */
+  private transient List<Integer> drawnTileIds;
+
+  /**
+   * The random number generator which draws the tiles or null if the tiles are drawn with
+   * {@link Math#random()}.
+   */
+  private transient Random random;
+
   /**
    * Constructs an empty bag.
    */
   TileBag(Collection<Tile> tiles) {
     this.tiles = new ArrayList<>(tiles);
+
+    for (Tile tile : tiles) {
+      this.hash += ZobristKeys.bag(tile);
+    }
   }
 
   /**
@@ -37,6 +66,8 @@ public class TileBag implements Serializable {
     for (Tile tile : original.tiles) {
       this.tiles.add(new Tile(tile));
     }
+
+    this.hash = original.hash;
   }
 
   /**
@@ -64,16 +95,104 @@ public class TileBag implements Serializable {
    */
   void addAllTiles(Collection<Tile> tiles) {
     this.tiles.addAll(tiles);
+
+    for (Tile tile : tiles) {
+      this.hash += ZobristKeys.bag(tile);
+    }
+  }
+
+  /**
+   * Sets the seed of the random number generator of this bag to the specified seed, so the tiles
+   * are drawn in the same order whenever the bag contains the same tiles.
+   * 
+   * @param seed the specified seed
+   */
+  public void setSeed(long seed) {
+    this.random = new Random(seed);
   }
 
   /**
-   * Removes a random tile from this bag. Returns the tile that was removed from the bag.
+   * Removes a random tile from this bag or the next scripted tile if there is one. Returns the tile
+   * that was removed from the bag.
    * 
    * @return the tile that was removed from the bag
    */
   Tile removeTile() {
-    int index = (int) (Math.random() * this.tiles.size());
-    return this.tiles.remove(index);
+    int index = (this.random == null ? (int) (Math.random() * this.tiles.size())
+        : this.random.nextInt(this.tiles.size()));
+
+    if (this.scriptedTileIds != null && !this.scriptedTileIds.isEmpty()) {
+      int tileId = this.scriptedTileIds.poll();
+
+      for (int i = 0; i < this.tiles.size(); i++) {
+        if (this.tiles.get(i).getTileId() == tileId) {
+          index = i;
+          break;
+        }
+      }
+    }
+
+    Tile tile = this.tiles.remove(index);
+    this.hash -= ZobristKeys.bag(tile);
+
+    if (this.drawnTileIds != null) {
+      this.drawnTileIds.add(tile.getTileId());
+    }
+
+    return tile;
+  }
+
+  /**
+   * Returns the sum of the Zobrist keys of the tiles in this bag.
+   * 
+   * @return the sum of the Zobrist keys of the tiles in this bag
+   */
+  long getHash() {
+    return this.hash;
+  }
+
+  /**
+   * Returns the tile with the specified index.
+   * 
+   * @param index the specified index
+   * @return the tile with the specified index
+   */
+  Tile getTile(int index) {
+    return this.tiles.get(index);
+  }
+
+  /**
+   * Sets the ids of the tiles which are drawn next to the specified ids. The tiles are drawn
+   * randomly again if the specified ids are null or all of them were drawn.
+   * 
+   * @param tileIds the specified ids
+   */
+  void setScriptedTileIds(int[] tileIds) {
+    if (tileIds == null) {
+      this.scriptedTileIds = null;
+    } else {
+      this.scriptedTileIds = new ArrayDeque<>();
+
+      for (int tileId : tileIds) {
+        this.scriptedTileIds.add(tileId);
+      }
+    }
+  }
+
+  /**
+   * Clears the ids of the drawn tiles and records the ids of all tiles which are drawn from now on.
+   */
+  void clearDrawnTileIds() {
+    this.drawnTileIds = new ArrayList<>();
+  }
+
+  /**
+   * Returns the ids of the tiles which were drawn since the ids were cleared.
+   * 
+   * @return the ids of the tiles which were drawn since the ids were cleared
+   */
+  List<Integer> getDrawnTileIds() {
+    return (this.drawnTileIds == null ? new ArrayList<>() : new ArrayList<>(this.drawnTileIds));
   }
 
 }
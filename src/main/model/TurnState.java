@@ -1,5 +1,8 @@
 package main.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -52,6 +55,40 @@ public class TurnState implements Serializable {
     this.remainingTime = game.getRemainingTime();
   }
 
+  TurnState(TileBag tileBag, Gameboard gameboard, List<Player> players, List<Move> moves,
+      int currentPlayerIndex, int scorelessMoveCount, GameState gameState, long remainingTime) {
+    this.tileBag = tileBag;
+    this.gameboard = gameboard;
+    this.players = players;
+    this.moves = moves;
+    this.currentPlayerIndex = currentPlayerIndex;
+    this.scorelessMoveCount = scorelessMoveCount;
+    this.gameState = gameState;
+    this.remainingTime = remainingTime;
+  }
+
+  /**
+   * Writes this turn state in the compact binary form of {@link GameCoding}.
+   * 
+   * @param out the specified output
+   * @throws IOException if the turn state can not be written
+   */
+  public void write(DataOutput out) throws IOException {
+    GameCoding.writeTurnState(out, this.tileBag, this.gameboard, this.players, this.moves,
+        this.currentPlayerIndex, this.scorelessMoveCount, this.gameState, this.remainingTime);
+  }
+
+  /**
+   * Reads a turn state which was written by {@link #write(DataOutput)}.
+   * 
+   * @param in the specified input
+   * @return the turn state which was read
+   * @throws IOException if the turn state can not be read or is not valid
+   */
+  public static TurnState read(DataInput in) throws IOException {
+    return GameCoding.readTurnState(in);
+  }
+
   public TileBag getTileBag() {
     return this.tileBag;
   }
@@ -0,0 +1,644 @@
+package main.model;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The WordGraph class represents the words of a dictionary as a minimized directed acyclic word
+ * graph. Every path from the root to a node which is marked as the end of a word spells a word of
+ * the dictionary and equal suffixes of words share the same nodes. The nodes and the edges are
+ * stored in flat integer buffers where the outgoing edges of a node are sorted by their letter. The
+ * buffers are either backed by arrays or by a memory mapped dictionary image.
+ * 
+ * @author sekeller
+ */
+public class WordGraph implements Serializable {
+
+  private static final long serialVersionUID = 2L;
+
+  /**
+   * A constant for a node which does not exist.
+   */
+  public static final int NONE = -1;
+
+  /**
+   * A constant for the number of letters of the alphabet.
+   */
+  public static final int LETTER_COUNT = 26;
+
+  /**
+   * The number of bits which are used to store the letter of an edge.
+   */
+  private static final int LETTER_BITS = 5;
+
+  /**
+   * The mask to extract the letter of an edge.
+   */
+  private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+
+  /**
+   * The nodes of the word graph. The lowest bit of each node marks the end of a word and the other
+   * bits store the index of its first edge. The edges of the node i are stored from the first edge
+   * of the node i (inclusive) to the first edge of the node i + 1 (exclusive).
+   */
+  private transient IntBuffer nodes;
+
+  /**
+   * The edges of all nodes. Each edge stores the index of its target node and its letter.
+   */
+  private transient IntBuffer edges;
+
+  /**
+   * The number of words which can be reached from each node.
+   */
+  private transient IntBuffer wordCounts;
+
+  /**
+   * Constructs a word graph with the specified nodes, the specified edges and the specified word
+   * counts.
+   * 
+   * @param nodes the specified nodes
+   * @param edges the specified edges
+   * @param wordCounts the specified word counts
+   */
+  private WordGraph(IntBuffer nodes, IntBuffer edges, IntBuffer wordCounts) {
+    this.nodes = nodes;
+    this.edges = edges;
+    this.wordCounts = wordCounts;
+  }
+
+  /**
+   * Returns the root node of this word graph.
+   * 
+   * @return the root node of this word graph
+   */
+  public int getRoot() {
+    return 0;
+  }
+
+  /**
+   * Returns the node which is reached from the specified node with the specified letter. Returns
+   * {@link #NONE} if there is no such node.
+   * 
+   * @param node the specified node
+   * @param letter the specified letter
+   * @return the node which is reached from the specified node with the specified letter
+   */
+  public int getChild(int node, char letter) {
+    int index = letter - 'A';
+    int end = this.getEndEdge(node);
+
+    for (int edge = this.getFirstEdge(node); edge < end; edge++) {
+      int edgeIndex = this.edges.get(edge) & LETTER_MASK;
+
+      if (edgeIndex == index) {
+        return this.edges.get(edge) >>> LETTER_BITS;
+      }
+
+      if (edgeIndex > index) {
+        break;
+      }
+    }
+
+    return NONE;
+  }
+
+  /**
+   * Returns the node which is reached from the specified node with the letters of the specified
+   * string. Returns {@link #NONE} if there is no such node.
+   * 
+   * @param node the specified node
+   * @param letters the specified letters
+   * @return the node which is reached from the specified node with the specified letters
+   */
+  public int getNode(int node, CharSequence letters) {
+    for (int i = 0; i < letters.length() && node != NONE; i++) {
+      node = this.getChild(node, letters.charAt(i));
+    }
+
+    return node;
+  }
+
+  /**
+   * Returns true if a word ends at the specified node.
+   * 
+   * @param node the specified node
+   * @return true if a word ends at the specified node
+   */
+  public boolean isWord(int node) {
+    return (this.nodes.get(node) & 1) != 0;
+  }
+
+  /**
+   * Returns true if this word graph contains the specified word.
+   * 
+   * @param word the specified word
+   * @return true if this word graph contains the specified word
+   */
+  public boolean contains(CharSequence word) {
+    int node = this.getNode(this.getRoot(), word);
+    return node != NONE && this.isWord(node);
+  }
+
+  /**
+   * Returns the index of the first outgoing edge of the specified node.
+   * 
+   * @param node the specified node
+   * @return the index of the first outgoing edge of the specified node
+   */
+  public int getFirstEdge(int node) {
+    return this.nodes.get(node) >>> 1;
+  }
+
+  /**
+   * Returns the index after the last outgoing edge of the specified node.
+   * 
+   * @param node the specified node
+   * @return the index after the last outgoing edge of the specified node
+   */
+  public int getEndEdge(int node) {
+    return this.nodes.get(node + 1) >>> 1;
+  }
+
+  /**
+   * Returns the letter of the specified edge.
+   * 
+   * @param edge the specified edge
+   * @return the letter of the specified edge
+   */
+  public char getEdgeLetter(int edge) {
+    return (char) ('A' + (this.edges.get(edge) & LETTER_MASK));
+  }
+
+  /**
+   * Returns the target node of the specified edge.
+   * 
+   * @param edge the specified edge
+   * @return the target node of the specified edge
+   */
+  public int getEdgeTarget(int edge) {
+    return this.edges.get(edge) >>> LETTER_BITS;
+  }
+
+  /**
+   * Returns the number of nodes of this word graph.
+   * 
+   * @return the number of nodes of this word graph
+   */
+  public int getNodeCount() {
+    return this.nodes.limit() - 1;
+  }
+
+  /**
+   * Returns the number of words of this word graph.
+   * 
+   * @return the number of words of this word graph
+   */
+  public int getWordCount() {
+    return this.wordCounts.get(this.getRoot());
+  }
+
+  /**
+   * Returns the position of the specified word in the alphabetically sorted list of all words of
+   * this word graph. Returns {@link #NONE} if this word graph does not contain the specified word.
+   * 
+   * @param word the specified word
+   * @return the position of the specified word
+   */
+  public int indexOf(CharSequence word) {
+    int node = this.getRoot();
+    int index = 0;
+
+    for (int i = 0; i < word.length(); i++) {
+      int letter = word.charAt(i) - 'A';
+      int next = NONE;
+
+      if (this.isWord(node)) {
+        index++;
+      }
+
+      for (int edge = this.getFirstEdge(node); edge < this.getEndEdge(node); edge++) {
+        int edgeLetter = this.edges.get(edge) & LETTER_MASK;
+
+        if (edgeLetter == letter) {
+          next = this.edges.get(edge) >>> LETTER_BITS;
+          break;
+        }
+
+        if (edgeLetter > letter) {
+          break;
+        }
+
+        index += this.wordCounts.get(this.edges.get(edge) >>> LETTER_BITS);
+      }
+
+      if (next == NONE) {
+        return NONE;
+      }
+
+      node = next;
+    }
+
+    return (this.isWord(node) ? index : NONE);
+  }
+
+  /**
+   * Returns a list with all words of this word graph in alphabetical order.
+   * 
+   * @return a list with all words of this word graph in alphabetical order
+   */
+  public List<String> getAllWords() {
+    List<String> words = new ArrayList<>(this.getWordCount());
+    this.collectWords(this.getRoot(), new StringBuilder(), words);
+    return words;
+  }
+
+  /**
+   * Adds all words which can be reached from the specified node to the specified list. Each word
+   * starts with the specified prefix.
+   * 
+   * @param node the specified node
+   * @param prefix the specified prefix
+   * @param words the specified list
+   */
+  private void collectWords(int node, StringBuilder prefix, List<String> words) {
+    if (this.isWord(node)) {
+      words.add(prefix.toString());
+    }
+
+    for (int edge = this.getFirstEdge(node); edge < this.getEndEdge(node); edge++) {
+      prefix.append(this.getEdgeLetter(edge));
+      this.collectWords(this.getEdgeTarget(edge), prefix, words);
+      prefix.setLength(prefix.length() - 1);
+    }
+  }
+
+  /**
+   * Writes the image of this word graph to the specified stream. The image consists of the number
+   * of nodes, the number of edges, the nodes, the edges and the word counts.
+   * 
+   * @param out the specified stream
+   * @throws IOException if an I/O error occurs
+   */
+  void writeImage(DataOutputStream out) throws IOException {
+    out.writeInt(this.getNodeCount());
+    out.writeInt(this.edges.limit());
+    writeInts(out, this.nodes);
+    writeInts(out, this.edges);
+    writeInts(out, this.wordCounts);
+  }
+
+  /**
+   * Writes all integers of the specified buffer to the specified stream.
+   * 
+   * @param out the specified stream
+   * @param buffer the specified buffer
+   * @throws IOException if an I/O error occurs
+   */
+  private static void writeInts(DataOutputStream out, IntBuffer buffer) throws IOException {
+    for (int i = 0; i < buffer.limit(); i++) {
+      out.writeInt(buffer.get(i));
+    }
+  }
+
+  /**
+   * Returns the word graph whose image starts at the position of the specified buffer. The word
+   * graph is backed by the buffer and the position of the buffer is moved behind the image.
+   * 
+   * @param buffer the specified buffer
+   * @return the word graph whose image starts at the position of the specified buffer
+   * @throws IOException if the counts of the image do not fit into the buffer
+   */
+  static WordGraph readImage(ByteBuffer buffer) throws IOException {
+    if (buffer.remaining() < 2 * Integer.BYTES) {
+      throw new IOException("The word graph image is truncated.");
+    }
+
+    int nodeCount = buffer.getInt();
+    int edgeCount = buffer.getInt();
+
+    if (nodeCount < 1) {
+      throw new IOException("Invalid node count: " + nodeCount);
+    }
+
+    IntBuffer nodes = sliceInts(buffer, nodeCount + 1);
+    IntBuffer edges = sliceInts(buffer, edgeCount);
+    IntBuffer wordCounts = sliceInts(buffer, nodeCount);
+    return new WordGraph(nodes, edges, wordCounts);
+  }
+
+  /**
+   * Returns a buffer with the specified number of integers from the position of the specified
+   * buffer and moves the position of the buffer behind them.
+   * 
+   * @param buffer the specified buffer
+   * @param length the specified number of integers
+   * @return a buffer with the specified number of integers
+   * @throws IOException if the length is negative or larger than the remaining integers
+   */
+  static IntBuffer sliceInts(ByteBuffer buffer, int length) throws IOException {
+    if (length < 0 || length > buffer.remaining() / Integer.BYTES) {
+      throw new IOException("Invalid number of integers: " + length);
+    }
+
+    ByteBuffer slice = buffer.slice().order(buffer.order());
+    slice.limit(length * Integer.BYTES);
+    buffer.position(buffer.position() + length * Integer.BYTES);
+    return slice.asIntBuffer();
+  }
+
+  /**
+   * Returns an array with all integers of the specified buffer.
+   * 
+   * @param buffer the specified buffer
+   * @return an array with all integers of the specified buffer
+   */
+  private static int[] toArray(IntBuffer buffer) {
+    int[] values = new int[buffer.limit()];
+    buffer.duplicate().position(0).get(values);
+    return values;
+  }
+
+  /**
+   * Writes this word graph to the specified stream.
+   * 
+   * @param out the specified stream
+   * @throws IOException if an I/O error occurs
+   */
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeObject(toArray(this.nodes));
+    out.writeObject(toArray(this.edges));
+    out.writeObject(toArray(this.wordCounts));
+  }
+
+  /**
+   * Reads this word graph from the specified stream.
+   * 
+   * @param in the specified stream
+   * @throws IOException if an I/O error occurs
+   * @throws ClassNotFoundException if the class of a serialized object can not be found
+   */
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    this.nodes = IntBuffer.wrap((int[]) in.readObject());
+    this.edges = IntBuffer.wrap((int[]) in.readObject());
+    this.wordCounts = IntBuffer.wrap((int[]) in.readObject());
+  }
+
+  /**
+   * Returns true if the specified word only consists of the letters from A to Z.
+   * 
+   * @param word the specified word
+   * @return true if the specified word only consists of the letters from A to Z
+   */
+  public static boolean isPlayable(CharSequence word) {
+    if (word.length() == 0) {
+      return false;
+    }
+
+    for (int i = 0; i < word.length(); i++) {
+      char letter = word.charAt(i);
+
+      if (letter < 'A' || letter > 'Z') {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Returns a word graph which contains all of the specified words. Words which can not be played
+   * on the gameboard are ignored.
+   * 
+   * @param words the specified words
+   * @return a word graph which contains all of the specified words
+   */
+  public static WordGraph create(Collection<String> words) {
+    Builder builder = new Builder();
+
+    for (String word : new TreeSet<>(words)) {
+      if (isPlayable(word)) {
+        builder.add(word);
+      }
+    }
+
+    return builder.build();
+  }
+
+  /**
+   * The Builder class creates a minimized word graph from words which are added in alphabetical
+   * order. Whenever a word is added, the nodes of the previous word which are not shared with the
+   * new word can no longer change and are replaced by an equal node which was already registered.
+   */
+  private static class Builder {
+
+    /**
+     * The root node of the word graph.
+     */
+    private final BuilderNode root = new BuilderNode();
+
+    /**
+     * The registered nodes by their signature.
+     */
+    private final Map<String, BuilderNode> register = new HashMap<>();
+
+    /**
+     * The nodes of the path of the previous word.
+     */
+    private final List<BuilderNode> path = new ArrayList<>();
+
+    /**
+     * The previous word.
+     */
+    private String previousWord = "";
+
+    /**
+     * Adds the specified word. The word must be greater than the previous word.
+     * 
+     * @param word the specified word
+     */
+    private void add(String word) {
+      int prefixLength = 0;
+
+      while (prefixLength < word.length() && prefixLength < this.previousWord.length()
+          && word.charAt(prefixLength) == this.previousWord.charAt(prefixLength)) {
+        prefixLength++;
+      }
+
+      this.minimize(prefixLength);
+
+      BuilderNode node = (prefixLength == 0 ? this.root : this.path.get(prefixLength - 1));
+
+      for (int i = prefixLength; i < word.length(); i++) {
+        BuilderNode child = new BuilderNode();
+        node.letters.add(word.charAt(i) - 'A');
+        node.children.add(child);
+        this.path.add(child);
+        node = child;
+      }
+
+      node.word = true;
+      this.previousWord = word;
+    }
+
+    /**
+     * Replaces the nodes of the path of the previous word from the specified length by registered
+     * nodes.
+     * 
+     * @param length the specified length
+     */
+    private void minimize(int length) {
+      for (int i = this.path.size() - 1; i >= length; i--) {
+        BuilderNode parent = (i == 0 ? this.root : this.path.get(i - 1));
+        BuilderNode child = this.path.remove(i);
+        String signature = child.getSignature();
+        BuilderNode registered = this.register.get(signature);
+
+        if (registered == null) {
+          child.index = this.register.size() + 1;
+          this.register.put(signature, child);
+        } else {
+          parent.children.set(parent.children.size() - 1, registered);
+        }
+      }
+    }
+
+    /**
+     * Returns the word graph of all words which were added.
+     * 
+     * @return the word graph of all words which were added
+     */
+    private WordGraph build() {
+      this.minimize(0);
+
+      List<BuilderNode> nodes = new ArrayList<>();
+      nodes.add(this.root);
+      this.root.index = 0;
+      int edgeCount = 0;
+
+      for (int i = 0; i < nodes.size(); i++) {
+        BuilderNode node = nodes.get(i);
+        edgeCount += node.children.size();
+
+        for (BuilderNode child : node.children) {
+          if (!child.visited) {
+            child.visited = true;
+            child.index = nodes.size();
+            nodes.add(child);
+          }
+        }
+      }
+
+      int[] graphNodes = new int[nodes.size() + 1];
+      int[] graphEdges = new int[edgeCount];
+      int[] wordCounts = new int[nodes.size()];
+      int edge = 0;
+
+      for (BuilderNode node : nodes) {
+        graphNodes[node.index] = (edge << 1) | (node.word ? 1 : 0);
+
+        for (int i = 0; i < node.children.size(); i++) {
+          graphEdges[edge++] = (node.children.get(i).index << LETTER_BITS) | node.letters.get(i);
+        }
+      }
+
+      graphNodes[nodes.size()] = edge << 1;
+
+      for (BuilderNode node : nodes) {
+        wordCounts[node.index] = node.getWordCount();
+      }
+
+      return new WordGraph(IntBuffer.wrap(graphNodes), IntBuffer.wrap(graphEdges),
+          IntBuffer.wrap(wordCounts));
+    }
+
+  }
+
+  /**
+   * The BuilderNode class represents a node of the word graph while it is created.
+   */
+  private static class BuilderNode {
+
+    /**
+     * The letter indices of the outgoing edges in alphabetical order.
+     */
+    private final List<Integer> letters = new ArrayList<>();
+
+    /**
+     * The target nodes of the outgoing edges.
+     */
+    private final List<BuilderNode> children = new ArrayList<>();
+
+    /**
+     * The flag which marks the end of a word.
+     */
+    private boolean word;
+
+    /**
+     * The index of the node. Registered nodes have a unique index.
+     */
+    private int index;
+
+    /**
+     * The flag which marks the node as visited while the word graph is flattened.
+     */
+    private boolean visited;
+
+    /**
+     * The number of words which can be reached from the node or zero if it was not computed yet.
+     */
+    private int wordCount;
+
+    /**
+     * Returns the signature of the node. Two nodes with the same signature accept the same
+     * suffixes.
+     * 
+     * @return the signature of the node
+     */
+    private String getSignature() {
+      StringBuilder signature = new StringBuilder();
+      signature.append(this.word ? '1' : '0');
+
+      for (int i = 0; i < this.children.size(); i++) {
+        signature.append(',').append(this.letters.get(i)).append(':')
+            .append(this.children.get(i).index);
+      }
+
+      return signature.toString();
+    }
+
+    /**
+     * Returns the number of words which can be reached from the node.
+     * 
+     * @return the number of words which can be reached from the node
+     */
+    private int getWordCount() {
+      if (this.wordCount == 0) {
+        int count = (this.word ? 1 : 0);
+
+        for (BuilderNode child : this.children) {
+          count += child.getWordCount();
+        }
+
+        this.wordCount = count;
+      }
+
+      return this.wordCount;
+    }
+
+  }
+
+}
@@ -0,0 +1,112 @@
+package main.model;
+
+/**
+ * The ZobristKeys class contains the random keys of the Zobrist hash of a game. The hash of a game
+ * is the sum of the keys of all tiles on the gameboard, on the racks and in the tile bag and the
+ * key of the current player. A key depends on where a tile is and on its letter and score, so a
+ * joker which was played as a letter has another key than a tile of this letter. Because the keys
+ * are added, the hash can be updated whenever a tile is moved and does not depend on the order of
+ * the tiles in a rack or in the tile bag.
+ * 
+ * <p>
+ * The keys are not stored in tables but computed by mixing their inputs, so they exist for every
+ * letter and score of a tile set.
+ * </p>
+ * 
+ * @author sekeller
+ */
+final class ZobristKeys {
+
+  /**
+   * A constant for the kind of the key of a tile on the gameboard.
+   */
+  private static final int SQUARE = 1;
+
+  /**
+   * A constant for the kind of the key of a tile on a rack.
+   */
+  private static final int RACK = 2;
+
+  /**
+   * A constant for the kind of the key of a tile in the tile bag.
+   */
+  private static final int BAG = 3;
+
+  /**
+   * A constant for the kind of the key of the current player.
+   */
+  private static final int PLAYER = 4;
+
+  /**
+   * The seed of the keys.
+   */
+  private static final long SEED = 0x2545F4914F6CDD1DL;
+
+  /**
+   * Constructs zobrist keys. This class is not meant to be instantiated.
+   */
+  private ZobristKeys() {}
+
+  /**
+   * Returns the key of the specified tile on the square at the specified row and the specified
+   * column.
+   * 
+   * @param row the specified row
+   * @param col the specified column
+   * @param tile the specified tile
+   * @return the key of the specified tile on the square
+   */
+  static long square(int row, int col, Tile tile) {
+    return key(SQUARE, row * Gameboard.COLS + col, tile.getLetter(), tile.getScore());
+  }
+
+  /**
+   * Returns the key of the specified tile on the rack of the player with the specified index.
+   * 
+   * @param playerIndex the specified index of the player
+   * @param tile the specified tile
+   * @return the key of the specified tile on the rack
+   */
+  static long rack(int playerIndex, Tile tile) {
+    return key(RACK, playerIndex, tile.getLetter(), tile.getScore());
+  }
+
+  /**
+   * Returns the key of the specified tile in the tile bag.
+   * 
+   * @param tile the specified tile
+   * @return the key of the specified tile in the tile bag
+   */
+  static long bag(Tile tile) {
+    return key(BAG, 0, tile.getLetter(), tile.getScore());
+  }
+
+  /**
+   * Returns the key of the player with the specified index as the current player.
+   * 
+   * @param playerIndex the specified index of the player
+   * @return the key of the current player
+   */
+  static long player(int playerIndex) {
+    return key(PLAYER, playerIndex, 0, 0);
+  }
+
+  /**
+   * Returns the key of the specified kind for the specified position, the specified letter and the
+   * specified score. The inputs are mixed with the finalizer of the SplitMix64 generator.
+   * 
+   * @param kind the specified kind
+   * @param position the specified position
+   * @param letter the specified letter
+   * @param score the specified score
+   * @return the key of the specified inputs
+   */
+  private static long key(int kind, int position, int letter, int score) {
+    long key = SEED + (((long) kind << 56) | ((long) position << 40) | ((long) letter << 24)
+        | (score & 0xFFFFFFL));
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return key ^ (key >>> 31);
+  }
+
+}
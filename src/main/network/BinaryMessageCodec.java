@@ -0,0 +1,442 @@
+package main.network;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import main.model.BinaryCoding;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
+import main.model.Scrabble;
+import main.model.TurnState;
+import main.network.message.BlockSocketMessage;
+import main.network.message.BroadcastResponseMessage;
+import main.network.message.ChatMessage;
+import main.network.message.DisconnectMessage;
+import main.network.message.InitializeMessage;
+import main.network.message.LeaveGameMessage;
+import main.network.message.LobbyDetailsMessage;
+import main.network.message.Message;
+import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
+import main.network.message.MoveRequestMessage;
+import main.network.message.NewNameMessage;
+import main.network.message.ReadyMessage;
+import main.network.message.RejectWordMessage;
+import main.network.message.RequestGameMessage;
+import main.network.message.StartGameMessage;
+import main.network.message.UpdateGameMessage;
+
+/**
+ * This codec converts messages to a compact binary format. The content starts with the version of
+ * the format and the type of the message, followed by the sender, the lobby id and the fields of
+ * the message type. Strings, lengths and tile ids are written with {@link BinaryCoding}, so a move
+ * request or a move delta takes a few dozen bytes instead of several hundred. The snapshots of a
+ * game (initialize, start game and update game) are written with their own binary form, so no
+ * serialized object is ever read from the network. A message whose class does not belong to its
+ * type is rejected.
+ * 
+ * @author frajwa
+ * 
+ */
+public class BinaryMessageCodec implements MessageCodec {
+
+  /**
+   * Version of the format. A frame with another version is rejected.
+   */
+  public static final int VERSION = 2;
+
+  /**
+   * Writes a message in the binary format.
+   * 
+   * @param mgSend message that is written
+   * @param out stream the message is written to
+   * @throws IOException if the message can not be written or its class does not belong to its
+   *         type
+   */
+  @Override
+  public void encode(Message mgSend, OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeByte(VERSION);
+    MessageType type = mgSend.getmType();
+
+    if (type == null || mgSend.getClass() != getMessageClass(type)) {
+      throw new IOException("Message class " + mgSend.getClass().getSimpleName()
+          + " does not belong to type " + type);
+    }
+
+    data.writeByte(type.ordinal());
+    BinaryCoding.writeString(data, mgSend.getFrom());
+    BinaryCoding.writeString(data, mgSend.getLobbyId());
+
+    switch (type) {
+      case CHAT:
+        ChatMessage chat = (ChatMessage) mgSend;
+        BinaryCoding.writeString(data, chat.getText());
+        BinaryCoding.writeString(data, chat.getLocation());
+        break;
+      case DISCONNECT:
+        BinaryCoding.writeString(data, ((DisconnectMessage) mgSend).getReason());
+        break;
+      case REJECTWORD:
+        BinaryCoding.writeString(data, ((RejectWordMessage) mgSend).getReason());
+        break;
+      case NEWNAME:
+        BinaryCoding.writeString(data, ((NewNameMessage) mgSend).getNewName());
+        break;
+      case BROADCASTRESPONSE:
+        BinaryCoding.writeString(data, ((BroadcastResponseMessage) mgSend).getAddress());
+        break;
+      case LOBBYDETAILS:
+        writeLobbyDetails(data, (LobbyDetailsMessage) mgSend);
+        break;
+      case MOVEDELTA:
+      case CONFIRMWORD:
+        ((MoveDeltaMessage) mgSend).getMoveDelta().write(data);
+        break;
+      case SENDWORD:
+      case CHANGETILES:
+      case ENDGAME:
+      case PASSMOVE:
+        ((MoveRequestMessage) mgSend).getMoveRequest().write(data);
+        break;
+      case INITIALIZE:
+        writeGame(data, ((InitializeMessage) mgSend).getScrabble());
+        break;
+      case STARTGAME:
+        writeTurnState(data, ((StartGameMessage) mgSend).getGame());
+        break;
+      case UPDATEGAME:
+        writeTurnState(data, ((UpdateGameMessage) mgSend).getGame());
+        break;
+      default:
+        // connect, block socket, leave game, ready and request game have no fields
+        break;
+    }
+
+    data.flush();
+  }
+
+  /**
+   * Reads a message that was written in the binary format.
+   * 
+   * @param in stream the message is read from
+   * @return message that was read
+   * @throws IOException if the content is not a valid message
+   */
+  @Override
+  public Message decode(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    int version = data.readUnsignedByte();
+
+    if (version != VERSION) {
+      throw new IOException("Unsupported message format version: " + version);
+    }
+
+    int typeByte = data.readUnsignedByte();
+    MessageType[] types = MessageType.values();
+
+    if (typeByte >= types.length || getMessageClass(types[typeByte]) == null) {
+      throw new IOException("Invalid message type: " + typeByte);
+    }
+
+    MessageType type = types[typeByte];
+    String from = BinaryCoding.readString(data);
+    String lobbyId = BinaryCoding.readString(data);
+
+    if (from == null) {
+      throw new IOException("Message without sender.");
+    }
+
+    Message mgReceived;
+
+    switch (type) {
+      case CONNECT:
+        mgReceived = new Message(type, from);
+        break;
+      case BLOCKSOCKET:
+        mgReceived = new BlockSocketMessage(type, from);
+        break;
+      case LEAVEGAME:
+        mgReceived = new LeaveGameMessage(type, from);
+        break;
+      case READY:
+        mgReceived = new ReadyMessage(type, from);
+        break;
+      case REQUESTGAME:
+        mgReceived = new RequestGameMessage(type, from);
+        break;
+      case CHAT:
+        mgReceived = new ChatMessage(type, from, BinaryCoding.readString(data),
+            BinaryCoding.readString(data));
+        break;
+      case DISCONNECT:
+        mgReceived = new DisconnectMessage(type, from, BinaryCoding.readString(data));
+        break;
+      case REJECTWORD:
+        mgReceived = new RejectWordMessage(type, from, BinaryCoding.readString(data));
+        break;
+      case NEWNAME:
+        mgReceived = new NewNameMessage(type, from, BinaryCoding.readString(data));
+        break;
+      case BROADCASTRESPONSE:
+        mgReceived = new BroadcastResponseMessage(type, from, BinaryCoding.readString(data));
+        break;
+      case LOBBYDETAILS:
+        mgReceived = readLobbyDetails(data, type, from);
+        break;
+      case MOVEDELTA:
+      case CONFIRMWORD:
+        mgReceived = new MoveDeltaMessage(type, from, MoveDelta.read(data));
+        break;
+      case SENDWORD:
+      case CHANGETILES:
+      case ENDGAME:
+      case PASSMOVE:
+        mgReceived = new MoveRequestMessage(type, from, MoveRequest.read(data));
+        break;
+      case INITIALIZE:
+        mgReceived = new InitializeMessage(type, from, readGame(data));
+        break;
+      case STARTGAME:
+        mgReceived = new StartGameMessage(type, from, readTurnState(data));
+        break;
+      case UPDATEGAME:
+        mgReceived = new UpdateGameMessage(type, from, readTurnState(data));
+        break;
+      default:
+        throw new IOException("Invalid message type: " + type);
+    }
+
+    mgReceived.setLobbyId(lobbyId);
+    return mgReceived;
+  }
+
+  /**
+   * Returns the class of the messages of a type which are written in the binary format.
+   * 
+   * @param type type of the message
+   * @return class of the messages or null if the messages of the type are not sent
+   */
+  private static Class<? extends Message> getMessageClass(MessageType type) {
+    switch (type) {
+      case CONNECT:
+        return Message.class;
+      case BLOCKSOCKET:
+        return BlockSocketMessage.class;
+      case LEAVEGAME:
+        return LeaveGameMessage.class;
+      case READY:
+        return ReadyMessage.class;
+      case REQUESTGAME:
+        return RequestGameMessage.class;
+      case CHAT:
+        return ChatMessage.class;
+      case DISCONNECT:
+        return DisconnectMessage.class;
+      case REJECTWORD:
+        return RejectWordMessage.class;
+      case NEWNAME:
+        return NewNameMessage.class;
+      case BROADCASTRESPONSE:
+        return BroadcastResponseMessage.class;
+      case LOBBYDETAILS:
+        return LobbyDetailsMessage.class;
+      case MOVEDELTA:
+      case CONFIRMWORD:
+        return MoveDeltaMessage.class;
+      case SENDWORD:
+      case CHANGETILES:
+      case ENDGAME:
+      case PASSMOVE:
+        return MoveRequestMessage.class;
+      case INITIALIZE:
+        return InitializeMessage.class;
+      case STARTGAME:
+        return StartGameMessage.class;
+      case UPDATEGAME:
+        return UpdateGameMessage.class;
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Writes the fields of a lobby details message.
+   * 
+   * @param data stream the fields are written to
+   * @param details lobby details message
+   * @throws IOException if the fields can not be written
+   */
+  private static void writeLobbyDetails(DataOutputStream data, LobbyDetailsMessage details)
+      throws IOException {
+    writeStrings(data, details.getNames());
+    BinaryCoding.writeString(data, details.getLobbyName());
+    BinaryCoding.writeString(data, details.getConDet());
+    String[][] stats = details.getStats();
+
+    if (stats == null) {
+      BinaryCoding.writeLength(data, -1);
+    } else {
+      BinaryCoding.writeLength(data, stats.length);
+
+      for (String[] row : stats) {
+        writeStrings(data, row);
+      }
+    }
+
+    boolean[] ready = details.getReady();
+
+    if (ready == null) {
+      BinaryCoding.writeLength(data, -1);
+    } else {
+      BinaryCoding.writeLength(data, ready.length);
+
+      for (boolean value : ready) {
+        data.writeBoolean(value);
+      }
+    }
+
+    writeStrings(data, details.getGamePlayers());
+  }
+
+  /**
+   * Reads the fields of a lobby details message.
+   * 
+   * @param data stream the fields are read from
+   * @param type type of the message
+   * @param from origin of the message
+   * @return lobby details message
+   * @throws IOException if the fields can not be read
+   */
+  private static LobbyDetailsMessage readLobbyDetails(DataInputStream data, MessageType type,
+      String from) throws IOException {
+    String[] names = readStrings(data);
+    String lobbyName = BinaryCoding.readString(data);
+    String conDet = BinaryCoding.readString(data);
+    int length = BinaryCoding.readLength(data);
+    String[][] stats = null;
+
+    if (length >= 0) {
+      stats = new String[length][];
+
+      for (int i = 0; i < length; i++) {
+        stats[i] = readStrings(data);
+      }
+    }
+
+    length = BinaryCoding.readLength(data);
+    boolean[] ready = null;
+
+    if (length >= 0) {
+      ready = new boolean[length];
+
+      for (int i = 0; i < length; i++) {
+        ready[i] = data.readBoolean();
+      }
+    }
+
+    String[] gamePlayers = readStrings(data);
+    return new LobbyDetailsMessage(type, from, names, lobbyName, conDet, stats, ready,
+        gamePlayers);
+  }
+
+  /**
+   * Writes an array of strings. The array and its strings may be null.
+   * 
+   * @param data stream the array is written to
+   * @param values array of strings
+   * @throws IOException if the array can not be written
+   */
+  private static void writeStrings(DataOutputStream data, String[] values) throws IOException {
+    if (values == null) {
+      BinaryCoding.writeLength(data, -1);
+      return;
+    }
+
+    BinaryCoding.writeLength(data, values.length);
+
+    for (String value : values) {
+      BinaryCoding.writeString(data, value);
+    }
+  }
+
+  /**
+   * Reads an array of strings which may be null.
+   * 
+   * @param data stream the array is read from
+   * @return array of strings
+   * @throws IOException if the array can not be read
+   */
+  private static String[] readStrings(DataInputStream data) throws IOException {
+    int length = BinaryCoding.readLength(data);
+
+    if (length < 0) {
+      return null;
+    }
+
+    String[] values = new String[length];
+
+    for (int i = 0; i < length; i++) {
+      values[i] = BinaryCoding.readString(data);
+    }
+
+    return values;
+  }
+
+  /**
+   * Writes a whole game, which may be null.
+   * 
+   * @param data stream the game is written to
+   * @param game game that is written
+   * @throws IOException if the game can not be written
+   */
+  private static void writeGame(DataOutputStream data, Scrabble game) throws IOException {
+    data.writeBoolean(game != null);
+
+    if (game != null) {
+      game.write(data);
+    }
+  }
+
+  /**
+   * Reads a whole game which was written by {@link #writeGame(DataOutputStream, Scrabble)}.
+   * 
+   * @param data stream the game is read from
+   * @return game that was read, can be null
+   * @throws IOException if the game is not valid
+   */
+  private static Scrabble readGame(DataInputStream data) throws IOException {
+    return (data.readBoolean() ? Scrabble.read(data) : null);
+  }
+
+  /**
+   * Writes the turn state of a game, which may be null.
+   * 
+   * @param data stream the turn state is written to
+   * @param turnState turn state that is written
+   * @throws IOException if the turn state can not be written
+   */
+  private static void writeTurnState(DataOutputStream data, TurnState turnState)
+      throws IOException {
+    data.writeBoolean(turnState != null);
+
+    if (turnState != null) {
+      turnState.write(data);
+    }
+  }
+
+  /**
+   * Reads the turn state of a game which was written by
+   * {@link #writeTurnState(DataOutputStream, TurnState)}.
+   * 
+   * @param data stream the turn state is read from
+   * @return turn state that was read, can be null
+   * @throws IOException if the turn state is not valid
+   */
+  private static TurnState readTurnState(DataInputStream data) throws IOException {
+    return (data.readBoolean() ? TurnState.read(data) : null);
+  }
+
+}
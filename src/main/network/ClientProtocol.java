@@ -1,8 +1,10 @@
 package main.network;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.net.Socket;
 import java.net.UnknownHostException;
 import main.controller.ClientController;
@@ -14,7 +16,9 @@ import main.network.message.LeaveGameMessage;
 import main.network.message.LobbyDetailsMessage;
 import main.network.message.Message;
 import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
 import main.network.message.NewNameMessage;
+import main.network.message.RejectWordMessage;
 import main.network.message.StartGameMessage;
 import main.network.message.UpdateGameMessage;
 
@@ -35,12 +39,22 @@ public class ClientProtocol extends Thread {
   /**
    * InputStream to receive messages from host.
    */
-  private ObjectOutputStream out;
+  private DataOutputStream out;
 
   /**
    * Outputstream to send messages to host.
    */
-  private ObjectInputStream in;
+  private DataInputStream in;
+
+  /**
+   * Id of the lobby that is joined on a dedicated server (null for the default lobby).
+   */
+  private String lobbyId;
+
+  /**
+   * Codec of the messages that are sent and received.
+   */
+  private volatile MessageCodec codec = MessageFrames.DEFAULT_CODEC;
 
   /**
    * Boolean variable that determines if the connection to the client is active.
@@ -71,14 +85,17 @@ public class ClientProtocol extends Thread {
    * Constructs protocol.
    * 
    * @param ipAdress address of host
+   * @param lobbyId id of the lobby that is joined on a dedicated server (null for the default
+   *        lobby)
    * @throws IOException
    */
-  public ClientProtocol(String ipAdress, ClientController nc) throws IOException {
+  public ClientProtocol(String ipAdress, String lobbyId, ClientController nc) throws IOException {
     this.netController = nc;
+    this.lobbyId = lobbyId;
     try {
       this.clientSocket = new Socket(ipAdress, ServerSettings.port);
-      this.out = new ObjectOutputStream(clientSocket.getOutputStream());
-      this.in = new ObjectInputStream(clientSocket.getInputStream());
+      this.out = new DataOutputStream(new BufferedOutputStream(clientSocket.getOutputStream()));
+      this.in = new DataInputStream(new BufferedInputStream(clientSocket.getInputStream()));
     } catch (UnknownHostException e) {
       e.printStackTrace();
     } catch (IOException e) {
@@ -86,6 +103,16 @@ public class ClientProtocol extends Thread {
     }
   }
 
+  /**
+   * Sets the codec of the messages that are sent and received. The server has to use the same
+   * codec.
+   * 
+   * @param codec codec of the messages
+   */
+  public void setCodec(MessageCodec codec) {
+    this.codec = codec;
+  }
+
   /**
    * Receiving new messages and handling first ConnectMessage.
    */
@@ -93,10 +120,10 @@ public class ClientProtocol extends Thread {
     Message mgConnect = new Message(MessageType.CONNECT, this.userName);
 
     try {
-      this.out.writeObject(mgConnect);
+      this.writeMessage(mgConnect);
 
       while (this.running) {
-        Message mgReceived = (Message) in.readObject();
+        Message mgReceived = MessageFrames.read(this.codec, this.in);
 
         switch (mgReceived.getmType()) {
           case CHAT:
@@ -112,7 +139,7 @@ public class ClientProtocol extends Thread {
           case DISCONNECT:
             this.running = false;
             if (!((DisconnectMessage) mgReceived).getReason().equals("Disconnect")) {
-              this.out.writeObject(mgReceived);
+              this.writeMessage(mgReceived);
               this.netController.lostConnection(((DisconnectMessage) mgReceived).getReason());
               this.running = false;
             } else {
@@ -130,6 +157,16 @@ public class ClientProtocol extends Thread {
           case UPDATEGAME:
             this.netController.receiveMove(((UpdateGameMessage) mgReceived).getGame());
             break;
+          case MOVEDELTA:
+            this.netController.receiveMoveDelta(((MoveDeltaMessage) mgReceived).getMoveDelta());
+            break;
+          case CONFIRMWORD:
+            this.netController
+                .receiveMoveConfirmed(((MoveDeltaMessage) mgReceived).getMoveDelta());
+            break;
+          case REJECTWORD:
+            this.netController.receiveMoveRejected(((RejectWordMessage) mgReceived).getReason());
+            break;
           case LEAVEGAME:
             this.netController.receiveBackToLobby(mgReceived.getFrom());
             break;
@@ -148,8 +185,6 @@ public class ClientProtocol extends Thread {
       this.clientSocket.close();
     } catch (IOException e) {
       e.printStackTrace();
-    } catch (ClassNotFoundException e) {
-      e.printStackTrace();
     }
 
   }
@@ -163,7 +198,7 @@ public class ClientProtocol extends Thread {
     if (this.access) {
       try {
         Message mgChat = new ChatMessage(MessageType.CHAT, this.userName, text, lobby);
-        this.out.writeObject(mgChat);
+        this.writeMessage(mgChat);
       } catch (IOException e) {
         e.printStackTrace();
       }
@@ -191,7 +226,7 @@ public class ClientProtocol extends Thread {
           Message mgDisconnect =
               new DisconnectMessage(MessageType.DISCONNECT, this.userName, "Disconnect");
           if (this.running) {
-            out.writeObject(mgDisconnect);
+            this.writeMessage(mgDisconnect);
           }
         } catch (IOException e) {
           e.printStackTrace();
@@ -206,7 +241,7 @@ public class ClientProtocol extends Thread {
         }
         Message msg = new LeaveGameMessage(MessageType.LEAVEGAME, Profile.getOnlineName());
         try {
-          out.writeObject(msg);
+          this.writeMessage(msg);
         } catch (IOException e) {
           e.printStackTrace();
         }
@@ -217,7 +252,19 @@ public class ClientProtocol extends Thread {
 
   public void sendMessage(Message mgSend) throws IOException {
     if (this.access) {
-      this.out.writeObject(mgSend);
+      this.writeMessage(mgSend);
     }
   }
+
+  /**
+   * Writes a message as one frame to the server. The message belongs to the lobby that was chosen
+   * when the protocol was constructed.
+   * 
+   * @param mgSend message that is sent
+   * @throws IOException if the message can not be sent
+   */
+  private synchronized void writeMessage(Message mgSend) throws IOException {
+    mgSend.setLobbyId(this.lobbyId);
+    MessageFrames.write(this.codec, this.out, mgSend);
+  }
 }
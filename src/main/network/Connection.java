@@ -0,0 +1,248 @@
+package main.network;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import main.network.message.Message;
+
+/**
+ * This class represents the connection (server-side) between a {@link SelectorServer} and one
+ * client. The connection does not have its own thread: the server reads and writes the frames of
+ * all connections in one event loop and this class only buffers the bytes of its connection.
+ * Subclasses handle the received messages.
+ * 
+ * @author frajwa
+ * 
+ */
+public abstract class Connection {
+
+  /**
+   * Initial size of the read buffer in bytes.
+   */
+  private static final int BUFFER_SIZE = 4 * 1024;
+
+  /**
+   * Channel to the client.
+   */
+  private SocketChannel client;
+
+  /**
+   * Pointer to the server.
+   */
+  private SelectorServer server;
+
+  /**
+   * Key of the connection in the selector of the server.
+   */
+  private SelectionKey key;
+
+  /**
+   * Buffer with the bytes that were received and not handled yet.
+   */
+  private ByteBuffer readBuffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+  /**
+   * Frames that still have to be sent to the client.
+   */
+  private Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Codec of the messages that are sent and received.
+   */
+  private volatile MessageCodec codec = MessageFrames.DEFAULT_CODEC;
+
+  /**
+   * Boolean variable that determines if the connection to the client is active.
+   */
+  private volatile boolean running = true;
+
+  /**
+   * Constructs the connection.
+   * 
+   * @param client channel to client
+   * @param server pointer to the server
+   */
+  protected Connection(SocketChannel client, SelectorServer server) {
+    this.client = client;
+    this.server = server;
+  }
+
+  /**
+   * Handles a message that was received from the client.
+   * 
+   * @param mgReceived received message
+   */
+  protected abstract void handleMessage(Message mgReceived);
+
+  /**
+   * This method is called when the connection broke while it was still active.
+   */
+  protected abstract void connectionLost();
+
+  /**
+   * Sets the codec of the messages that are sent and received. The client has to use the same
+   * codec.
+   * 
+   * @param codec codec of the messages
+   */
+  public void setCodec(MessageCodec codec) {
+    this.codec = codec;
+  }
+
+  /**
+   * Sets the key of the connection in the selector of the server.
+   * 
+   * @param key selection key of the connection
+   */
+  void setKey(SelectionKey key) {
+    this.key = key;
+  }
+
+  /**
+   * Returns the key of the connection in the selector of the server.
+   * 
+   * @return selection key of the connection
+   */
+  SelectionKey getKey() {
+    return this.key;
+  }
+
+  /**
+   * Reads all bytes that are available and handles every complete message.
+   * 
+   * @throws IOException if the connection is broken or a frame is not valid
+   */
+  void read() throws IOException {
+    if (this.client.read(this.readBuffer) < 0) {
+      throw new IOException("Connection closed by client.");
+    }
+
+    this.readBuffer.flip();
+
+    while (this.running && this.readBuffer.remaining() >= MessageFrames.HEADER_LENGTH) {
+      int length = this.readBuffer.getInt(this.readBuffer.position());
+      MessageFrames.checkLength(length);
+
+      if (this.readBuffer.remaining() < MessageFrames.HEADER_LENGTH + length) {
+        if (this.readBuffer.capacity() < MessageFrames.HEADER_LENGTH + length) {
+          ByteBuffer larger = ByteBuffer.allocate(MessageFrames.HEADER_LENGTH + length);
+          larger.put(this.readBuffer);
+          this.readBuffer = larger;
+          return;
+        }
+        break;
+      }
+
+      byte[] content = new byte[length];
+      this.readBuffer.position(this.readBuffer.position() + MessageFrames.HEADER_LENGTH);
+      this.readBuffer.get(content);
+      this.handleMessage(MessageFrames.decode(this.codec, content));
+    }
+
+    this.readBuffer.compact();
+  }
+
+  /**
+   * Writes as many waiting frames as the connection accepts.
+   * Closes the connection when it was closed and all frames were sent.
+   * 
+   * @throws IOException if the connection is broken
+   */
+  void write() throws IOException {
+    ByteBuffer frame;
+
+    while ((frame = this.writeQueue.peek()) != null) {
+      this.client.write(frame);
+
+      if (frame.hasRemaining()) {
+        return;
+      }
+
+      this.writeQueue.poll();
+    }
+
+    if (this.running) {
+      this.key.interestOps(SelectionKey.OP_READ);
+    } else {
+      this.close();
+    }
+  }
+
+  /**
+   * Closes the connection after it was broken.
+   */
+  void disconnected() {
+    if (this.running) {
+      this.connectionLost();
+    }
+    this.close();
+  }
+
+  /**
+   * Returns if the connection to the client is active.
+   * 
+   * @return boolean that indicates if the connection is active
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Sends a message to the client.
+   * 
+   * @param mgSend Message that is sent
+   */
+  public void sendMessage(Message mgSend) {
+    if (this.running) {
+      this.sendFrame(mgSend);
+      this.server.requestWrite(this);
+    }
+  }
+
+  /**
+   * Sends a last message to the client and closes the connection afterwards.
+   * 
+   * @param mgSend Message that is sent or null if no message is sent
+   */
+  protected void sendAndClose(Message mgSend) {
+    if (this.running) {
+      if (mgSend != null) {
+        this.sendFrame(mgSend);
+      }
+      this.running = false;
+      this.server.requestWrite(this);
+    }
+  }
+
+  /**
+   * Adds a message to the frames that have to be sent.
+   * 
+   * @param mgSend Message that is sent
+   */
+  private void sendFrame(Message mgSend) {
+    try {
+      this.writeQueue.add(MessageFrames.encode(this.codec, mgSend));
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Closes the channel to the client.
+   */
+  void close() {
+    this.running = false;
+    if (this.key != null) {
+      this.key.cancel();
+    }
+    try {
+      this.client.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+}
@@ -0,0 +1,197 @@
+package main.network;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import main.model.Dictionary;
+import main.network.message.Message;
+
+/**
+ * This class is a server without a GUI which hosts many games at the same time. Every game has its
+ * own lobby and the messages of the clients are routed to the lobby with the id of the message.
+ * Messages without a lobby id belong to the default lobby, so clients which do not know about
+ * lobbies can still connect. The computer players of all games play on the server.
+ * 
+ * @author frajwa
+ * 
+ */
+public class DedicatedServer extends SelectorServer {
+
+  /**
+   * Id of the lobby for messages without a lobby id.
+   */
+  public static final String DEFAULT_LOBBY = "default";
+
+  /**
+   * Dictionary that is used in all games of the server.
+   */
+  private Dictionary dictionary;
+
+  /**
+   * Connection details that are shown in the lobbies.
+   */
+  private String connectionDetails;
+
+  /**
+   * Lobbies of the server with their ids.
+   */
+  private Map<String, Lobby> lobbies = new ConcurrentHashMap<>();
+
+  /**
+   * Threads on which the computer players choose their moves.
+   */
+  private ExecutorService botExecutor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "Bot");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * Constructs the server and opens it on a port.
+   * 
+   * @param port port the server listens on
+   * @param dictionary dictionary that is used in all games
+   * @throws IOException if the port can not be opened
+   */
+  public DedicatedServer(int port, Dictionary dictionary) throws IOException {
+    super.setName("DedicatedServer");
+    this.dictionary = dictionary;
+    this.connectionDetails = ServerSettings.getIPAdress() + ":" + port;
+    this.open(port);
+  }
+
+  /**
+   * Creates the connection for a new client.
+   * 
+   * @param client channel to the client
+   * @return connection of the client
+   */
+  protected Connection createConnection(SocketChannel client) {
+    return new LobbyConnection(client, this);
+  }
+
+  /**
+   * Returns the id of the lobby a message belongs to.
+   * 
+   * @param mgReceived received message
+   * @return id of the lobby of the message
+   */
+  public static String getLobbyId(Message mgReceived) {
+    String lobbyId = mgReceived.getLobbyId();
+    return (lobbyId == null || lobbyId.isEmpty()) ? DEFAULT_LOBBY : lobbyId;
+  }
+
+  /**
+   * Returns the lobby with the specified id. The lobby is created if it does not exist.
+   * 
+   * @param lobbyId id of the lobby
+   * @return lobby with the id
+   */
+  Lobby getLobby(String lobbyId) {
+    return this.lobbies.computeIfAbsent(lobbyId, id -> new Lobby(id, this));
+  }
+
+  /**
+   * Removes a lobby after its last player left.
+   * 
+   * @param lobby lobby that is removed
+   */
+  void removeLobby(Lobby lobby) {
+    this.lobbies.remove(lobby.getLobbyId(), lobby);
+  }
+
+  /**
+   * Returns the amount of lobbies.
+   * 
+   * @return amount of lobbies
+   */
+  public int getLobbyCount() {
+    return this.lobbies.size();
+  }
+
+  /**
+   * Returns the dictionary that is used in all games.
+   * 
+   * @return dictionary of the server
+   */
+  public Dictionary getDictionary() {
+    return this.dictionary;
+  }
+
+  /**
+   * Returns the connection details that are shown in the lobbies.
+   * 
+   * @return connection details of the server
+   */
+  public String getConnectionDetails() {
+    return this.connectionDetails;
+  }
+
+  /**
+   * Returns the threads on which the computer players choose their moves.
+   * 
+   * @return executor of the computer players
+   */
+  ExecutorService getBotExecutor() {
+    return this.botExecutor;
+  }
+
+  /**
+   * Closes the connections to all clients and stops the computer players.
+   */
+  public void closeServer() {
+    if (this.isRunning()) {
+      for (Lobby lobby : this.lobbies.values()) {
+        lobby.close();
+      }
+      this.botExecutor.shutdownNow();
+      this.stopServer();
+    }
+  }
+
+  /**
+   * Starts a dedicated server. The first argument is the port (default {@link ServerSettings#port})
+   * and the second argument is the file name of the dictionary in {@link Dictionary#PATH} (default
+   * the first dictionary).
+   * 
+   * @param args port and file name of the dictionary
+   */
+  public static void main(String[] args) {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : ServerSettings.port;
+    String filename = args.length > 1 ? args[1] : null;
+
+    if (filename == null) {
+      String[] files = new File(Dictionary.PATH).list((dir, name) -> name.endsWith(".txt"));
+
+      if (files == null || files.length == 0) {
+        System.err.println("No dictionary found in " + Dictionary.PATH);
+        return;
+      }
+
+      Arrays.sort(files);
+      filename = files[0];
+    }
+
+    Dictionary dictionary = Dictionary.readFile(filename);
+
+    if (dictionary.getWordGraph().getWordCount() == 0) {
+      System.err.println("The dictionary " + filename + " could not be read.");
+      return;
+    }
+
+    try {
+      DedicatedServer server = new DedicatedServer(port, dictionary);
+      Runtime.getRuntime().addShutdownHook(new Thread(server::closeServer));
+      server.start();
+      System.out.println("Dedicated server is running on port " + port + " with " + filename);
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+}
@@ -0,0 +1,432 @@
+package main.network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import main.model.ComputerPlayer;
+import main.model.Difficulty;
+import main.model.GameException;
+import main.model.GameState;
+import main.model.HumanPlayer;
+import main.model.Move;
+import main.model.MoveDelta;
+import main.model.MoveRequest;
+import main.model.PlayerType;
+import main.model.Scrabble;
+import main.model.TileSet;
+import main.network.message.BlockSocketMessage;
+import main.network.message.InitializeMessage;
+import main.network.message.LeaveGameMessage;
+import main.network.message.LobbyDetailsMessage;
+import main.network.message.Message;
+import main.network.message.MessageType;
+import main.network.message.MoveDeltaMessage;
+import main.network.message.MoveRequestMessage;
+import main.network.message.NewNameMessage;
+import main.network.message.RejectWordMessage;
+import main.network.message.StartGameMessage;
+import main.network.message.UpdateGameMessage;
+
+/**
+ * This class represents one lobby of a dedicated server with its players and its game. The game of
+ * the lobby is the authoritative copy: the clients only send the moves they want to execute, which
+ * are executed in the game of the lobby before they are sent to the other clients. The computer
+ * players choose their moves on the server. All methods are synchronized because the computer
+ * players run on their own threads.
+ * 
+ * @author frajwa
+ * 
+ */
+public class Lobby {
+
+  /**
+   * Id of the lobby.
+   */
+  private String lobbyId;
+
+  /**
+   * Pointer to the server.
+   */
+  private DedicatedServer host;
+
+  /**
+   * Connections of the players in the lobby in the order they joined.
+   */
+  private List<LobbyConnection> members = new ArrayList<>();
+
+  /**
+   * Names of the players who are ready to start the game.
+   */
+  private Set<String> ready = new HashSet<>();
+
+  /**
+   * Game of the lobby, null while no game is running.
+   */
+  private Scrabble game;
+
+  /**
+   * Constructs an empty lobby.
+   * 
+   * @param lobbyId id of the lobby
+   * @param host pointer to the server
+   */
+  Lobby(String lobbyId, DedicatedServer host) {
+    this.lobbyId = lobbyId;
+    this.host = host;
+  }
+
+  /**
+   * Returns the id of the lobby.
+   * 
+   * @return id of the lobby
+   */
+  public String getLobbyId() {
+    return this.lobbyId;
+  }
+
+  /**
+   * Puts a client in the lobby and sends the username of the client and the lobby details.
+   * Returns the reason if the client is refused.
+   * 
+   * @param member connection of the client
+   * @param name name the client wants to use
+   * @return reason why the client is refused or null if the client joined the lobby
+   */
+  synchronized String join(LobbyConnection member, String name) {
+    if (this.game != null) {
+      return "Game is already running.";
+    }
+
+    if (this.members.size() == Scrabble.MAX_PLAYER_COUNT) {
+      return "Lobby is full.";
+    }
+
+    /**
+     * Check if username is already used.
+     */
+    String userName = name;
+    int i = 0;
+    while (this.hasMember(userName)) {
+      i++;
+      userName = name + " (" + i + ")";
+    }
+
+    member.setUserName(userName);
+    this.members.add(member);
+    member.sendMessage(this.inLobby(new NewNameMessage(MessageType.NEWNAME, "host", userName)));
+    this.sendLobbyDetails();
+    return null;
+  }
+
+  /**
+   * Removes a client from the lobby. A running game is stopped and the lobby is removed from the
+   * server when the last client left.
+   * 
+   * @param member connection of the client
+   */
+  synchronized void leave(LobbyConnection member) {
+    if (!this.members.remove(member)) {
+      return;
+    }
+
+    this.ready.remove(member.getUserName());
+
+    if (this.game != null) {
+      this.stopGame(member.getUserName());
+    }
+
+    if (this.members.isEmpty()) {
+      this.host.removeLobby(this);
+    } else {
+      this.sendLobbyDetails();
+    }
+  }
+
+  /**
+   * Handles a message that a client of the lobby sent.
+   * 
+   * @param member connection of the client
+   * @param mgReceived received message
+   */
+  synchronized void handleMessage(LobbyConnection member, Message mgReceived) {
+    switch (mgReceived.getmType()) {
+      case CHAT:
+        this.sendToAllBut(mgReceived, member);
+        break;
+      case READY:
+        if (this.game == null) {
+          if (!this.ready.remove(member.getUserName())) {
+            this.ready.add(member.getUserName());
+          }
+          if (this.ready.size() == this.members.size()) {
+            this.startGame();
+          } else {
+            this.sendLobbyDetails();
+          }
+        }
+        break;
+      case SENDWORD:
+      case CHANGETILES:
+      case PASSMOVE:
+      case ENDGAME:
+        this.receiveMoveRequest(member, ((MoveRequestMessage) mgReceived).getMoveRequest());
+        break;
+      case MOVEDELTA:
+      case UPDATEGAME:
+      case REQUESTGAME:
+        this.sendGame(member);
+        break;
+      case LEAVEGAME:
+        if (this.game != null) {
+          this.stopGame(member.getUserName());
+        }
+        break;
+      default:
+    }
+  }
+
+  /**
+   * Starts a new game with all clients of the lobby. Computer players are added until there are
+   * enough players.
+   */
+  private void startGame() {
+    Scrabble scrabble =
+        new Scrabble(TileSet.getStandard().create(), this.host.getDictionary(), false);
+
+    try {
+      for (LobbyConnection member : this.members) {
+        scrabble.addPlayer(new HumanPlayer(member.getUserName()));
+      }
+      for (int i = 1; scrabble.getPlayerCount() < Scrabble.MIN_PLAYER_COUNT; i++) {
+        scrabble.addPlayer(new ComputerPlayer("Bot Nr. " + i, Difficulty.HARD));
+      }
+
+      this.sendToAll(new BlockSocketMessage(MessageType.BLOCKSOCKET, "host"));
+      this.sendToAll(new InitializeMessage(MessageType.INITIALIZE, "host", scrabble));
+      scrabble.startGame();
+      this.game = scrabble;
+      this.sendToAll(
+          new StartGameMessage(MessageType.STARTGAME, "host", scrabble.getTurnState()));
+      this.nextTurn();
+    } catch (GameException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Executes the move of a client in the game of the lobby. The client gets a confirmation with
+   * the executed move and the other clients get the move. The client gets the reason if the move
+   * is not valid.
+   * 
+   * @param member connection of the client
+   * @param moveRequest move of the client
+   */
+  private void receiveMoveRequest(LobbyConnection member, MoveRequest moveRequest) {
+    if (this.game == null) {
+      return;
+    }
+
+    if (!moveRequest.getPlayer().equals(member.getUserName())) {
+      member.sendMessage(this.inLobby(new RejectWordMessage(MessageType.REJECTWORD, "host",
+          "It is not the turn of " + member.getUserName() + "!")));
+      return;
+    }
+
+    MoveDelta moveDelta;
+    try {
+      moveDelta = this.game.executeMoveRequest(moveRequest);
+    } catch (GameException e) {
+      member.sendMessage(this.inLobby(
+          new RejectWordMessage(MessageType.REJECTWORD, "host", e.getMessage())));
+      return;
+    }
+
+    member.sendMessage(
+        this.inLobby(new MoveDeltaMessage(MessageType.CONFIRMWORD, "host", moveDelta)));
+    this.sendToAllBut(new MoveDeltaMessage(MessageType.MOVEDELTA, "host", moveDelta), member);
+    this.nextTurn();
+  }
+
+  /**
+   * Lets a computer player choose its move if it is its turn. The move is chosen on a copy of the
+   * game, so the lobby is not blocked while the computer player is thinking.
+   */
+  private void playComputerMove() {
+    Scrabble current;
+    Scrabble copy;
+
+    synchronized (this) {
+      current = this.game;
+      if (current == null || current.getGameState() != GameState.PLAY
+          || current.getCurrentPlayer().getPlayerType() != PlayerType.COM) {
+        return;
+      }
+      copy = new Scrabble(current);
+    }
+
+    ComputerPlayer bot = (ComputerPlayer) copy.getCurrentPlayer();
+    Move move = bot.chooseMove(copy);
+
+    try {
+      copy.executeMove(move);
+    } catch (GameException e) {
+      e.printStackTrace();
+      return;
+    }
+
+    synchronized (this) {
+      int moveCount = current.getMoveCount();
+      if (this.game != current || moveCount + 1 != copy.getMoveCount()) {
+        return;
+      }
+
+      try {
+        current.applyMoveDelta(copy.getLastMoveDelta());
+      } catch (GameException e) {
+        e.printStackTrace();
+      }
+
+      if (current.getMoveCount() > moveCount) {
+        this.sendToAll(new MoveDeltaMessage(MessageType.MOVEDELTA, bot.getName(),
+            current.getLastMoveDelta()));
+        this.nextTurn();
+      }
+    }
+  }
+
+  /**
+   * Lets the next computer player move or ends the game if it is over.
+   */
+  private void nextTurn() {
+    if (this.game.getGameState() == GameState.GAME_OVER) {
+      this.endGame();
+    } else if (this.game.getCurrentPlayer().getPlayerType() == PlayerType.COM) {
+      this.host.getBotExecutor().execute(this::playComputerMove);
+    }
+  }
+
+  /**
+   * Stops the running game because a player left it. The other clients return to the lobby.
+   * 
+   * @param player name of the player who left
+   */
+  private void stopGame(String player) {
+    if (this.game.getGameState() == GameState.PLAY) {
+      this.game.stopGame();
+      this.sendToAll(new LeaveGameMessage(MessageType.LEAVEGAME, player));
+    }
+    this.endGame();
+  }
+
+  /**
+   * Returns to the lobby after a game.
+   */
+  private void endGame() {
+    this.game = null;
+    this.ready.clear();
+    this.sendLobbyDetails();
+  }
+
+  /**
+   * Sends the whole game to a client whose game is out of sync.
+   * 
+   * @param member connection of the client
+   */
+  private void sendGame(LobbyConnection member) {
+    if (this.game != null) {
+      member.sendMessage(this.inLobby(
+          new UpdateGameMessage(MessageType.UPDATEGAME, "host", this.game.getTurnState())));
+    }
+  }
+
+  /**
+   * Sends the LobbyDetails to all clients.
+   */
+  private void sendLobbyDetails() {
+    String[] names = new String[Scrabble.MAX_PLAYER_COUNT];
+    String[][] table = new String[Scrabble.MAX_PLAYER_COUNT][4];
+    boolean[] sentReady = new boolean[Scrabble.MAX_PLAYER_COUNT - 1];
+
+    Arrays.fill(names, "");
+    for (String[] row : table) {
+      Arrays.fill(row, "");
+    }
+
+    for (int i = 0; i < this.members.size(); i++) {
+      names[i] = this.members.get(i).getUserName();
+      if (i > 0) {
+        sentReady[i - 1] = this.ready.contains(names[i]);
+      }
+    }
+
+    this.sendToAll(new LobbyDetailsMessage(MessageType.LOBBYDETAILS, "host", names, this.lobbyId,
+        this.host.getConnectionDetails(), table, sentReady, null));
+  }
+
+  /**
+   * Sends a message to all clients of the lobby.
+   * 
+   * @param mgSend message that is sent
+   */
+  private void sendToAll(Message mgSend) {
+    this.sendToAllBut(mgSend, null);
+  }
+
+  /**
+   * Sends a message to all clients of the lobby but one.
+   * 
+   * @param mgSend message that is sent
+   * @param exception connection of the client that does not get the message
+   */
+  private void sendToAllBut(Message mgSend, LobbyConnection exception) {
+    this.inLobby(mgSend);
+    for (LobbyConnection member : this.members) {
+      if (member != exception) {
+        member.sendMessage(mgSend);
+      }
+    }
+  }
+
+  /**
+   * Sets the id of this lobby as the lobby id of a message.
+   * 
+   * @param mgSend message that is sent
+   * @return the message
+   */
+  private Message inLobby(Message mgSend) {
+    mgSend.setLobbyId(this.lobbyId);
+    return mgSend;
+  }
+
+  /**
+   * Returns if a client with the name is in the lobby.
+   * 
+   * @param name name of the client
+   * @return boolean that indicates if the name is used
+   */
+  private boolean hasMember(String name) {
+    for (LobbyConnection member : this.members) {
+      if (member.getUserName().equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Stops the game and closes the connections to all clients of the lobby.
+   */
+  synchronized void close() {
+    if (this.game != null) {
+      this.game.stopGame();
+      this.game = null;
+    }
+    for (LobbyConnection member : this.members) {
+      member.closeConnection();
+    }
+    this.members.clear();
+  }
+
+}
@@ -0,0 +1,130 @@
+package main.network;
+
+import java.nio.channels.SocketChannel;
+import main.network.message.DisconnectMessage;
+import main.network.message.Message;
+import main.network.message.MessageType;
+
+/**
+ * This class represents the connection between a dedicated server and one client. The first
+ * message of the client must be a ConnectMessage, which puts the client in the lobby with the id
+ * of the message. Every further message is routed to the lobby with the id of the message, which
+ * must be the lobby of the client.
+ * 
+ * @author frajwa
+ * 
+ */
+public class LobbyConnection extends Connection {
+
+  /**
+   * Pointer to the server.
+   */
+  private DedicatedServer host;
+
+  /**
+   * Lobby of the client, null until the connection was accepted.
+   */
+  private Lobby lobby;
+
+  /**
+   * Username of the client.
+   */
+  private String userName;
+
+  /**
+   * Constructs the connection.
+   * 
+   * @param client channel to client
+   * @param server pointer to DedicatedServer
+   */
+  public LobbyConnection(SocketChannel client, DedicatedServer server) {
+    super(client, server);
+    this.host = server;
+  }
+
+  /**
+   * Handles a message that was received from the client.
+   * 
+   * @param mgReceived received message
+   */
+  protected void handleMessage(Message mgReceived) {
+    if (this.lobby == null) {
+      this.handleConnect(mgReceived);
+      return;
+    }
+
+    if (mgReceived.getmType() == MessageType.DISCONNECT) {
+      String reason = ((DisconnectMessage) mgReceived).getReason();
+      if (!reason.equals("Connection closed")) {
+        this.lobby.leave(this);
+      }
+      this.lobby = null;
+      this.sendAndClose(reason.equals("Disconnect") ? mgReceived : null);
+      return;
+    }
+
+    if (DedicatedServer.getLobbyId(mgReceived).equals(this.lobby.getLobbyId())) {
+      this.lobby.handleMessage(this, mgReceived);
+    }
+  }
+
+  /**
+   * Handles the first message of the client.
+   * Puts the client in the lobby of the message if the lobby accepts the client.
+   * 
+   * @param mgReceived first message of the client
+   */
+  private void handleConnect(Message mgReceived) {
+    if (mgReceived.getmType() != MessageType.CONNECT) {
+      this.sendAndClose(null);
+      return;
+    }
+
+    Lobby joined = this.host.getLobby(DedicatedServer.getLobbyId(mgReceived));
+    String refusal = joined.join(this, mgReceived.getFrom());
+
+    if (refusal == null) {
+      this.lobby = joined;
+    } else {
+      this.sendAndClose(new DisconnectMessage(MessageType.DISCONNECT, "host", refusal));
+    }
+  }
+
+  /**
+   * Removes the client from its lobby if the connection broke before the client disconnected.
+   */
+  protected void connectionLost() {
+    if (this.lobby != null) {
+      this.lobby.leave(this);
+      this.lobby = null;
+    }
+  }
+
+  /**
+   * Sends a DisconnectMessage to the client.
+   */
+  public void closeConnection() {
+    this.lobby = null;
+    this.sendAndClose(
+        new DisconnectMessage(MessageType.DISCONNECT, "host", "Connection closed"));
+  }
+
+  /**
+   * Returns the username of the client.
+   * 
+   * @return username of the client
+   */
+  public String getUserName() {
+    return this.userName;
+  }
+
+  /**
+   * Sets the username of the client.
+   * 
+   * @param userName username of the client
+   */
+  void setUserName(String userName) {
+    this.userName = userName;
+  }
+
+}
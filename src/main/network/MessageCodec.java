@@ -0,0 +1,35 @@
+package main.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import main.network.message.Message;
+
+/**
+ * This interface converts messages to the content of a frame and back. The server and the client
+ * have to use the same codec, the frames themselves are built by {@link MessageFrames}.
+ * 
+ * @author frajwa
+ * 
+ */
+public interface MessageCodec {
+
+  /**
+   * Writes a message to a stream.
+   * 
+   * @param mgSend message that is written
+   * @param out stream the message is written to
+   * @throws IOException if the message can not be written
+   */
+  void encode(Message mgSend, OutputStream out) throws IOException;
+
+  /**
+   * Reads a message from a stream that contains exactly one message.
+   * 
+   * @param in stream the message is read from
+   * @return message that was read
+   * @throws IOException if the content is not a valid message
+   */
+  Message decode(InputStream in) throws IOException;
+
+}
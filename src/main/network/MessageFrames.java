@@ -0,0 +1,114 @@
+package main.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import main.network.message.Message;
+
+/**
+ * This class converts messages to frames and back. A frame starts with the length of its content
+ * followed by the message in the format of a {@link MessageCodec}, so a receiver knows how many
+ * bytes belong to one message before it decodes it.
+ * 
+ * @author frajwa
+ * 
+ */
+public class MessageFrames {
+
+  /**
+   * Length of the header of a frame in bytes.
+   */
+  public static final int HEADER_LENGTH = Integer.BYTES;
+
+  /**
+   * Maximal length of the content of a frame in bytes.
+   */
+  public static final int MAX_LENGTH = 16 * 1024 * 1024;
+
+  /**
+   * Codec that the server and the client use unless another codec is set.
+   */
+  public static final MessageCodec DEFAULT_CODEC = new BinaryMessageCodec();
+
+  /**
+   * This class is not meant to be instantiated.
+   */
+  private MessageFrames() {}
+
+  /**
+   * Converts a message to a frame.
+   * 
+   * @param codec codec of the content
+   * @param mgSend message that is converted
+   * @return buffer with the frame, ready to be written
+   * @throws IOException if the message can not be encoded
+   */
+  public static ByteBuffer encode(MessageCodec codec, Message mgSend) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    bytes.write(new byte[HEADER_LENGTH]);
+    codec.encode(mgSend, bytes);
+
+    ByteBuffer frame = ByteBuffer.wrap(bytes.toByteArray());
+    frame.putInt(0, frame.remaining() - HEADER_LENGTH);
+    return frame;
+  }
+
+  /**
+   * Converts the content of a frame to a message.
+   * 
+   * @param codec codec of the content
+   * @param content content of the frame without its header
+   * @return message of the frame
+   * @throws IOException if the content is not a valid message
+   */
+  public static Message decode(MessageCodec codec, byte[] content) throws IOException {
+    return codec.decode(new ByteArrayInputStream(content));
+  }
+
+  /**
+   * Checks the length of a frame which was read from its header.
+   * 
+   * @param length length of the content of the frame
+   * @throws IOException if the length is negative or too large
+   */
+  public static void checkLength(int length) throws IOException {
+    if (length < 0 || length > MAX_LENGTH) {
+      throw new IOException("Invalid message frame length: " + length);
+    }
+  }
+
+  /**
+   * Writes a message as one frame to a stream.
+   * 
+   * @param codec codec of the content
+   * @param out stream the frame is written to
+   * @param mgSend message that is written
+   * @throws IOException if the message can not be written
+   */
+  public static void write(MessageCodec codec, DataOutputStream out, Message mgSend)
+      throws IOException {
+    ByteBuffer frame = encode(codec, mgSend);
+    out.write(frame.array(), frame.position(), frame.remaining());
+    out.flush();
+  }
+
+  /**
+   * Reads one frame from a stream and returns its message. Blocks until the whole frame was read.
+   * 
+   * @param codec codec of the content
+   * @param in stream the frame is read from
+   * @return message of the frame
+   * @throws IOException if the stream is closed or the frame is not valid
+   */
+  public static Message read(MessageCodec codec, DataInputStream in) throws IOException {
+    int length = in.readInt();
+    checkLength(length);
+    byte[] content = new byte[length];
+    in.readFully(content);
+    return decode(codec, content);
+  }
+
+}
@@ -0,0 +1,182 @@
+package main.network;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * This class accepts clients and handles all of their connections in one thread with a selector.
+ * Every message is sent as a frame (see {@link MessageFrames}), so the server only needs a buffer
+ * per connection and no thread per connection. Subclasses decide which connection handles a new
+ * client.
+ * 
+ * @author frajwa
+ * 
+ */
+public abstract class SelectorServer extends Thread {
+
+  /**
+   * The ServerSocketChannel creates the server and opens it.
+   */
+  private ServerSocketChannel host;
+
+  /**
+   * Selector that waits for new connections and for connections that can be read or written.
+   */
+  private Selector selector;
+
+  /**
+   * Connections that have frames to send and are not waiting for the selector to write yet.
+   */
+  private Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Boolean variable that determines if the server is open for new clients to connect.
+   */
+  private volatile boolean running = true;
+
+  /**
+   * Opens the server on a port.
+   * 
+   * @param port port the server listens on
+   * @throws IOException if the port can not be opened
+   */
+  protected void open(int port) throws IOException {
+    this.selector = Selector.open();
+    this.host = ServerSocketChannel.open();
+    this.host.bind(new InetSocketAddress(port));
+    this.host.configureBlocking(false);
+    this.host.register(this.selector, SelectionKey.OP_ACCEPT);
+  }
+
+  /**
+   * Creates the connection that handles a new client.
+   * 
+   * @param client channel to the client
+   * @return connection to the client
+   */
+  protected abstract Connection createConnection(SocketChannel client);
+
+  /**
+   * Accepts new players connecting and reads and writes the messages of all connections.
+   */
+  public void run() {
+    if (this.selector == null) {
+      return;
+    }
+
+    try {
+      while (running) {
+        this.selector.select();
+
+        Connection pending;
+        while ((pending = this.pendingWrites.poll()) != null) {
+          SelectionKey key = pending.getKey();
+          if (key != null && key.isValid()) {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+          }
+        }
+
+        Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+
+          if (!key.isValid()) {
+            continue;
+          }
+
+          if (key.isAcceptable()) {
+            this.accept();
+            continue;
+          }
+
+          Connection clientConnection = (Connection) key.attachment();
+          try {
+            if (key.isReadable()) {
+              clientConnection.read();
+            }
+            if (key.isValid() && key.isWritable()) {
+              clientConnection.write();
+            }
+          } catch (IOException e) {
+            clientConnection.disconnected();
+          } catch (RuntimeException e) {
+            e.printStackTrace();
+            clientConnection.disconnected();
+          }
+        }
+      }
+
+      for (SelectionKey key : this.selector.keys()) {
+        if (key.attachment() instanceof Connection) {
+          Connection clientConnection = (Connection) key.attachment();
+          try {
+            clientConnection.write();
+          } catch (IOException e) {
+            e.printStackTrace();
+          }
+          clientConnection.close();
+        }
+      }
+      this.host.close();
+      this.selector.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Accepts a new connection and registers it at the selector.
+   * 
+   * @throws IOException if the connection can not be accepted
+   */
+  private void accept() throws IOException {
+    SocketChannel client = this.host.accept();
+
+    if (client == null) {
+      return;
+    }
+
+    client.configureBlocking(false);
+    Connection clientConnection = this.createConnection(client);
+    clientConnection.setKey(client.register(this.selector, SelectionKey.OP_READ, clientConnection));
+  }
+
+  /**
+   * Tells the event loop that a connection has frames to send.
+   * 
+   * @param clientConnection connection with frames to send
+   */
+  void requestWrite(Connection clientConnection) {
+    this.pendingWrites.add(clientConnection);
+    this.selector.wakeup();
+  }
+
+  /**
+   * Returns if the server is open for new clients to connect.
+   * 
+   * @return boolean that indicates if the server is running
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Stops the event loop. Frames that are still waiting are sent before the connections are
+   * closed.
+   */
+  protected void stopServer() {
+    this.running = false;
+    if (this.selector != null) {
+      this.selector.wakeup();
+    }
+  }
+
+}
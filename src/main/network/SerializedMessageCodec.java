@@ -0,0 +1,50 @@
+package main.network;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import main.network.message.Message;
+
+/**
+ * This codec converts messages with the Java serialization. It is the format of the frames before
+ * the {@link BinaryMessageCodec} and can still be used for every message. It reads any
+ * serialized object, so it is only meant for trusted peers and for comparisons.
+ * 
+ * @author frajwa
+ * 
+ */
+public class SerializedMessageCodec implements MessageCodec {
+
+  /**
+   * Writes a message as a serialized object.
+   * 
+   * @param mgSend message that is written
+   * @param out stream the message is written to
+   * @throws IOException if the message can not be serialized
+   */
+  @Override
+  public void encode(Message mgSend, OutputStream out) throws IOException {
+    ObjectOutputStream objects = new ObjectOutputStream(out);
+    objects.writeObject(mgSend);
+    objects.flush();
+  }
+
+  /**
+   * Reads a message that was written as a serialized object.
+   * 
+   * @param in stream the message is read from
+   * @return message that was read
+   * @throws IOException if the content is not a valid message
+   */
+  @Override
+  public Message decode(InputStream in) throws IOException {
+    try {
+      return (Message) new ObjectInputStream(in).readObject();
+    } catch (ClassNotFoundException | ClassCastException e) {
+      throw new IOException("Invalid message frame.", e);
+    }
+  }
+
+}
@@ -1,10 +1,9 @@
 package main.network;
 
 import java.io.IOException;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.UnknownHostException;
-import java.util.HashMap;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import main.controller.ServerController;
 import main.database.Profile;
 import main.model.Scrabble;
@@ -18,14 +17,9 @@ import main.network.message.MessageType;
  * All information about the clients are handled here.
  * 
  * @author frajwa
- *
+ * 
  */
-public class Server extends Thread {
-
-  /**
-   * The ServerSocket creates the server and opens it.
-   */
-  private ServerSocket host;
+public class Server extends SelectorServer {
 
   /**
    * Controller between Network and GUI.
@@ -42,15 +36,10 @@ public class Server extends Thread {
    */
   private String userName = Profile.getName();
 
-  /**
-   * Boolean variable that determines if the server is open for new clients to connect.
-   */
-  private boolean running = true;
-
   /**
    * HashMap with all connected clients and their usernames.
    */
-  private HashMap<String, ServerProtocol> clients = new HashMap<>();
+  private Map<String, ServerProtocol> clients = new ConcurrentHashMap<>();
 
   /**
    * Integer with amount of players (host, connected clients, AIs).
@@ -67,54 +56,32 @@ public class Server extends Thread {
     this.bcReceiver = new BroadcastReceiver();
     this.bcReceiver.start();
     try {
-      this.host = new ServerSocket(ServerSettings.port);
+      this.open(ServerSettings.port);
     } catch (IOException e) {
       e.printStackTrace();
     }
   }
 
   /**
-   * Accepts new players connecting.
+   * Creates the protocol for a new client.
+   * 
+   * @param client channel to the client
+   * @return protocol of the client
    */
-  public void run() {
-    try {
-      while (running) {
-        Socket client = host.accept();
-
-        if (!running) {
-          break;
-        }
-        
-        ServerProtocol clientConnection = new ServerProtocol(client, this);
-        clientConnection.start();
-      }
-      this.host.close();
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+  protected Connection createConnection(SocketChannel client) {
+    return new ServerProtocol(client, this);
   }
 
   /**
    * Closes the connection to every client.
    */
   public void closeServer() {
-    if (this.running) {
+    if (this.isRunning()) {
       this.bcReceiver.closeSockets();
       for (String clientName : this.clients.keySet()) {
         this.clients.get(clientName).closeConnection();
       }
-      this.running = false;
-      try {
-        /**
-         * Connect to itself to close the loop. 
-         */
-        Socket s = new Socket("127.0.0.1", ServerSettings.port);
-        s.close();
-      } catch (UnknownHostException e) {
-        e.printStackTrace();
-      } catch (IOException e) {
-        e.printStackTrace();
-      }
+      this.stopServer();
     }
   }
 
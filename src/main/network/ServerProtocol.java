@@ -1,16 +1,12 @@
 package main.network;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import main.network.message.ChatMessage;
 import main.network.message.DisconnectMessage;
 import main.network.message.Message;
 import main.network.message.MessageType;
+import main.network.message.MoveRequestMessage;
 import main.network.message.NewNameMessage;
-import main.network.message.UpdateGameMessage;
 
 /**
  * This class represents the connection (server-side) between server and client.
@@ -19,12 +15,7 @@ import main.network.message.UpdateGameMessage;
  * @author frajwa
  * 
  */
-public class ServerProtocol extends Thread {
-
-  /**
-   * Connection to the client.
-   */
-  private Socket client;
+public class ServerProtocol extends Connection {
 
   /**
    * Pointer to the server.
@@ -32,19 +23,9 @@ public class ServerProtocol extends Thread {
   private Server host;
 
   /**
-   * InputStream to receive messages from client.
-   */
-  private ObjectInputStream in;
-
-  /**
-   * OutputStream to send messages to client.
-   */
-  private ObjectOutputStream out;
-
-  /**
-   * Boolean variable that determines if the connection to the client is active.
+   * Boolean variable that determines if the connection was accepted by the host.
    */
-  private boolean running = true;
+  private boolean connected = false;
 
   /**
    * Username of the client.
@@ -54,135 +35,117 @@ public class ServerProtocol extends Thread {
   /**
    * Constructs the protocol.
    * 
-   * @param client socket to client
+   * @param client channel to client
    * @param server pointer to Server
    */
-  public ServerProtocol(Socket client, Server server) {
-    this.client = client;
+  public ServerProtocol(SocketChannel client, Server server) {
+    super(client, server);
     this.host = server;
+  }
 
-    try {
-      this.out = new ObjectOutputStream(this.client.getOutputStream());;
-      this.in = new ObjectInputStream(this.client.getInputStream());
-    } catch (IOException e) {
-      e.printStackTrace();
+  /**
+   * Removes the client from the lobby if the connection broke before the client disconnected.
+   */
+  protected void connectionLost() {
+    if (this.connected) {
+      this.host.removeClient(this.userName);
     }
   }
 
   /**
-   * Receives new messages and handles first ConnectMessage.
+   * Handles a message that was received from the client.
+   * The first message must be a ConnectMessage.
+   * 
+   * @param mgReceived received message
    */
-  public void run() {
-    try {
-      Message mgReceived = (Message) in.readObject();
+  protected void handleMessage(Message mgReceived) {
+    if (!this.connected) {
+      this.handleConnect(mgReceived);
+      return;
+    }
 
-      /**
-       * First message must be a ConnectMessage.
-       * Accept connection and send lobby details.
-       */
-      if (mgReceived.getmType() == MessageType.CONNECT) {
-        if (host.getAmountPlayer() == 4) {
-          Message mgRefuesed = new DisconnectMessage(MessageType.DISCONNECT, 
-              "host", "Lobby is full.");
-          this.out.writeObject(mgRefuesed);
-          this.running = false;
+    switch (mgReceived.getmType()) {
+      case DISCONNECT:
+        this.connected = false;
+        if (!((DisconnectMessage) mgReceived).getReason().equals("Connection closed")) {
+          this.host.removeClient(this.userName);
+        }
+        if (((DisconnectMessage) mgReceived).getReason().equals("Disconnect")) {
+          this.sendAndClose(mgReceived);
         } else {
-          this.userName = mgReceived.getFrom();
-
-          /**
-           * Check if username is already used and send new username to client.
-           */
-          int i = 0;
-          while (this.host.checkName(this.userName)) {
-            i++;
-            this.userName = mgReceived.getFrom() + " (" + i + ")";
-          }
-
-          Message mgName = new NewNameMessage(MessageType.NEWNAME, "host", this.userName);
-          this.out.writeObject(mgName);
-          this.host.addClient(this, this.userName);
-
-          /**
-           * TODO: Receive stats from client and update in GUI.
-           */
+          this.sendAndClose(null);
         }
-      } else {
-        this.running = false;
-      }
-
-      while (this.running) {
-        mgReceived = (Message) in.readObject();
-        switch (mgReceived.getmType()) {
-          case DISCONNECT:
-            this.running = false;
-            if (!((DisconnectMessage) mgReceived).getReason().equals("Connection closed")) {
-              this.host.removeClient(this.userName);
-            }
-            if (((DisconnectMessage) mgReceived).getReason().equals("Disconnect")) {
-              this.out.writeObject(mgReceived);
-            }
-            break;
-          case CHAT:
-            if (((ChatMessage) mgReceived).getLocation().equals("lobby")) {
-              host.getNetController().receiveChatLobby((ChatMessage) mgReceived);
-              this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
-            } else {
-              host.getNetController().receiveChatGame((ChatMessage) mgReceived);
-              this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
-            }
-            break;
-          case CHANGETILES:
-            // TODO: Put player tiles in bag and sends new tiles.
-            break;
-          case READY:
-            this.host.setReady(mgReceived.getFrom());
-            break;
-          case UPDATEGAME:
-            this.host.getNetController().receiveMove(((UpdateGameMessage) mgReceived).getGame());
-            this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
-            break;
-          case LEAVEGAME:
-            this.host.getNetController().receiveBackToLobby(mgReceived.getFrom());
-            this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
-            break;
-          default:
+        break;
+      case CHAT:
+        if (((ChatMessage) mgReceived).getLocation().equals("lobby")) {
+          host.getNetController().receiveChatLobby((ChatMessage) mgReceived);
+          this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
+        } else {
+          host.getNetController().receiveChatGame((ChatMessage) mgReceived);
+          this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
         }
-      }
-
-      this.client.close();
-    } catch (ClassNotFoundException e) {
-      e.printStackTrace();
-    } catch (IOException e) {
-      e.printStackTrace();
+        break;
+      case SENDWORD:
+      case CHANGETILES:
+      case PASSMOVE:
+      case ENDGAME:
+        this.host.getNetController().receiveMoveRequest(this.userName,
+            ((MoveRequestMessage) mgReceived).getMoveRequest());
+        break;
+      case READY:
+        this.host.setReady(mgReceived.getFrom());
+        break;
+      case UPDATEGAME:
+      case MOVEDELTA:
+      case REQUESTGAME:
+        this.host.getNetController().sendGame(this.userName);
+        break;
+      case LEAVEGAME:
+        this.host.getNetController().receiveBackToLobby(mgReceived.getFrom());
+        this.host.sendToAllBut(mgReceived, mgReceived.getFrom());
+        break;
+      default:
     }
   }
 
   /**
-   * Sends a DisconnectMessage to the client.
+   * Handles the first message of the client.
+   * Accepts the connection and sends the username if the lobby is not full.
+   * 
+   * @param mgReceived first message of the client
    */
-  public void closeConnection() {
-    if (this.running) {
-      this.running = false;
-      try {
-        Message mgClose = new DisconnectMessage(MessageType.DISCONNECT, "host", "Connection closed");
-        out.writeObject(mgClose);
-      } catch (IOException e) {
-        e.printStackTrace();
+  private void handleConnect(Message mgReceived) {
+    if (mgReceived.getmType() != MessageType.CONNECT) {
+      this.sendAndClose(null);
+    } else if (host.getAmountPlayer() == 4) {
+      Message mgRefuesed = new DisconnectMessage(MessageType.DISCONNECT,
+          "host", "Lobby is full.");
+      this.sendAndClose(mgRefuesed);
+    } else {
+      this.userName = mgReceived.getFrom();
+
+      /**
+       * Check if username is already used and send new username to client.
+       */
+      int i = 0;
+      while (this.host.checkName(this.userName)) {
+        i++;
+        this.userName = mgReceived.getFrom() + " (" + i + ")";
       }
+
+      this.connected = true;
+      Message mgName = new NewNameMessage(MessageType.NEWNAME, "host", this.userName);
+      this.sendMessage(mgName);
+      this.host.addClient(this, this.userName);
     }
   }
 
   /**
-   * Sends a message to the client.
-   * 
-   * @param mgSend Message that is sent
+   * Sends a DisconnectMessage to the client.
    */
-  public void sendMessage(Message mgSend) {
-    try {
-      this.out.writeObject(mgSend);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+  public void closeConnection() {
+    this.sendAndClose(
+        new DisconnectMessage(MessageType.DISCONNECT, "host", "Connection closed"));
   }
 
 }
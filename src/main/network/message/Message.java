@@ -29,6 +29,12 @@ public class Message implements Serializable {
 
   private String from;
 
+  /**
+   * Id of the lobby the message belongs to (null for the default lobby).
+   */
+
+  private String lobbyId;
+
   /**
    * Constructor for all Messages.
    * 
@@ -61,5 +67,24 @@ public class Message implements Serializable {
     return from;
   }
 
+  /**
+   * Returns the id of the lobby the message belongs to.
+   * 
+   * @return id of the lobby or null for the default lobby
+   */
+
+  public String getLobbyId() {
+    return lobbyId;
+  }
+
+  /**
+   * Sets the id of the lobby the message belongs to.
+   * 
+   * @param lobbyId id of the lobby or null for the default lobby
+   */
+
+  public void setLobbyId(String lobbyId) {
+    this.lobbyId = lobbyId;
+  }
 
 }
@@ -11,6 +11,7 @@ public enum MessageType {
 
   CHAT, CHANGETILES, LOBBYDETAILS, INITIALIZE, ENDGAME, CONNECT, 
   DISCONNECT, NEWNAME, UPDATEGAME, SENDWORD, CONFIRMWORD, REJECTWORD, 
-  PASSMOVE, REQUESTMOVE, READY, LEAVEGAME, STARTGAME, BLOCKSOCKET, BROADCASTRESPONSE;
+  PASSMOVE, REQUESTMOVE, READY, LEAVEGAME, STARTGAME, BLOCKSOCKET, BROADCASTRESPONSE,
+  MOVEDELTA, REQUESTGAME;
 
 }
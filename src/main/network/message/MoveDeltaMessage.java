@@ -0,0 +1,46 @@
+package main.network.message;
+
+import main.model.MoveDelta;
+
+/**
+ * Message with a move that was executed in the game. The receiver executes the same move in its
+ * own copy of the game instead of receiving the whole game.
+ * 
+ * @author lknothe
+ *
+ */
+
+public class MoveDeltaMessage extends Message {
+
+  /**
+   * Default serial version.
+   */
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The move that was executed.
+   */
+  private MoveDelta moveDelta;
+
+  /**
+   * Constructor of the message.
+   * 
+   * @param type type of the message
+   * @param from name of the sender
+   * @param moveDelta move that was executed
+   */
+  public MoveDeltaMessage(MessageType type, String from, MoveDelta moveDelta) {
+    super(type, from);
+    this.moveDelta = moveDelta;
+  }
+
+  /**
+   * Returns the move that was executed.
+   * 
+   * @return MoveDelta object
+   */
+  public MoveDelta getMoveDelta() {
+    return this.moveDelta;
+  }
+}
@@ -0,0 +1,46 @@
+package main.network.message;
+
+import main.model.MoveRequest;
+
+/**
+ * Message with a move that a client wants to execute (SENDWORD, CHANGETILES, PASSMOVE or ENDGAME).
+ * The server checks the move in its own game and answers with CONFIRMWORD or REJECTWORD.
+ * 
+ * @author lknothe
+ * 
+ */
+
+public class MoveRequestMessage extends Message {
+
+  /**
+   * Default serial version.
+   */
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The move that the client wants to execute.
+   */
+  private MoveRequest moveRequest;
+
+  /**
+   * Constructor of the message.
+   * 
+   * @param type type of the message
+   * @param from name of the sender
+   * @param moveRequest move that the client wants to execute
+   */
+  public MoveRequestMessage(MessageType type, String from, MoveRequest moveRequest) {
+    super(type, from);
+    this.moveRequest = moveRequest;
+  }
+
+  /**
+   * Returns the move that the client wants to execute.
+   * 
+   * @return MoveRequest object
+   */
+  public MoveRequest getMoveRequest() {
+    return this.moveRequest;
+  }
+}
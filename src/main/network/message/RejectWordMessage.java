@@ -0,0 +1,43 @@
+package main.network.message;
+
+/**
+ * Message that tells a client why the server did not execute the move the client sent.
+ * 
+ * @author lknothe
+ * 
+ */
+
+public class RejectWordMessage extends Message {
+
+  /**
+   * Default serial version.
+   */
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Reason why the move was rejected.
+   */
+  private String reason;
+
+  /**
+   * Constructor of the message.
+   * 
+   * @param type type of the message
+   * @param from name of the sender
+   * @param reason reason why the move was rejected
+   */
+  public RejectWordMessage(MessageType type, String from, String reason) {
+    super(type, from);
+    this.reason = reason;
+  }
+
+  /**
+   * Returns the reason why the move was rejected.
+   * 
+   * @return reason of the rejection
+   */
+  public String getReason() {
+    return this.reason;
+  }
+}
@@ -0,0 +1,27 @@
+package main.network.message;
+
+/**
+ * Message to request the whole game from the host after the game of a client got out of sync.
+ * 
+ * @author lknothe
+ *
+ */
+
+public class RequestGameMessage extends Message {
+
+  /**
+   * Default serial version.
+   */
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructor of the message.
+   * 
+   * @param type type of the message
+   * @param from name of the sender
+   */
+  public RequestGameMessage(MessageType type, String from) {
+    super(type, from);
+  }
+}